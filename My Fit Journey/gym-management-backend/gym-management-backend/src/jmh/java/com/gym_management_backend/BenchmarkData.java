@@ -0,0 +1,106 @@
+package com.gym_management_backend;
+
+import com.gym_management_backend.entities.ClassBooking;
+import com.gym_management_backend.entities.ClassSession;
+import com.gym_management_backend.entities.Plan;
+import com.gym_management_backend.entities.User;
+import com.gym_management_backend.entities.UserPlan;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Realistic in-memory entity graphs shared by the benchmarks
+public final class BenchmarkData {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 5, 7, 0);
+
+    private BenchmarkData() {
+    }
+
+    public static User user(long id, User.Role role) {
+        return User.builder()
+                .id(id)
+                .username("user" + id)
+                .password("$2a$10$orOrxmZEPzXXGEc5cfWYT.nUY/oA.D7.OC1LcWFM0YlVjIt7xeJzW")
+                .fullName("Member Number " + id)
+                .email("user" + id + "@example.com")
+                .active(true)
+                .role(role)
+                .photoUrl("/images/members/user" + id + ".png")
+                .build();
+    }
+
+    public static List<ClassSession> sessions(int count) {
+        List<ClassSession> sessions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ClassSession session = ClassSession.builder()
+                    .id((long) i + 1)
+                    .trainer(user(10_000L + i % 20, User.Role.TRAINER))
+                    .className(i % 3 == 0 ? "Morning HIIT" : i % 3 == 1 ? "Power Yoga" : "Spin Class")
+                    .description("A 60 minute group class suitable for all fitness levels")
+                    .scheduledAt(BASE.plusHours(i * 2L))
+                    .maxCapacity(20)
+                    .build();
+            sessions.add(session);
+        }
+        return sessions;
+    }
+
+    public static List<ClassBooking> bookings(int count) {
+        List<ClassSession> sessions = sessions(Math.max(1, count / 10));
+        List<ClassBooking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            bookings.add(ClassBooking.builder()
+                    .id((long) i + 1)
+                    .member(user(i + 1, User.Role.MEMBER))
+                    .classSession(sessions.get(i % sessions.size()))
+                    .bookedAt(BASE.minusDays(1).plusMinutes(i))
+                    .active(i % 7 != 0)
+                    .present(i % 3 == 0)
+                    .build());
+        }
+        return bookings;
+    }
+
+    // Plan catalogue as served by GET /api/plans
+    public static List<Plan> plans(int count) {
+        List<Plan> plans = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            plans.add(plan(i + 1, "Plan " + (i + 1), Integer.toString(30 + i % 12 * 10), 30 * (1 + i % 12)));
+        }
+        return plans;
+    }
+
+    public static List<UserPlan> userPlans(int count) {
+        List<Plan> plans = List.of(
+                plan(1, "Monthly", "30", 30),
+                plan(2, "Quarterly", "80", 90),
+                plan(3, "Annual", "300", 365));
+        List<UserPlan> userPlans = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            userPlans.add(UserPlan.builder()
+                    .id((long) i + 1)
+                    .user(user(i + 1, User.Role.MEMBER))
+                    .plan(plans.get(i % plans.size()))
+                    .bookingDate(BASE.minusDays(i % 365))
+                    .paymentCompleted(true)
+                    .paymentReference("UPI-TXN-" + (100_000 + i))
+                    .active(i % 5 != 0)
+                    .build());
+        }
+        return userPlans;
+    }
+
+    private static Plan plan(long id, String name, String price, int days) {
+        return Plan.builder()
+                .id(id)
+                .name(name)
+                .description(name + " membership with full gym access")
+                .price(new BigDecimal(price))
+                .durationInDays(days)
+                .active(true)
+                .build();
+    }
+}
@@ -0,0 +1,35 @@
+package com.gym_management_backend.controllers;
+
+import com.gym_management_backend.BenchmarkData;
+import com.gym_management_backend.dto.UserPlanResponse;
+import com.gym_management_backend.entities.UserPlan;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Mapping behind GET /api/admin/member-plans
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AdminMemberPlanMappingBenchmark {
+
+    @Param({"100", "1000"})
+    private int size;
+
+    private List<UserPlan> userPlans;
+
+    @Setup
+    public void setUp() {
+        userPlans = BenchmarkData.userPlans(size);
+    }
+
+    @Benchmark
+    public List<UserPlanResponse> allUserPlans() {
+        return userPlans.stream().map(AdminMemberPlanController::mapToResponse).collect(Collectors.toList());
+    }
+}
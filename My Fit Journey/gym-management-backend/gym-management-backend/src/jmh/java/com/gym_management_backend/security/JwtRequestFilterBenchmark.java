@@ -0,0 +1,63 @@
+package com.gym_management_backend.security;
+
+import com.gym_management_backend.BenchmarkData;
+import com.gym_management_backend.entities.User;
+import com.gym_management_backend.metrics.GymMetrics;
+import com.gym_management_backend.repositories.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Full authentication filter path for one request, with the user lookup served from memory
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtRequestFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtRequestFilter filter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        User member = BenchmarkData.user(1, User.Role.MEMBER);
+        UserRepository userRepository = (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findByUsername")) {
+                        return member.getUsername().equals(args[0]) ? Optional.of(member) : Optional.empty();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        GymMetrics metrics = new GymMetrics(new SimpleMeterRegistry());
+        JwtUtil jwtUtil = new JwtUtil(metrics);
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService(userRepository, metrics);
+        filter = new JwtRequestFilter(userDetailsService, jwtUtil);
+        authorizationHeader = "Bearer " + jwtUtil.generateToken(userDetailsService.loadUserByUsername(member.getUsername()));
+    }
+
+    @Benchmark
+    public Object authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/member/classes/available");
+        request.addHeader("Authorization", authorizationHeader);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.gym_management_backend.security;
+
+import com.gym_management_backend.config.RateLimitProperties;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Per-request overhead of the rate limiter on the booking endpoint
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+
+    private static final String BOOK_PATH = "/api/member/classes/book";
+    private static final List<GrantedAuthority> MEMBER = List.of(new SimpleGrantedAuthority("ROLE_MEMBER"));
+
+    @Param({"1000"})
+    private int members;
+
+    private RateLimiter limiter;
+    private String[] usernames;
+
+    @Setup
+    public void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getRules().add(rule("POST", "/api/member/bookings/book", 3, 10));
+        properties.getRules().add(rule("POST", BOOK_PATH, 5, 20));
+        limiter = new RateLimiter(properties);
+
+        usernames = new String[members];
+        for (int i = 0; i < members; i++) {
+            usernames[i] = "member" + i;
+        }
+    }
+
+    // One hot key: after the burst every call is a (denied) CAS-free read
+    @Benchmark
+    public long singleMember() {
+        return limiter.tryAcquire("POST", BOOK_PATH, usernames[0], MEMBER);
+    }
+
+    // Many members spread over the bucket map, contended from several threads
+    @Benchmark
+    @Threads(4)
+    public long manyMembersContended() {
+        String username = usernames[ThreadLocalRandom.current().nextInt(usernames.length)];
+        return limiter.tryAcquire("POST", BOOK_PATH, username, MEMBER);
+    }
+
+    // Requests that match no rule pay only for the rule scan
+    @Benchmark
+    public long unlimitedEndpoint() {
+        return limiter.tryAcquire("GET", "/api/member/classes/available", usernames[0], MEMBER);
+    }
+
+    private static RateLimitProperties.Rule rule(String method, String path, int capacity, int refillPerMinute) {
+        RateLimitProperties.Rule rule = new RateLimitProperties.Rule();
+        rule.setMethod(method);
+        rule.setPath(path);
+        rule.setRole("MEMBER");
+        rule.setCapacity(capacity);
+        rule.setRefillPerMinute(refillPerMinute);
+        return rule;
+    }
+}
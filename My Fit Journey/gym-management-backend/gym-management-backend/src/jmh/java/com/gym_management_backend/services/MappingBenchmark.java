@@ -0,0 +1,53 @@
+package com.gym_management_backend.services;
+
+import com.gym_management_backend.BenchmarkData;
+import com.gym_management_backend.dto.ClassBookingResponse;
+import com.gym_management_backend.dto.ClassSessionResponse;
+import com.gym_management_backend.dto.UserPlanResponse;
+import com.gym_management_backend.entities.ClassBooking;
+import com.gym_management_backend.entities.ClassSession;
+import com.gym_management_backend.entities.UserPlan;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Entity -> DTO mapping of the service list endpoints
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+    @Param({"100", "1000"})
+    private int size;
+
+    private List<ClassBooking> bookings;
+    private List<ClassSession> sessions;
+    private List<UserPlan> userPlans;
+
+    @Setup
+    public void setUp() {
+        bookings = BenchmarkData.bookings(size);
+        sessions = BenchmarkData.sessions(size);
+        userPlans = BenchmarkData.userPlans(size);
+    }
+
+    @Benchmark
+    public List<ClassBookingResponse> classBookings() {
+        return bookings.stream().map(ClassBookingService::mapToBookingResponse).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<ClassSessionResponse> classSessions() {
+        return sessions.stream().map(ClassBookingService::mapToClassSessionResponse).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<UserPlanResponse> userPlans() {
+        return userPlans.stream().map(UserPlanService::mapToResponse).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,156 @@
+package com.gym_management_backend.services;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.gym_management_backend.BenchmarkData;
+import com.gym_management_backend.dto.ClassBookingResponse;
+import com.gym_management_backend.dto.ClassSessionResponse;
+import com.gym_management_backend.dto.UserPlanResponse;
+import com.gym_management_backend.entities.Plan;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * JSON vs CBOR vs Smile for the list responses, with the mappers configured as in WebConfig.
+ * Time per serialize/deserialize comes from JMH; payload sizes (raw and gzipped, as sent once
+ * server compression kicks in) are printed once per trial since JMH has no column for them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"100", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<ClassSessionResponse> sessions;
+    private List<ClassBookingResponse> bookings;
+    private List<UserPlanResponse> userPlans;
+    private List<Plan> plans;
+    private byte[] sessionsPayload;
+    private byte[] bookingsPayload;
+    private byte[] userPlansPayload;
+    private byte[] plansPayload;
+    private JavaType sessionsType;
+    private JavaType bookingsType;
+    private JavaType userPlansType;
+    private JavaType plansType;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = mapper(format);
+        sessions = BenchmarkData.sessions(size).stream()
+                .map(ClassBookingService::mapToClassSessionResponse).collect(Collectors.toList());
+        bookings = BenchmarkData.bookings(size).stream()
+                .map(ClassBookingService::mapToBookingResponse).collect(Collectors.toList());
+        userPlans = BenchmarkData.userPlans(size).stream()
+                .map(UserPlanService::mapToResponse).collect(Collectors.toList());
+        // A gym has tens of plans, not thousands
+        plans = BenchmarkData.plans(Math.min(size, 50));
+
+        sessionsPayload = objectMapper.writeValueAsBytes(sessions);
+        bookingsPayload = objectMapper.writeValueAsBytes(bookings);
+        userPlansPayload = objectMapper.writeValueAsBytes(userPlans);
+        plansPayload = objectMapper.writeValueAsBytes(plans);
+        sessionsType = listOf(ClassSessionResponse.class);
+        bookingsType = listOf(ClassBookingResponse.class);
+        userPlansType = listOf(UserPlanResponse.class);
+        plansType = listOf(Plan.class);
+
+        System.out.printf("%n%-6s size=%-5d bytes raw/gzip: sessions %d/%d, bookings %d/%d, userPlans %d/%d, plans %d/%d%n",
+                format, size,
+                sessionsPayload.length, gzipped(sessionsPayload),
+                bookingsPayload.length, gzipped(bookingsPayload),
+                userPlansPayload.length, gzipped(userPlansPayload),
+                plansPayload.length, gzipped(plansPayload));
+    }
+
+    @Benchmark
+    public byte[] serializeSessions() throws IOException {
+        return objectMapper.writeValueAsBytes(sessions);
+    }
+
+    @Benchmark
+    public byte[] serializeBookings() throws IOException {
+        return objectMapper.writeValueAsBytes(bookings);
+    }
+
+    @Benchmark
+    public byte[] serializeUserPlans() throws IOException {
+        return objectMapper.writeValueAsBytes(userPlans);
+    }
+
+    @Benchmark
+    public byte[] serializePlans() throws IOException {
+        return objectMapper.writeValueAsBytes(plans);
+    }
+
+    @Benchmark
+    public List<ClassSessionResponse> deserializeSessions() throws IOException {
+        return objectMapper.readValue(sessionsPayload, sessionsType);
+    }
+
+    @Benchmark
+    public List<ClassBookingResponse> deserializeBookings() throws IOException {
+        return objectMapper.readValue(bookingsPayload, bookingsType);
+    }
+
+    @Benchmark
+    public List<UserPlanResponse> deserializeUserPlans() throws IOException {
+        return objectMapper.readValue(userPlansPayload, userPlansType);
+    }
+
+    @Benchmark
+    public List<Plan> deserializePlans() throws IOException {
+        return objectMapper.readValue(plansPayload, plansType);
+    }
+
+    private static ObjectMapper mapper(String format) {
+        switch (format) {
+            case "json":
+                return Jackson2ObjectMapperBuilder.json().build();
+            case "cbor":
+                return Jackson2ObjectMapperBuilder.cbor()
+                        .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                        .build();
+            case "smile":
+                SmileFactory smile = new SmileFactory();
+                smile.enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES);
+                return Jackson2ObjectMapperBuilder.smile()
+                        .factory(smile)
+                        .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                        .build();
+            default:
+                throw new IllegalArgumentException("Unknown format " + format);
+        }
+    }
+
+    private JavaType listOf(Class<?> type) {
+        return objectMapper.getTypeFactory().constructCollectionType(List.class, type);
+    }
+
+    private static int gzipped(byte[] payload) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(payload);
+        }
+        return out.size();
+    }
+}
@@ -0,0 +1,57 @@
+package com.gym_management_backend.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gym_management_backend.BenchmarkData;
+import com.gym_management_backend.dto.ClassBookingResponse;
+import com.gym_management_backend.dto.ClassSessionResponse;
+import com.gym_management_backend.dto.UserPlanResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// JSON rendering of the list responses, with the same ObjectMapper defaults Spring Boot uses
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseSerializationBenchmark {
+
+    @Param({"100", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<ClassSessionResponse> sessions;
+    private List<ClassBookingResponse> bookings;
+    private List<UserPlanResponse> userPlans;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        sessions = BenchmarkData.sessions(size).stream()
+                .map(ClassBookingService::mapToClassSessionResponse).collect(Collectors.toList());
+        bookings = BenchmarkData.bookings(size).stream()
+                .map(ClassBookingService::mapToBookingResponse).collect(Collectors.toList());
+        userPlans = BenchmarkData.userPlans(size).stream()
+                .map(UserPlanService::mapToResponse).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] availableClasses() throws Exception {
+        return objectMapper.writeValueAsBytes(sessions);
+    }
+
+    @Benchmark
+    public byte[] classBookings() throws Exception {
+        return objectMapper.writeValueAsBytes(bookings);
+    }
+
+    @Benchmark
+    public byte[] userPlans() throws Exception {
+        return objectMapper.writeValueAsBytes(userPlans);
+    }
+}
@@ -0,0 +1,67 @@
+package com.gym_management_backend.audit;
+
+import com.gym_management_backend.config.AuditProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+// Records every non-read request under /api/admin/ in the AuditLog; runs after the security chain, so the actor is known
+@Component
+public class AuditFilter extends OncePerRequestFilter {
+
+    private static final String ADMIN_PATH = "/api/admin/";
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final AuditLog auditLog;
+    private final AuditProperties properties;
+
+    public AuditFilter(AuditLog auditLog, AuditProperties properties) {
+        this.auditLog = auditLog;
+        this.properties = properties;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled()
+                || !request.getRequestURI().startsWith(ADMIN_PATH)
+                || READ_METHODS.contains(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String actor = authentication != null ? authentication.getName() : null;
+        String error = null;
+        try {
+            filterChain.doFilter(request, response);
+        } catch (ServletException e) {
+            error = (e.getRootCause() != null ? e.getRootCause() : e).getClass().getSimpleName();
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            error = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String query = request.getQueryString();
+            auditLog.record(new AuditRecord(LocalDateTime.now(), actor, request.getMethod(),
+                    pattern != null ? pattern.toString() : "unmatched",
+                    query != null ? request.getRequestURI() + "?" + query : request.getRequestURI(),
+                    error != null ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(),
+                    error));
+        }
+    }
+}
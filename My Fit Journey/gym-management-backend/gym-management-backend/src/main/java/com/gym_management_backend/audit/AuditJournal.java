@@ -0,0 +1,229 @@
+package com.gym_management_backend.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Append-only journal of audit records in numbered segment files, one JSON line per record.
+ * The open segment is audit-{seq}.log; once it is full or old enough it is closed and
+ * renamed to audit-{seq}-{earliest}-{latest}.log after the times of the records it holds,
+ * so range scans skip closed segments outside the range without opening them. A segment
+ * left open by a crash is closed the same way on startup; a torn last line is skipped.
+ * append() and close() are meant for a single writer thread; find() may run alongside.
+ */
+public class AuditJournal implements Closeable {
+
+    private static final String PREFIX = "audit-";
+    private static final String SUFFIX = ".log";
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS");
+
+    private final Path dir;
+    private final long segmentMaxBytes;
+    private final long rollIntervalMs;
+    // Own mapper, so the file format does not follow changes to the API's JSON settings
+    private final ObjectMapper mapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private long nextSeq;
+    private FileChannel channel;
+    private Path openPath;
+    private long openSeq;
+    private long openedAt;
+    private long openBytes;
+    // Concurrent requests can finish slightly out of order, so the bounds are tracked rather than taken from the ends
+    private LocalDateTime earliest;
+    private LocalDateTime latest;
+
+    public AuditJournal(Path dir, long segmentMaxBytes, long rollIntervalMs) throws IOException {
+        this.dir = dir;
+        this.segmentMaxBytes = segmentMaxBytes;
+        this.rollIntervalMs = rollIntervalMs;
+        Files.createDirectories(dir);
+        for (Segment segment : segments()) {
+            nextSeq = Math.max(nextSeq, segment.seq() + 1);
+            if (segment.earliest() == null) {
+                closeLeftOver(segment);
+            }
+        }
+    }
+
+    /**
+     * Writes the records and forces them to disk with one fsync for the whole batch,
+     * starting a new segment first if the open one is full or past the roll interval.
+     */
+    public void append(List<AuditRecord> records) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+        if (channel != null && (openBytes >= segmentMaxBytes
+                || System.currentTimeMillis() - openedAt >= rollIntervalMs)) {
+            closeSegment();
+        }
+        if (channel == null) {
+            openSegment();
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(records.size() * 200);
+        for (AuditRecord record : records) {
+            mapper.writeValue(bytes, record);
+            bytes.write('\n');
+            earliest = earliest == null || record.at().isBefore(earliest) ? record.at() : earliest;
+            latest = latest == null || record.at().isAfter(latest) ? record.at() : latest;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+        openBytes += bytes.size();
+    }
+
+    // Records with from <= at < to, and by the given actor unless null, oldest segment first, up to limit
+    public List<AuditRecord> find(LocalDateTime from, LocalDateTime to, String actor, int limit) throws IOException {
+        List<AuditRecord> result = new ArrayList<>();
+        for (Segment segment : segments()) {
+            if (segment.earliest() != null && (segment.latest().isBefore(from) || !segment.earliest().isBefore(to))) {
+                continue;
+            }
+            try {
+                scan(segment.path(), from, to, actor, limit, result);
+            } catch (NoSuchFileException e) {
+                // Closed and renamed by the writer since it was listed
+                Optional<Path> renamed = segments().stream()
+                        .filter(s -> s.seq() == segment.seq()).map(Segment::path).findFirst();
+                if (renamed.isPresent()) {
+                    scan(renamed.get(), from, to, actor, limit, result);
+                }
+            }
+            if (result.size() >= limit) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            closeSegment();
+        }
+    }
+
+    private void scan(Path path, LocalDateTime from, LocalDateTime to, String actor, int limit,
+                      List<AuditRecord> result) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while (result.size() < limit && (line = reader.readLine()) != null) {
+                AuditRecord record = parse(line);
+                if (record != null && !record.at().isBefore(from) && record.at().isBefore(to)
+                        && (actor == null || actor.equals(record.actor()))) {
+                    result.add(record);
+                }
+            }
+        }
+    }
+
+    private void openSegment() throws IOException {
+        openSeq = nextSeq++;
+        openPath = dir.resolve(PREFIX + String.format("%08d", openSeq) + SUFFIX);
+        channel = FileChannel.open(openPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        openedAt = System.currentTimeMillis();
+        openBytes = 0;
+        earliest = null;
+        latest = null;
+    }
+
+    private void closeSegment() throws IOException {
+        channel.close();
+        channel = null;
+        seal(openPath, openSeq, earliest, latest);
+    }
+
+    // A segment a previous run left open: name it after the records it holds, or drop it if it holds none
+    private void closeLeftOver(Segment segment) throws IOException {
+        LocalDateTime min = null;
+        LocalDateTime max = null;
+        try (BufferedReader reader = Files.newBufferedReader(segment.path(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                AuditRecord record = parse(line);
+                if (record != null) {
+                    min = min == null || record.at().isBefore(min) ? record.at() : min;
+                    max = max == null || record.at().isAfter(max) ? record.at() : max;
+                }
+            }
+        }
+        seal(segment.path(), segment.seq(), min, max);
+    }
+
+    private void seal(Path path, long seq, LocalDateTime earliest, LocalDateTime latest) throws IOException {
+        if (earliest == null) {
+            Files.delete(path);
+            return;
+        }
+        Files.move(path, dir.resolve(PREFIX + String.format("%08d", seq) + "-" + TIME.format(earliest)
+                + "-" + TIME.format(latest) + SUFFIX));
+    }
+
+    // A line torn by a crash (or still being written) does not parse and is skipped
+    private AuditRecord parse(String line) {
+        try {
+            return mapper.readValue(line, AuditRecord.class);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private List<Segment> segments() throws IOException {
+        List<Segment> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.forEach(path -> Segment.parse(path).ifPresent(segments::add));
+        }
+        segments.sort((a, b) -> Long.compare(a.seq(), b.seq()));
+        return segments;
+    }
+
+    // earliest/latest are null for the open segment
+    private record Segment(Path path, long seq, LocalDateTime earliest, LocalDateTime latest) {
+
+        static Optional<Segment> parse(Path path) {
+            String name = path.getFileName().toString();
+            if (!name.startsWith(PREFIX) || !name.endsWith(SUFFIX)) {
+                return Optional.empty();
+            }
+            String[] parts = name.substring(PREFIX.length(), name.length() - SUFFIX.length()).split("-");
+            try {
+                long seq = Long.parseLong(parts[0]);
+                if (parts.length == 3) {
+                    return Optional.of(new Segment(path, seq, LocalDateTime.parse(parts[1], TIME),
+                            LocalDateTime.parse(parts[2], TIME)));
+                }
+                return parts.length == 1 ? Optional.of(new Segment(path, seq, null, null)) : Optional.empty();
+            } catch (RuntimeException e) {
+                return Optional.empty();
+            }
+        }
+    }
+}
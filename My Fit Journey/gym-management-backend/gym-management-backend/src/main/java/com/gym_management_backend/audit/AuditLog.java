@@ -0,0 +1,116 @@
+package com.gym_management_backend.audit;
+
+import com.gym_management_backend.config.AuditProperties;
+import com.gym_management_backend.metrics.GymMetrics;
+import com.gym_management_backend.metrics.Outcomes;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admin writes go into a bounded in-memory queue (record() never blocks the request) and one
+ * writer thread drains it into the AuditJournal, a batch at a time with one fsync per batch.
+ * If the queue is full the record is dropped and counted (gym.audit.records, outcome dropped).
+ * Records become visible to find() once their batch is written, normally within milliseconds.
+ */
+@Component
+public class AuditLog implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLog.class);
+    private static final String METER = "gym.audit.records";
+
+    private final AuditJournal journal;
+    private final BlockingQueue<AuditRecord> queue;
+    private final int batchSize;
+    private final GymMetrics metrics;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AuditLog(AuditProperties properties, GymMetrics metrics) {
+        try {
+            this.journal = new AuditJournal(Paths.get(properties.getDir()), properties.getSegmentMaxBytes(),
+                    properties.getRollIntervalMs());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open the audit journal in " + properties.getDir(), e);
+        }
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.batchSize = properties.getBatchSize();
+        this.metrics = metrics;
+        this.writer = new Thread(this::drain, "audit-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public void record(AuditRecord record) {
+        if (!queue.offer(record)) {
+            dropped.incrementAndGet();
+            metrics.increment(METER, "append", Outcomes.DROPPED);
+        }
+    }
+
+    public List<AuditRecord> find(LocalDateTime from, LocalDateTime to, String actor, int limit) {
+        Timer.Sample sample = metrics.startTimer();
+        try {
+            List<AuditRecord> result = journal.find(from, to, actor, limit);
+            metrics.stopTimer(sample, "gym.audit.query", "find", Outcomes.SUCCESS);
+            return result;
+        } catch (IOException e) {
+            metrics.stopTimer(sample, "gym.audit.query", "find", Outcomes.ERROR);
+            throw new UncheckedIOException("Cannot read the audit journal", e);
+        }
+    }
+
+    // Writes what is still queued, then closes the open segment
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private void drain() {
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditRecord next = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (next == null) {
+                    continue;
+                }
+                batch.add(next);
+                queue.drainTo(batch, batchSize - 1);
+                journal.append(batch);
+                metrics.record(METER, "append", Outcomes.SUCCESS, batch.size());
+            } catch (IOException e) {
+                log.error("Could not write {} audit records", batch.size(), e);
+                metrics.record(METER, "append", Outcomes.ERROR, batch.size());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+            long lost = dropped.getAndSet(0);
+            if (lost > 0) {
+                log.warn("Audit queue was full: {} records dropped", lost);
+            }
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            log.error("Could not close the audit journal", e);
+        }
+    }
+}
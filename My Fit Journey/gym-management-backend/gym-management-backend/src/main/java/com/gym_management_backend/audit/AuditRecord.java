@@ -0,0 +1,17 @@
+package com.gym_management_backend.audit;
+
+import java.time.LocalDateTime;
+
+/**
+ * One admin write: who (actor), when (at, when the response was complete), which endpoint
+ * (route template) and the actual path with its query string, and how it ended (HTTP
+ * status, or the exception type if the request failed with one).
+ */
+public record AuditRecord(LocalDateTime at,
+                          String actor,
+                          String method,
+                          String endpoint,
+                          String path,
+                          int status,
+                          String error) {
+}
@@ -0,0 +1,11 @@
+package com.gym_management_backend.cache;
+
+// Told about entities changed on another node; every bean of this type is called by the ChangeLogPoller
+public interface CacheInvalidationListener {
+
+    // entityType is the simple class name recorded in cache_change_log (see ChangeLogRecorder.RECORDED_TYPES)
+    void invalidate(String entityType, long entityId);
+
+    // The change log could not be followed (node was behind the retention window); drop everything
+    void evictAll();
+}
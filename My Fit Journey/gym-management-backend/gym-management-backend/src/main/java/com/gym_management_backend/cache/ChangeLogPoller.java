@@ -0,0 +1,124 @@
+package com.gym_management_backend.cache;
+
+import com.gym_management_backend.entities.CacheChangeLog;
+import com.gym_management_backend.metrics.GymMetrics;
+import com.gym_management_backend.metrics.Outcomes;
+import com.gym_management_backend.repositories.CacheChangeLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Tails cache_change_log and tells the invalidation listeners about changes made by other
+ * nodes. Ids are handed out when a row is inserted but become visible at commit, so a
+ * smaller id can appear after a larger one; missing ids below the high-water mark are
+ * re-checked until they show up or gym.cache-bus.gap-timeout-ms passes (rolled back).
+ */
+public class ChangeLogPoller {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeLogPoller.class);
+
+    private final CacheChangeLogRepository repository;
+    private final List<CacheInvalidationListener> listeners;
+    private final GymMetrics metrics;
+    private final String nodeId;
+    private final long gapTimeoutMs;
+    private final long retentionMs;
+
+    // Highest id applied so far; -1 until the first poll
+    private long highWaterMark = -1;
+    // Missing id -> when it was first noticed
+    private final TreeMap<Long, Long> gaps = new TreeMap<>();
+    private long lastPollAt;
+
+    public ChangeLogPoller(CacheChangeLogRepository repository, List<CacheInvalidationListener> listeners,
+                           GymMetrics metrics, String nodeId, long gapTimeoutMs, long retentionMs) {
+        this.repository = repository;
+        this.listeners = listeners;
+        this.metrics = metrics;
+        this.nodeId = nodeId;
+        this.gapTimeoutMs = gapTimeoutMs;
+        this.retentionMs = retentionMs;
+    }
+
+    @Scheduled(fixedDelayString = "${gym.cache-bus.poll-ms:1000}")
+    public synchronized void poll() {
+        long now = System.currentTimeMillis();
+        try {
+            if (highWaterMark < 0) {
+                // Caches start empty, so history before this node came up does not matter
+                highWaterMark = repository.findMaxId();
+            } else if (now - lastPollAt > retentionMs) {
+                // Rows this node never saw may already be compacted away
+                log.warn("Cache change log not read for {} ms, evicting all cached entries", now - lastPollAt);
+                listeners.forEach(CacheInvalidationListener::evictAll);
+                metrics.increment("gym.cache.bus.invalidations", "all", Outcomes.RESYNC);
+                gaps.clear();
+                highWaterMark = repository.findMaxId();
+            } else {
+                recheckGaps(now);
+                readNewRows(now);
+            }
+            lastPollAt = now;
+        } catch (DataAccessException e) {
+            log.warn("Could not read the cache change log", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${gym.cache-bus.compact-ms:60000}")
+    public void compact() {
+        try {
+            int deleted = repository.deleteOlderThan(System.currentTimeMillis() - retentionMs);
+            if (deleted > 0) {
+                log.debug("Compacted {} cache change log rows", deleted);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not compact the cache change log", e);
+        }
+    }
+
+    private void recheckGaps(long now) {
+        if (gaps.isEmpty()) {
+            return;
+        }
+        for (CacheChangeLog change : repository.findByIdIn(gaps.keySet())) {
+            gaps.remove(change.getId());
+            apply(change);
+        }
+        gaps.values().removeIf(firstSeen -> now - firstSeen > gapTimeoutMs);
+    }
+
+    private void readNewRows(long now) {
+        List<CacheChangeLog> batch;
+        do {
+            batch = repository.findTop500ByIdGreaterThanOrderByIdAsc(highWaterMark);
+            for (CacheChangeLog change : batch) {
+                for (long missing = highWaterMark + 1; missing < change.getId(); missing++) {
+                    gaps.put(missing, now);
+                }
+                highWaterMark = change.getId();
+                apply(change);
+            }
+        } while (batch.size() == 500);
+    }
+
+    private void apply(CacheChangeLog change) {
+        if (nodeId.equals(change.getNodeId())) {
+            // Hibernate already updated this node's cache when the write went through
+            return;
+        }
+        for (CacheInvalidationListener listener : listeners) {
+            listener.invalidate(change.getEntityType(), change.getEntityId());
+        }
+        metrics.increment("gym.cache.bus.invalidations", change.getEntityType(), Outcomes.EVICTED);
+    }
+
+    // Highest change log id applied by this node
+    public synchronized long getHighWaterMark() {
+        return highWaterMark;
+    }
+}
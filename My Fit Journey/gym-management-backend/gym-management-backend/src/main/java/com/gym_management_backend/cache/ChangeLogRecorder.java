@@ -0,0 +1,74 @@
+package com.gym_management_backend.cache;
+
+import com.gym_management_backend.entities.ClassBooking;
+import com.gym_management_backend.entities.ClassSession;
+import com.gym_management_backend.entities.ClassWaitlistEntry;
+import com.gym_management_backend.entities.Plan;
+import com.gym_management_backend.entities.TrainerSalary;
+import com.gym_management_backend.entities.User;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.sql.PreparedStatement;
+import java.util.Set;
+
+/**
+ * Appends a cache_change_log row for every insert, update and delete of an entity other
+ * nodes keep in memory. The row is written on the same connection just before the transaction
+ * commits, so it is committed (or rolled back) together with the change itself and other
+ * nodes never invalidate for a write that did not happen.
+ */
+public class ChangeLogRecorder implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    // Entities in the second-level cache (see CacheRegions), plus class sessions and bookings for the
+    // in-memory schedule index and attendance statistics, and waitlist entries for the in-memory waitlist positions
+    static final Set<Class<?>> RECORDED_TYPES = Set.of(Plan.class, User.class, TrainerSalary.class, ClassSession.class,
+            ClassBooking.class, ClassWaitlistEntry.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO cache_change_log (entity_type, entity_id, changed_at, node_id) VALUES (?, ?, ?, ?)";
+
+    private final String nodeId;
+
+    public ChangeLogRecorder(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        record(event.getSession(), event.getEntity(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        record(event.getSession(), event.getEntity(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        record(event.getSession(), event.getEntity(), event.getId());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void record(EventSource session, Object entity, Object id) {
+        if (!RECORDED_TYPES.contains(entity.getClass()) || !(id instanceof Long entityId)) {
+            return;
+        }
+        String entityType = entity.getClass().getSimpleName();
+        session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) s ->
+                s.doWork(connection -> {
+                    try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+                        insert.setString(1, entityType);
+                        insert.setLong(2, entityId);
+                        insert.setLong(3, System.currentTimeMillis());
+                        insert.setString(4, nodeId);
+                        insert.executeUpdate();
+                    }
+                }));
+    }
+}
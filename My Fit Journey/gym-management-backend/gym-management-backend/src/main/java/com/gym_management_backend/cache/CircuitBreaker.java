@@ -0,0 +1,57 @@
+package com.gym_management_backend.cache;
+
+/**
+ * Closed while calls succeed. After failureThreshold consecutive failures it opens and
+ * refuses calls for openMs; then one trial call is let through (half-open), which closes
+ * it again on success or reopens it on failure.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openMs;
+    private State state = State.CLOSED;
+    private int failures;
+    private long openedAt;
+
+    public CircuitBreaker(int failureThreshold, long openMs) {
+        this.failureThreshold = failureThreshold;
+        this.openMs = openMs;
+    }
+
+    // Whether a call may go ahead; every permitted call must end in onSuccess or onFailure
+    public synchronized boolean tryAcquire(long nowMillis) {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.OPEN && nowMillis - openedAt >= openMs) {
+            state = State.HALF_OPEN;
+            return true;
+        }
+        return false;
+    }
+
+    // True if this closed an open breaker
+    public synchronized boolean onSuccess() {
+        boolean closed = state != State.CLOSED;
+        state = State.CLOSED;
+        failures = 0;
+        return closed;
+    }
+
+    // True if this opened the breaker
+    public synchronized boolean onFailure(long nowMillis) {
+        failures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && failures >= failureThreshold)) {
+            state = State.OPEN;
+            openedAt = nowMillis;
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+}
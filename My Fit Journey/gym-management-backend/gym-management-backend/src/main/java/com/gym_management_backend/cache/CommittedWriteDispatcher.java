@@ -0,0 +1,88 @@
+package com.gym_management_backend.cache;
+
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Hands every committed insert, update and delete on this node, whichever code path made it,
+ * to the in-memory views that follow those entities (stale-read cache, schedule index,
+ * attendance statistics, reminders). Registered with Hibernate once (CommittedWriteConfig);
+ * the views subscribe to the entity classes they care about. Writes on other nodes reach the
+ * same views through the cache change log instead.
+ */
+public class CommittedWriteDispatcher implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    @FunctionalInterface
+    public interface Subscriber {
+
+        // Runs on the committing thread, after the commit; deleted is true for deletes
+        void committed(Object entity, Object id, boolean deleted);
+    }
+
+    private record Subscription(Set<Class<?>> types, Subscriber subscriber) {
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(CommittedWriteDispatcher.class);
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    public void subscribe(Set<Class<?>> types, Subscriber subscriber) {
+        subscriptions.add(new Subscription(Set.copyOf(types), subscriber));
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        dispatch(event.getEntity(), event.getId(), false);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        dispatch(event.getEntity(), event.getId(), false);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        dispatch(event.getEntity(), event.getId(), true);
+    }
+
+    // Nothing to undo: subscribers only hear about writes that were committed
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> type = persister.getMappedClass();
+        return subscriptions.stream().anyMatch(subscription -> subscription.types().contains(type));
+    }
+
+    // The write is already committed, so one failing subscriber must neither fail the caller nor starve the others
+    private void dispatch(Object entity, Object id, boolean deleted) {
+        Class<?> type = entity.getClass();
+        for (Subscription subscription : subscriptions) {
+            if (!subscription.types().contains(type)) {
+                continue;
+            }
+            try {
+                subscription.subscriber().committed(entity, id, deleted);
+            } catch (RuntimeException e) {
+                log.warn("Could not apply a committed {} write", type.getSimpleName(), e);
+            }
+        }
+    }
+}
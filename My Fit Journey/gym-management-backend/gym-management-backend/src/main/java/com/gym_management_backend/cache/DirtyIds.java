@@ -0,0 +1,44 @@
+package com.gym_management_backend.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ids marked by committed writes and applied later, in batches, by a periodic job. An id
+ * marked again while its batch is being applied stays marked for the next run.
+ */
+public class DirtyIds {
+
+    private final Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+    public void add(Long id) {
+        ids.add(id);
+    }
+
+    public void addAll(Collection<Long> more) {
+        ids.addAll(more);
+    }
+
+    public boolean isEmpty() {
+        return ids.isEmpty();
+    }
+
+    // Takes the ids marked so far; hand them back with addAll if applying them fails
+    public List<Long> drain() {
+        List<Long> drained = new ArrayList<>(ids);
+        drained.forEach(ids::remove);
+        return drained;
+    }
+
+    // Consecutive slices of at most size ids, for IN (...) lookups
+    public static List<List<Long>> batches(List<Long> ids, int size) {
+        List<List<Long>> batches = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += size) {
+            batches.add(ids.subList(i, Math.min(ids.size(), i + size)));
+        }
+        return batches;
+    }
+}
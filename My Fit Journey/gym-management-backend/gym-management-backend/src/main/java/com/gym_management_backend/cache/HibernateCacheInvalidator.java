@@ -0,0 +1,44 @@
+package com.gym_management_backend.cache;
+
+import com.gym_management_backend.config.CacheRegions;
+import com.gym_management_backend.entities.Plan;
+import com.gym_management_backend.entities.TrainerSalary;
+import com.gym_management_backend.entities.User;
+import org.hibernate.Cache;
+
+import java.util.List;
+import java.util.Map;
+
+// Drops changed entities from this node's second-level cache, plus the query regions that may list them
+public class HibernateCacheInvalidator implements CacheInvalidationListener {
+
+    private static final Map<String, Class<?>> TYPES = Map.of(
+            "Plan", Plan.class,
+            "User", User.class,
+            "TrainerSalary", TrainerSalary.class);
+
+    private static final Map<String, List<String>> QUERY_REGIONS = Map.of(
+            "Plan", List.of(CacheRegions.PLAN_QUERIES),
+            "User", List.of(CacheRegions.USERS_BY_ROLE_QUERIES));
+
+    private final Cache cache;
+
+    public HibernateCacheInvalidator(Cache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void invalidate(String entityType, long entityId) {
+        Class<?> type = TYPES.get(entityType);
+        if (type == null) {
+            return;
+        }
+        cache.evictEntityData(type, entityId);
+        QUERY_REGIONS.getOrDefault(entityType, List.of()).forEach(cache::evictQueryRegion);
+    }
+
+    @Override
+    public void evictAll() {
+        cache.evictAllRegions();
+    }
+}
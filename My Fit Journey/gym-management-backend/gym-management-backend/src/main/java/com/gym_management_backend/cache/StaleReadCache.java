@@ -0,0 +1,264 @@
+package com.gym_management_backend.cache;
+
+import com.gym_management_backend.config.StaleReadProperties;
+import com.gym_management_backend.entities.ClassSession;
+import com.gym_management_backend.entities.Plan;
+import com.gym_management_backend.entities.User;
+import com.gym_management_backend.metrics.GymMetrics;
+import com.gym_management_backend.metrics.Outcomes;
+import com.gym_management_backend.metrics.QueryStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through cache for read endpoints whose data rarely changes (plans, upcoming classes,
+ * the week schedule, trainers), so they keep answering while the database is stalled.
+ * An entry is served as-is while fresh; for a while after that it is served stale while one
+ * background reload runs (stale-while-revalidate). Past that, or after a write to an entity
+ * type the entry depends on, a read waits up to callTimeoutMs for the reload and falls back
+ * to the old data if the load fails or is too slow (stale-if-error). Loads run on a small
+ * pool behind a CircuitBreaker: while the database keeps failing, reads get stale data
+ * straight away instead of queueing up on it.
+ */
+@Component
+public class StaleReadCache implements CacheInvalidationListener, DisposableBean {
+
+    // value is what the loader returned; ageMs is how old it is (0 when just loaded)
+    public record Read<T>(T value, boolean stale, long ageMs) {
+
+        public <R> Read<R> map(Function<T, R> mapper) {
+            return new Read<>(mapper.apply(value), stale, ageMs);
+        }
+    }
+
+    // One cached read; reads served from more than one place share an entry through these constants
+    public record Key(String name, String key, Set<Class<?>> dependsOn) {
+    }
+
+    public static final Key PLANS = new Key("plans", "all", Set.of(Plan.class));
+    public static final Key AVAILABLE_CLASSES = new Key("available_classes", "all", Set.of(ClassSession.class, User.class));
+
+    private static final Logger log = LoggerFactory.getLogger(StaleReadCache.class);
+
+    private static final String METRIC = "gym.stale_reads";
+    private static final Set<Class<?>> TRACKED_TYPES = Set.of(Plan.class, User.class, ClassSession.class);
+
+    private static final class Entry {
+        final String name;
+        final Set<String> dependsOn;
+        Object value;
+        boolean loaded;
+        long loadedAt;
+        boolean invalidated;
+        // Bumped by every invalidation, so a load that raced with a write does not count as fresh
+        long version;
+        CompletableFuture<Object> loading;
+
+        Entry(String name, Set<String> dependsOn) {
+            this.name = name;
+            this.dependsOn = dependsOn;
+        }
+    }
+
+    private final StaleReadProperties properties;
+    private final GymMetrics metrics;
+    private final CircuitBreaker breaker;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, Entry> entries;
+
+    public StaleReadCache(StaleReadProperties properties, GymMetrics metrics, CommittedWriteDispatcher committedWrites) {
+        this.properties = properties;
+        this.metrics = metrics;
+        this.breaker = new CircuitBreaker(properties.getBreakerFailureThreshold(), properties.getBreakerOpenMs());
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(),
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()), runnable -> {
+                    Thread thread = new Thread(runnable, "stale-read-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > properties.getMaxEntries();
+            }
+        };
+        // Committed writes on this node; other nodes' writes arrive through the cache change log
+        if (properties.isEnabled()) {
+            committedWrites.subscribe(TRACKED_TYPES, (entity, id, deleted) -> invalidateType(entity.getClass().getSimpleName()));
+        }
+    }
+
+    /**
+     * The cached result of loader for name + key, loading it if needed. dependsOn are the
+     * entities the result is built from; a committed write to one of them forces a reload.
+     * Throws IllegalStateException when there is nothing cached and the load fails.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Read<T> get(String name, String key, Set<Class<?>> dependsOn, Callable<T> loader) {
+        if (!properties.isEnabled()) {
+            return new Read<>(call(loader), false, 0);
+        }
+        long now = System.currentTimeMillis();
+        Object value;
+        long age;
+        boolean revalidate;
+        boolean fallback;
+        CompletableFuture<Object> loading;
+        synchronized (entries) {
+            Entry entry = entries.computeIfAbsent(name + ":" + key, k -> new Entry(name,
+                    dependsOn.stream().map(Class::getSimpleName).collect(Collectors.toUnmodifiableSet())));
+            age = now - entry.loadedAt;
+            if (entry.loaded && !entry.invalidated && age < properties.getFreshMs()) {
+                metrics.increment(METRIC, name, Outcomes.HIT);
+                return new Read<>((T) entry.value, false, age);
+            }
+            loading = load(entry, (Callable<Object>) loader, now);
+            value = entry.value;
+            revalidate = entry.loaded && !entry.invalidated
+                    && age < properties.getFreshMs() + properties.getStaleWhileRevalidateMs();
+            fallback = entry.loaded && age < properties.getStaleIfErrorMs();
+        }
+        if (revalidate) {
+            metrics.increment(METRIC, name, Outcomes.STALE);
+            return new Read<>((T) value, true, age);
+        }
+        Throwable failure = null;
+        if (loading != null) {
+            try {
+                Object loaded = loading.get(properties.getCallTimeoutMs(), TimeUnit.MILLISECONDS);
+                metrics.increment(METRIC, name, Outcomes.MISS);
+                return new Read<>((T) loaded, false, 0);
+            } catch (TimeoutException e) {
+                failure = e;
+            } catch (ExecutionException e) {
+                failure = e.getCause();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = e;
+            }
+        }
+        if (fallback) {
+            metrics.increment(METRIC, name, Outcomes.STALE);
+            return new Read<>((T) value, true, age);
+        }
+        metrics.increment(METRIC, name, Outcomes.ERROR);
+        throw new IllegalStateException(name + " is not available right now", failure);
+    }
+
+    public <T> Read<T> get(Key key, Callable<T> loader) {
+        return get(key.name(), key.key(), key.dependsOn(), loader);
+    }
+
+    public CircuitBreaker.State breakerState() {
+        return breaker.state();
+    }
+
+    @Override
+    public void invalidate(String entityType, long entityId) {
+        invalidateType(entityType);
+    }
+
+    // Old values are kept for stale-if-error; every entry just reloads on its next read
+    @Override
+    public void evictAll() {
+        synchronized (entries) {
+            for (Entry entry : entries.values()) {
+                entry.invalidated = true;
+                entry.version++;
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private void invalidateType(String entityType) {
+        synchronized (entries) {
+            for (Entry entry : entries.values()) {
+                if (entry.dependsOn.contains(entityType)) {
+                    entry.invalidated = true;
+                    entry.version++;
+                }
+            }
+        }
+    }
+
+    // The load in flight for the entry, a new one, or null while the breaker is open or the pool is full.
+    // Runs with the caller's security context, so replica routing still sees who is reading, and charges its
+    // statements to the caller's query budget
+    private CompletableFuture<Object> load(Entry entry, Callable<Object> loader, long now) {
+        if (entry.loading != null) {
+            return entry.loading;
+        }
+        if (!breaker.tryAcquire(now)) {
+            return null;
+        }
+        CompletableFuture<Object> loading = new CompletableFuture<>();
+        Callable<Object> task = new DelegatingSecurityContextCallable<>(QueryStats.propagate(loader));
+        long version = entry.version;
+        try {
+            executor.execute(() -> run(entry, version, task, loading));
+        } catch (RejectedExecutionException e) {
+            onFailure(entry.name, e);
+            return null;
+        }
+        entry.loading = loading;
+        return loading;
+    }
+
+    private void run(Entry entry, long version, Callable<Object> task, CompletableFuture<Object> loading) {
+        long startedAt = System.currentTimeMillis();
+        try {
+            Object value = task.call();
+            long tookMs = System.currentTimeMillis() - startedAt;
+            if (tookMs > properties.getCallTimeoutMs()) {
+                onFailure(entry.name, new TimeoutException("load took " + tookMs + " ms"));
+            } else if (breaker.onSuccess()) {
+                log.info("Stale-read circuit breaker closed: {} loaded again", entry.name);
+            }
+            synchronized (entries) {
+                entry.loading = null;
+                entry.value = value;
+                entry.loaded = true;
+                entry.loadedAt = startedAt;
+                entry.invalidated = entry.version != version;
+            }
+            loading.complete(value);
+        } catch (Exception e) {
+            onFailure(entry.name, e);
+            synchronized (entries) {
+                entry.loading = null;
+            }
+            loading.completeExceptionally(e);
+        }
+    }
+
+    private void onFailure(String name, Exception e) {
+        if (breaker.onFailure(System.currentTimeMillis())) {
+            log.warn("Stale-read circuit breaker opened after loading {} failed; serving cached data for {} ms",
+                    name, properties.getBreakerOpenMs(), e);
+        }
+    }
+
+    private static <T> T call(Callable<T> loader) {
+        try {
+            return loader.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.gym_management_backend.config;
 
+import com.gym_management_backend.metrics.GymMetrics;
+import com.gym_management_backend.security.TimedPasswordEncoder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -7,8 +9,12 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 public class AppConfig {
+
+    // BCrypt work factor for stored passwords (also used by the password benchmark)
+    public static final int BCRYPT_STRENGTH = 10;
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(GymMetrics metrics) {
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(BCRYPT_STRENGTH), metrics);
     }
 }
@@ -0,0 +1,21 @@
+package com.gym_management_backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// Archival of old classes, bookings and expired plans (gym.archive.* in application.properties)
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "gym.archive")
+public class ArchiveProperties {
+
+    // Classes that started, and plans that ran out, more than this many days ago are archived
+    private int horizonDays = 365;
+
+    // Sessions (with their bookings) or plans moved per transaction
+    private int chunkSize = 500;
+
+    // Pause between chunks, so bookings waiting on the same rows get their turn
+    private long pauseMs = 20;
+}
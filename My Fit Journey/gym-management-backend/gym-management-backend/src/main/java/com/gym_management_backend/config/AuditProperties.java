@@ -0,0 +1,29 @@
+package com.gym_management_backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// Audit journal of admin writes (gym.audit.* in application.properties)
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "gym.audit")
+public class AuditProperties {
+
+    private boolean enabled = true;
+
+    // Directory the journal segments are written to
+    private String dir = "audit";
+
+    // Records waiting for the writer; when full, new records are dropped and counted instead of slowing requests
+    private int queueCapacity = 10_000;
+
+    // Most records written (and forced to disk) at once
+    private int batchSize = 500;
+
+    // A segment is closed once it reaches this size ...
+    private long segmentMaxBytes = 64L * 1024 * 1024;
+
+    // ... or has been open this long
+    private long rollIntervalMs = 24L * 60 * 60 * 1000;
+}
@@ -0,0 +1,52 @@
+package com.gym_management_backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs the long nightly and monthly jobs (archive, payroll, attendance recompute) on a thread
+ * of their own, one at a time. Their @Scheduled methods only hand the work over, so the
+ * scheduler threads stay free for the tick jobs (seat stream flushes and heartbeats, cache-bus
+ * polling, reminders, replica heartbeats). A job still running when it comes due again is skipped.
+ */
+@Component
+public class BatchJobRunner implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchJobRunner.class);
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "batch-jobs");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Jobs queued or running
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    public void submit(String name, Runnable job) {
+        if (!pending.add(name)) {
+            log.warn("{} is still running, skipping this run", name);
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                job.run();
+            } catch (RuntimeException e) {
+                log.error("{} failed", name, e);
+            } finally {
+                pending.remove(name);
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
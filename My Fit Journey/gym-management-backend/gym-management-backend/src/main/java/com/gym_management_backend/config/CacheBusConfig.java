@@ -0,0 +1,62 @@
+package com.gym_management_backend.config;
+
+import com.gym_management_backend.cache.CacheInvalidationListener;
+import com.gym_management_backend.cache.ChangeLogPoller;
+import com.gym_management_backend.cache.ChangeLogRecorder;
+import com.gym_management_backend.cache.HibernateCacheInvalidator;
+import com.gym_management_backend.metrics.GymMetrics;
+import com.gym_management_backend.repositories.CacheChangeLogRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Keeps the per-node second-level caches coherent when several instances run against one
+ * database (gym.cache-bus.enabled). Writes append to cache_change_log inside the writing
+ * transaction, on the same connection just before it commits (ChangeLogRecorder), so a log row
+ * exists exactly when its change was committed; every node polls the log and evicts what
+ * other nodes changed.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "gym.cache-bus", name = "enabled", matchIfMissing = true)
+public class CacheBusConfig {
+
+    @Bean
+    public ChangeLogRecorder changeLogRecorder(EntityManagerFactory entityManagerFactory, CacheBusProperties properties) {
+        ChangeLogRecorder recorder = new ChangeLogRecorder(properties.getNodeId());
+        EventListenerRegistry listeners = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_INSERT, recorder);
+        listeners.appendListeners(EventType.POST_UPDATE, recorder);
+        listeners.appendListeners(EventType.POST_DELETE, recorder);
+        return recorder;
+    }
+
+    @Bean
+    public HibernateCacheInvalidator hibernateCacheInvalidator(EntityManagerFactory entityManagerFactory) {
+        return new HibernateCacheInvalidator(entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache());
+    }
+
+    @Bean
+    public ChangeLogPoller changeLogPoller(CacheChangeLogRepository repository,
+                                           List<CacheInvalidationListener> listeners,
+                                           GymMetrics metrics, CacheBusProperties properties) {
+        return new ChangeLogPoller(repository, listeners, metrics, properties.getNodeId(),
+                properties.getGapTimeoutMs(), properties.getRetentionMs());
+    }
+
+    @Bean
+    public MeterBinder cacheBusMetrics(ChangeLogPoller poller) {
+        return registry -> Gauge.builder("gym.cache.bus.high.water.mark", poller, ChangeLogPoller::getHighWaterMark)
+                .description("Highest cache_change_log id applied by this node")
+                .register(registry);
+    }
+}
@@ -0,0 +1,30 @@
+package com.gym_management_backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.UUID;
+
+// Cross-node cache invalidation through the cache_change_log table (gym.cache-bus.* in application.properties)
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "gym.cache-bus")
+public class CacheBusProperties {
+
+    private boolean enabled = true;
+
+    // Upper bound on how long another node serves a stale cached entry after a write
+    private long pollMs = 1000;
+
+    // A missing log id (transaction still in flight, or rolled back) is waited for this long
+    private long gapTimeoutMs = 10_000;
+
+    // Log rows older than this are deleted; a node that has not polled for this long flushes its caches instead
+    private long retentionMs = 3_600_000;
+
+    private long compactMs = 60_000;
+
+    // Rows written by this node are skipped by its own poller; unique per process unless set
+    private String nodeId = UUID.randomUUID().toString().substring(0, 8);
+}
@@ -0,0 +1,18 @@
+package com.gym_management_backend.config;
+
+// Hibernate second-level cache region names; sizes and TTLs are set per region in ehcache.xml
+public final class CacheRegions {
+
+    public static final String PLANS = "gym.plans";
+    public static final String USERS = "gym.users";
+    public static final String TRAINER_SALARIES = "gym.trainer-salaries";
+
+    public static final String PLAN_QUERIES = "gym.queries.plans";
+    public static final String USERS_BY_ROLE_QUERIES = "gym.queries.users-by-role";
+
+    static final String[] ENTITY_REGIONS = {PLANS, USERS, TRAINER_SALARIES};
+    static final String[] QUERY_REGIONS = {PLAN_QUERIES, USERS_BY_ROLE_QUERIES};
+
+    private CacheRegions() {
+    }
+}
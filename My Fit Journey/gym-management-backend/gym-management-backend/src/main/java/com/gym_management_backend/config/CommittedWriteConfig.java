@@ -0,0 +1,25 @@
+package com.gym_management_backend.config;
+
+import com.gym_management_backend.cache.CommittedWriteDispatcher;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// One Hibernate post-commit listener for every in-memory view of the tables; see CommittedWriteDispatcher
+@Configuration
+public class CommittedWriteConfig {
+
+    @Bean
+    public CommittedWriteDispatcher committedWriteDispatcher(EntityManagerFactory entityManagerFactory) {
+        CommittedWriteDispatcher dispatcher = new CommittedWriteDispatcher();
+        EventListenerRegistry listeners = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_COMMIT_INSERT, dispatcher);
+        listeners.appendListeners(EventType.POST_COMMIT_UPDATE, dispatcher);
+        listeners.appendListeners(EventType.POST_COMMIT_DELETE, dispatcher);
+        return dispatcher;
+    }
+}
@@ -0,0 +1,30 @@
+package com.gym_management_backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Member dashboard fan-out (gym.dashboard.* in application.properties)
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "gym.dashboard")
+public class DashboardProperties {
+
+    // Section reads running at once across all dashboard requests; keep below the connection pool size
+    private int threads = 8;
+
+    // Section reads waiting for a thread; when full, new sections are skipped as rejected
+    private int queueCapacity = 100;
+
+    // Newest rows shown in the plan and class booking sections
+    private int historySize = 10;
+
+    // How long the page waits for a section, counted from the start of the request
+    private long timeoutMs = 2000;
+
+    // Per-section overrides of timeoutMs, keyed by section name (e.g. availableClasses)
+    private Map<String, Long> sectionTimeoutMs = new HashMap<>();
+}
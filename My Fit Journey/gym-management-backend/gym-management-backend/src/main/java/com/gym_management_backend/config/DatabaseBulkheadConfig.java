@@ -0,0 +1,61 @@
+package com.gym_management_backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the DataSource the repositories use in a BulkheadDataSource (gym.db.bulkhead.enabled,
+ * on in the "virtual" profile). That is the bean named "dataSource": the Hikari pool itself,
+ * or with replica routing on the routing proxy in front of both pools, which stay unwrapped.
+ * Permits default to the (primary) pool size so the bulkhead and the pool agree on how many
+ * transactions can run at once.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "gym.db.bulkhead", name = "enabled")
+public class DatabaseBulkheadConfig {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    // Static: post-processors are created before regular beans
+    @Bean
+    public static BeanPostProcessor bulkheadDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                int poolSize = dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize()
+                        : environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+                int permits = environment.getProperty("gym.db.bulkhead.max-concurrent", Integer.class, poolSize);
+                long acquireTimeoutMs = environment.getProperty("gym.db.bulkhead.acquire-timeout-ms", Long.class, 60_000L);
+                return new BulkheadDataSource(dataSource, permits, acquireTimeoutMs);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder databaseBulkheadMetrics(DataSource dataSource) {
+        return registry -> {
+            BulkheadDataSource bulkhead = DataSourceUnwrapper.unwrap(dataSource, BulkheadDataSource.class);
+            if (bulkhead == null) {
+                return;
+            }
+            Gauge.builder("gym.db.bulkhead.waiting", bulkhead, BulkheadDataSource::getQueueLength)
+                    .description("Threads queued for a database connection")
+                    .register(registry);
+            Gauge.builder("gym.db.bulkhead.available", bulkhead, BulkheadDataSource::getAvailablePermits)
+                    .description("Free bulkhead permits")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package com.gym_management_backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// Idempotency-Key handling for the booking and purchase endpoints (gym.idempotency.* in application.properties)
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "gym.idempotency")
+public class IdempotencyProperties {
+
+    // Completed responses kept in memory; older ones are answered from the idempotency_keys table
+    private long memoryTtlMs = 10 * 60 * 1000;
+
+    // How long a key can be replayed at all; rows older than this are purged
+    private long retentionMs = 24 * 60 * 60 * 1000;
+
+    private long purgeMs = 10 * 60 * 1000;
+
+    // A duplicate waits this long for the in-flight original before giving up
+    private long waitTimeoutMs = 10_000;
+}
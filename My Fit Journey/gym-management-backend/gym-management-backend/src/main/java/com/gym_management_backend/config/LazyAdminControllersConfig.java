@@ -0,0 +1,35 @@
+package com.gym_management_backend.config;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Defers the admin controllers (and whatever only they depend on) to their first request
+ * (gym.startup.lazy-admin-controllers, on in the "prod" profile). Members and trainers are
+ * served as soon as the context is up; the first admin call pays for the wiring instead.
+ * Everything else stays eager: @Scheduled jobs and startup listeners only run on beans
+ * that exist.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "gym.startup", name = "lazy-admin-controllers")
+public class LazyAdminControllersConfig {
+
+    static final String ADMIN_CONTROLLER_PREFIX = "com.gym_management_backend.controllers.Admin";
+
+    // Static: runs on bean definitions before any bean is created
+    @Bean
+    public static BeanFactoryPostProcessor lazyAdminControllers() {
+        return beanFactory -> {
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                String className = definition.getBeanClassName();
+                if (className != null && className.startsWith(ADMIN_CONTROLLER_PREFIX)) {
+                    definition.setLazyInit(true);
+                }
+            }
+        };
+    }
+}
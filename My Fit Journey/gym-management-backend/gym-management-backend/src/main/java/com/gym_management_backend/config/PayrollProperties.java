@@ -0,0 +1,21 @@
+package com.gym_management_backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// Monthly trainer payroll batch (gym.payroll.* in application.properties)
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "gym.payroll")
+public class PayrollProperties {
+
+    // Trainers per chunk; each chunk is read, computed and written as one unit on one connection
+    private int chunkSize = 200;
+
+    // Chunks processed at the same time; keep below the connection pool size
+    private int threads = 4;
+
+    // A run still RUNNING after this long is taken to have died with its node and may be started again
+    private long staleRunMs = 21_600_000;
+}
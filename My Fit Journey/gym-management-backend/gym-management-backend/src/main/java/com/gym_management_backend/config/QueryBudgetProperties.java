@@ -0,0 +1,26 @@
+package com.gym_management_backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// Per-request SQL budget and where to report it (gym.query-budget.* in application.properties)
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "gym.query-budget")
+public class QueryBudgetProperties {
+
+    private boolean enabled = true;
+
+    // X-Query-Count / X-Query-Time-Ms / X-Query-Max-Repeated on every response (dev profile)
+    private boolean headers = false;
+
+    // gym.db.statements and gym.db.time per endpoint
+    private boolean metrics = true;
+
+    // More statements than this in one request logs a warning
+    private int maxStatements = 20;
+
+    // The same statement shape issued more often than this in one request is treated as an N+1
+    private int maxRepeated = 5;
+}
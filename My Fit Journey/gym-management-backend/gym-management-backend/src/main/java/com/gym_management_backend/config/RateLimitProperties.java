@@ -0,0 +1,42 @@
+package com.gym_management_backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Per-role, per-endpoint request budgets (gym.rate-limit.* in application.properties)
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "gym.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Buckets untouched for this long (and therefore full) are dropped
+    private long idleEvictMs = 10 * 60 * 1000;
+
+    // First matching rule wins
+    private List<Rule> rules = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Rule {
+        // HTTP method, e.g. POST
+        private String method;
+
+        // Request path; Ant-style wildcards are allowed (e.g. /api/member/**)
+        private String path;
+
+        // Role the rule applies to (MEMBER, TRAINER, ADMIN); empty = any authenticated user
+        private String role;
+
+        // Burst size: requests allowed back-to-back on a full bucket
+        private int capacity = 5;
+
+        // Sustained rate the bucket refills at
+        private int refillPerMinute = 30;
+    }
+}
@@ -0,0 +1,98 @@
+package com.gym_management_backend.config;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers which members committed a write recently. Their reads stay on the
+ * primary until the replica has had time to catch up, so a member who just
+ * booked a class sees the booking in their own list straight away.
+ *
+ * The member's client carries the marker too: the write's response sets the
+ * COOKIE with the time until which reads stick, so their next request is routed
+ * to the primary whichever node serves it. The in-memory map covers work done
+ * off the request thread on the node that took the write.
+ */
+public class ReadYourWritesTracker {
+
+    public static final String COOKIE = "gym_primary_until";
+
+    private final long stickyMs;
+    private final long stickyNanos;
+    // username -> System.nanoTime() until which reads go to the primary
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(long stickyMs) {
+        this.stickyMs = stickyMs;
+        this.stickyNanos = TimeUnit.MILLISECONDS.toNanos(stickyMs);
+    }
+
+    public void recordWrite(String username) {
+        stickyUntil.put(username, System.nanoTime() + stickyNanos);
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                && attributes.getResponse() != null && !attributes.getResponse().isCommitted()) {
+            HttpServletResponse response = attributes.getResponse();
+            Cookie cookie = new Cookie(COOKIE, Long.toString(System.currentTimeMillis() + stickyMs));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) TimeUnit.MILLISECONDS.toSeconds(stickyMs + 999));
+            response.addCookie(cookie);
+        }
+    }
+
+    public boolean isSticky(String username) {
+        if (hasStickyCookie()) {
+            return true;
+        }
+        if (username == null) {
+            return false;
+        }
+        Long until = stickyUntil.get(username);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        stickyUntil.remove(username, until);
+        return false;
+    }
+
+    // The current request carries a marker from a write that committed on any node
+    private static boolean hasStickyCookie() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return false;
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        if (request.getCookies() == null) {
+            return false;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Drop expired entries for members who have not read since their write
+    @Scheduled(fixedDelayString = "${gym.datasource.replica.sticky-ms:5000}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        stickyUntil.entrySet().removeIf(e -> e.getValue() - now <= 0);
+    }
+}
@@ -0,0 +1,21 @@
+package com.gym_management_backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gym_management_backend.notifications.OutboxReminderSender;
+import com.gym_management_backend.notifications.ReminderSender;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+
+// The local outbox file, unless another ReminderSender (mail, push) is declared
+@Configuration
+public class ReminderConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(ReminderSender.class)
+    public ReminderSender outboxReminderSender(ReminderProperties properties, ObjectMapper objectMapper) {
+        return new OutboxReminderSender(Paths.get(properties.getOutboxFile()), objectMapper);
+    }
+}
@@ -0,0 +1,42 @@
+package com.gym_management_backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Class reminders for members (gym.reminders.* in application.properties)
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "gym.reminders")
+public class ReminderProperties {
+
+    private boolean enabled = true;
+
+    // Nodes sending reminders, and this node's index among them (0 .. nodeCount - 1). Each node only
+    // sends the reminders of bookings with bookingId % nodeCount == nodeIndex, so every reminder goes
+    // out once however many nodes run; give each node its own index
+    private int nodeCount = 1;
+    private int nodeIndex = 0;
+
+    // How long before a class each reminder goes out
+    private List<Duration> offsets = new ArrayList<>(List.of(Duration.ofHours(24), Duration.ofHours(1)));
+
+    // Timing wheel resolution: reminders go out at most this late
+    private long tickMs = 1000;
+
+    // Slots in the timing wheel (a power of two); with the default tick one revolution is about 68 minutes
+    private int wheelSize = 4096;
+
+    // Reminders per ReminderSender call
+    private int batchSize = 500;
+
+    // A batch that could not be looked up or sent is tried again this much later
+    private long retryMs = 60_000;
+
+    // Where the default sender appends reminders, one JSON line each, for a mail/push relay to pick up
+    private String outboxFile = "reminders/outbox.log";
+}
@@ -0,0 +1,74 @@
+package com.gym_management_backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+
+/**
+ * Measures replica lag with a heartbeat row: the primary stamps replication_heartbeat
+ * with its own CURRENT_TIMESTAMP(3), and the replica's copy shows how far behind it is.
+ * Both ends of the difference come from the primary's clock, so the measurement works the
+ * same with any replication setup and does not depend on this node's clock. The table and its
+ * single row come from the schema migrations (V3__replication_heartbeat.sql).
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxLagMs;
+
+    private volatile boolean replicaUsable;
+    private volatile long lagMs = -1;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, long maxLagMs) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLagMs = maxLagMs;
+    }
+
+    @Scheduled(fixedDelayString = "${gym.datasource.replica.heartbeat-ms:1000}")
+    public void check() {
+        try {
+            primary.update("UPDATE replication_heartbeat SET beat_at = CURRENT_TIMESTAMP(3) WHERE id = 1");
+        } catch (DataAccessException e) {
+            log.warn("Could not write the replication heartbeat on the primary", e);
+        }
+
+        boolean usable;
+        try {
+            Timestamp beat = replica.queryForObject("SELECT beat_at FROM replication_heartbeat WHERE id = 1", Timestamp.class);
+            Timestamp now = primary.queryForObject("SELECT CURRENT_TIMESTAMP(3)", Timestamp.class);
+            lagMs = beat != null && now != null ? Math.max(0, now.getTime() - beat.getTime()) : -1;
+            usable = lagMs >= 0 && lagMs <= maxLagMs;
+        } catch (DataAccessException e) {
+            lagMs = -1;
+            usable = false;
+        }
+
+        if (usable != replicaUsable) {
+            if (usable) {
+                log.info("Read replica is in sync ({} ms behind), routing read-only transactions to it", lagMs);
+            } else {
+                log.warn("Read replica is unavailable or more than {} ms behind (lag {} ms), reading from the primary",
+                        maxLagMs, lagMs);
+            }
+        }
+        replicaUsable = usable;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    // Last measured lag in milliseconds, -1 when the replica could not be read
+    public long getLagMs() {
+        return lagMs;
+    }
+}
@@ -0,0 +1,30 @@
+package com.gym_management_backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// Read replica connection and routing rules (gym.datasource.replica.* in application.properties)
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "gym.datasource.replica")
+public class ReplicaProperties {
+
+    // Off: a single DataSource, everything goes to the primary
+    private boolean enabled = false;
+
+    private String url;
+    private String username;
+    private String password;
+    private int maximumPoolSize = 10;
+
+    // How often the primary writes a heartbeat row and the replica's copy is checked
+    private long heartbeatMs = 1000;
+
+    // Reads fall back to the primary while the replica is further behind than this (or unreachable)
+    private long maxLagMs = 5000;
+
+    // After a member's write commits, their reads stay on the primary for this long (on every node: the
+    // write's response sets a cookie with the deadline)
+    private long stickyMs = 5000;
+}
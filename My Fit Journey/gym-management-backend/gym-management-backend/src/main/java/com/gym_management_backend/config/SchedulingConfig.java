@@ -0,0 +1,11 @@
+package com.gym_management_backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+// Enables @Scheduled background jobs (e.g. seat availability flushes). The scheduler pool is sized by
+// spring.task.scheduling.pool.size; long batch jobs hand their work to the BatchJobRunner
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,93 @@
+package com.gym_management_backend.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.ehcache.xml.XmlConfiguration;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URL;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Second-level cache wiring (regions in ehcache.xml, settings in application.properties)
+ * and the hit ratio per region (gym.cache.hit.ratio{region}). Raw hit/miss/put counts are
+ * already exported by hibernate-micrometer; the ratio is what the dashboards alert on.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    private static final String CLASSPATH_PREFIX = "classpath:";
+
+    // A cache manager of our own for each application context. Left to Hibernate, the JCache provider
+    // hands out one manager per configuration URI and JVM, so contexts started side by side on a
+    // recreated schema (the test suite) would read each other's entries for reused ids.
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(JpaProperties jpaProperties) {
+        String location = jpaProperties.getProperties().get(ConfigSettings.CONFIG_URI);
+        if (location == null) {
+            throw new IllegalStateException(ConfigSettings.CONFIG_URI + " is not set");
+        }
+        try {
+            // Loaded through a URL rather than a URI string, so install paths with spaces work
+            URL url = location.startsWith(CLASSPATH_PREFIX)
+                    ? new ClassPathResource(location.substring(CLASSPATH_PREFIX.length())).getURL()
+                    : URI.create(location).toURL();
+            EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(
+                    EhcacheCachingProvider.class.getName());
+            return provider.getCacheManager(URI.create("urn:gym:second-level-cache:" + UUID.randomUUID()),
+                    new XmlConfiguration(url));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cache configuration not found: " + location, e);
+        }
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManagerCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+    }
+
+    @Bean
+    public MeterBinder cacheHitRatioMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            for (String region : CacheRegions.ENTITY_REGIONS) {
+                hitRatio(registry, region, statistics, s -> s.getDomainDataRegionStatistics(region));
+            }
+            for (String region : CacheRegions.QUERY_REGIONS) {
+                hitRatio(registry, region, statistics, s -> s.getQueryRegionStatistics(region));
+            }
+        };
+    }
+
+    private static void hitRatio(MeterRegistry registry, String region, Statistics statistics,
+                                 Function<Statistics, CacheRegionStatistics> regionStatistics) {
+        Gauge.builder("gym.cache.hit.ratio", statistics, s -> {
+                    CacheRegionStatistics stats = regionStatistics.apply(s);
+                    if (stats == null) {
+                        return Double.NaN;
+                    }
+                    long lookups = stats.getHitCount() + stats.getMissCount();
+                    return lookups == 0 ? Double.NaN : (double) stats.getHitCount() / lookups;
+                })
+                .tag("region", region)
+                .description("Second-level cache hits / (hits + misses) since startup")
+                .register(registry);
+    }
+}
@@ -2,6 +2,8 @@ package com.gym_management_backend.config;
 
 import com.gym_management_backend.security.CustomUserDetailsService;
 import com.gym_management_backend.security.JwtRequestFilter;
+import com.gym_management_backend.security.RateLimitFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -22,13 +24,16 @@ public class SecurityConfig {
     private final CustomUserDetailsService userDetailsService;
     private final PasswordEncoder passwordEncoder;
     private final JwtRequestFilter jwtRequestFilter;
+    private final RateLimitFilter rateLimitFilter;
 
     public SecurityConfig(CustomUserDetailsService userDetailsService,
                           PasswordEncoder passwordEncoder,
-                          JwtRequestFilter jwtRequestFilter) {
+                          JwtRequestFilter jwtRequestFilter,
+                          RateLimitFilter rateLimitFilter) {
         this.userDetailsService = userDetailsService;
         this.passwordEncoder = passwordEncoder;
         this.jwtRequestFilter = jwtRequestFilter;
+        this.rateLimitFilter = rateLimitFilter;
     }
 
     @Bean
@@ -54,6 +59,8 @@ public class SecurityConfig {
 
           // Authorization rules: adjust to roles and endpoints
           .authorizeHttpRequests(auth -> auth
+              // Async dispatches (e.g. SSE streams completing) were already authorized on the original request
+              .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
         	  .requestMatchers("/images/**").permitAll() // <-- allow images without auth	  
               .requestMatchers("/api/auth/**").permitAll()
               .requestMatchers("/api/admin/**").hasRole("ADMIN")
@@ -66,7 +73,10 @@ public class SecurityConfig {
           .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 
           // Add your JWT filter before the username/password authentication filter
-          .addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class);
+          .addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class)
+
+          // Per-user request budgets, charged once the JWT has identified the caller
+          .addFilterAfter(rateLimitFilter, JwtRequestFilter.class);
 
         return http.build();
     }
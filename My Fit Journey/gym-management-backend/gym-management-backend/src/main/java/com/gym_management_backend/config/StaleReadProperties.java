@@ -0,0 +1,37 @@
+package com.gym_management_backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// Read-through cache for the rarely changing read endpoints (gym.stale-reads.* in application.properties)
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "gym.stale-reads")
+public class StaleReadProperties {
+
+    private boolean enabled = true;
+
+    // Served as-is for this long after loading
+    private long freshMs = 5000;
+
+    // Then served stale for up to this much longer while one background reload runs
+    private long staleWhileRevalidateMs = 60_000;
+
+    // Past that a read waits for the reload, but gets the old data if the database fails or is slower than callTimeoutMs
+    private long staleIfErrorMs = 60 * 60 * 1000;
+
+    // Longest a read waits for the database; slower loads count as failures for the circuit breaker
+    private long callTimeoutMs = 1000;
+
+    // Consecutive failed loads that open the circuit breaker, and how long it stays open before a trial load
+    private int breakerFailureThreshold = 5;
+    private long breakerOpenMs = 10_000;
+
+    // Cached responses (e.g. one per schedule week asked for); least recently read ones go first
+    private int maxEntries = 1000;
+
+    // Loads running at once, and loads waiting for a thread
+    private int threads = 4;
+    private int queueCapacity = 100;
+}
@@ -0,0 +1,42 @@
+package com.gym_management_backend.controllers;
+
+import com.gym_management_backend.dto.AttendanceStatsResponse;
+import com.gym_management_backend.dto.TrainerStatsResponse;
+import com.gym_management_backend.services.AttendanceStatsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/analytics")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminAnalyticsController {
+
+    private final AttendanceStatsService attendanceStatsService;
+
+    public AdminAnalyticsController(AttendanceStatsService attendanceStatsService) {
+        this.attendanceStatsService = attendanceStatsService;
+    }
+
+    // Fill, attendance, no-show and cancellation rates of every trainer over all their classes
+    @GetMapping("/trainers")
+    public ResponseEntity<List<AttendanceStatsResponse>> getTrainerTotals() {
+        return ResponseEntity.ok(attendanceStatsService.getTrainerTotals());
+    }
+
+    // One trainer, in total and per class type
+    @GetMapping("/trainers/{trainerId}")
+    public ResponseEntity<TrainerStatsResponse> getTrainerStats(@PathVariable Long trainerId) {
+        return attendanceStatsService.getTrainerStats(trainerId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Rebuild the statistics from the booking tables (backfill, drift correction)
+    @PostMapping("/recompute")
+    public ResponseEntity<AttendanceStatsService.RecomputeResult> recompute() {
+        return ResponseEntity.ok(attendanceStatsService.recompute());
+    }
+}
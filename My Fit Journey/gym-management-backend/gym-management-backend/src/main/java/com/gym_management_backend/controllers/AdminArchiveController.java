@@ -0,0 +1,26 @@
+package com.gym_management_backend.controllers;
+
+import com.gym_management_backend.services.ArchiveService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/archive")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminArchiveController {
+
+    private final ArchiveService archiveService;
+
+    public AdminArchiveController(ArchiveService archiveService) {
+        this.archiveService = archiveService;
+    }
+
+    // Runs the nightly archive now; returns how many classes, bookings and plans were moved
+    @PostMapping("/run")
+    public ResponseEntity<ArchiveService.ArchiveResult> run() {
+        return ResponseEntity.ok(archiveService.archive());
+    }
+}
@@ -2,6 +2,7 @@ package com.gym_management_backend.controllers;
 
 import com.gym_management_backend.entities.User;
 import com.gym_management_backend.entities.User.Role;
+import com.gym_management_backend.repositories.FieldProjectionRepository;
 import com.gym_management_backend.repositories.UserRepository;
 
 import java.io.IOException;
@@ -15,8 +16,10 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.util.StringUtils;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin/users")
@@ -24,22 +27,34 @@ import java.util.List;
 public class AdminController {
 
     private final UserRepository userRepository;
+    private final FieldProjectionRepository fieldProjectionRepository;
 
-    public AdminController(UserRepository userRepository) {
+    public AdminController(UserRepository userRepository, FieldProjectionRepository fieldProjectionRepository) {
         this.userRepository = userRepository;
+        this.fieldProjectionRepository = fieldProjectionRepository;
     }
 
-    // Get all users
+    // Get all users; ?fields=id,fullName selects only those columns (see UserRepository.FIELDS)
+    @Transactional(readOnly = true)
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers(@RequestParam(required = false) String role) {
-        List<User> users;
+    public ResponseEntity<?> getAllUsers(@RequestParam(required = false) String role,
+                                         @RequestParam(required = false) String fields) {
+        Role userRole = null;
         if (role != null && !role.isEmpty()) {
-            Role userRole;
             try {
                 userRole = Role.valueOf(role.toUpperCase());
             } catch (IllegalArgumentException e) {
                 return ResponseEntity.badRequest().build();
             }
+        }
+        if (fields != null) {
+            Role selectedRole = userRole;
+            return SparseFields.ok(UserRepository.FIELDS, fields, selected -> selectedRole == null
+                    ? fieldProjectionRepository.find(UserRepository.FIELDS, selected)
+                    : fieldProjectionRepository.find(UserRepository.FIELDS, selected, "u.role = :role", Map.of("role", selectedRole)));
+        }
+        List<User> users;
+        if (userRole != null) {
             users = userRepository.findByRole(userRole);
         } else {
             users = userRepository.findAll();
@@ -48,6 +63,7 @@ public class AdminController {
     }
 
     // Get user by ID
+    @Transactional(readOnly = true)
     @GetMapping("/{id}")
     public ResponseEntity<User> getUserById(@PathVariable Long id) {
         return userRepository.findById(id)
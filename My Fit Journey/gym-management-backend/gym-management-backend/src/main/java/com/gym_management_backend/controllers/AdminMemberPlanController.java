@@ -3,12 +3,16 @@ package com.gym_management_backend.controllers;
 //package: com.gym_management_backend.controllers;
 
 import com.gym_management_backend.dto.UserPlanResponse;
+import com.gym_management_backend.repositories.ArchivedUserPlanRepository;
+import com.gym_management_backend.repositories.FieldProjectionRepository;
 import com.gym_management_backend.repositories.UserPlanRepository;
 import com.gym_management_backend.entities.UserPlan;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -17,34 +21,59 @@ import java.util.stream.Collectors;
 public class AdminMemberPlanController {
 
  private final UserPlanRepository userPlanRepository;
+ private final ArchivedUserPlanRepository archivedUserPlanRepository;
+ private final FieldProjectionRepository fieldProjectionRepository;
 
- public AdminMemberPlanController(UserPlanRepository userPlanRepository) {
+ public AdminMemberPlanController(UserPlanRepository userPlanRepository,
+                                  ArchivedUserPlanRepository archivedUserPlanRepository,
+                                  FieldProjectionRepository fieldProjectionRepository) {
      this.userPlanRepository = userPlanRepository;
+     this.archivedUserPlanRepository = archivedUserPlanRepository;
+     this.fieldProjectionRepository = fieldProjectionRepository;
  }
 
+ // Live purchases; ?includeArchived=true appends the archived ones (plans that expired past the archive horizon).
+ // ?fields=bookingId,memberName selects only those columns and joins plan/user only if a field needs them
+ @Transactional(readOnly = true)
  @GetMapping
- public ResponseEntity<List<UserPlanResponse>> getAllUserPlans() {
+ public ResponseEntity<?> getAllUserPlans(@RequestParam(defaultValue = "false") boolean includeArchived,
+                                          @RequestParam(required = false) String fields) {
+     if (fields != null) {
+         return SparseFields.ok(UserPlanRepository.FIELDS, fields, selected -> {
+             List<Map<String, Object>> rows = fieldProjectionRepository.find(UserPlanRepository.FIELDS, selected);
+             if (includeArchived) {
+                 rows.addAll(fieldProjectionRepository.find(ArchivedUserPlanRepository.FIELDS, selected));
+             }
+             return rows;
+         });
+     }
      List<UserPlanResponse> result = userPlanRepository.findAll()
              .stream()
-             .map(userPlan -> {
-                 UserPlanResponse r = new UserPlanResponse();
-                 r.setBookingId(userPlan.getId());
-                 r.setPlanId(userPlan.getPlan().getId());
-                 r.setPlanName(userPlan.getPlan().getName());
-                 r.setBookingDate(userPlan.getBookingDate());
-                 r.setPaymentCompleted(userPlan.getPaymentCompleted());
-                 r.setPaymentReference(userPlan.getPaymentReference());
-                 r.setActive(userPlan.getActive());
-                 r.setPlanPrice(userPlan.getPlan().getPrice());
-                 // Optionally add member name/email for frontend display
-                 r.setMemberName(userPlan.getUser().getFullName());
-                 r.setMemberEmail(userPlan.getUser().getEmail());
-                 return r;
-             })
+             .map(AdminMemberPlanController::mapToResponse)
              .collect(Collectors.toList());
+     if (includeArchived) {
+         result.addAll(archivedUserPlanRepository.findAllResponses());
+     }
      return ResponseEntity.ok(result);
  }
 
+ // Package-private for the mapping benchmarks
+ static UserPlanResponse mapToResponse(UserPlan userPlan) {
+     UserPlanResponse r = new UserPlanResponse();
+     r.setBookingId(userPlan.getId());
+     r.setPlanId(userPlan.getPlan().getId());
+     r.setPlanName(userPlan.getPlan().getName());
+     r.setBookingDate(userPlan.getBookingDate());
+     r.setPaymentCompleted(userPlan.getPaymentCompleted());
+     r.setPaymentReference(userPlan.getPaymentReference());
+     r.setActive(userPlan.getActive());
+     r.setPlanPrice(userPlan.getPlan().getPrice());
+     // Optionally add member name/email for frontend display
+     r.setMemberName(userPlan.getUser().getFullName());
+     r.setMemberEmail(userPlan.getUser().getEmail());
+     return r;
+ }
+
  @DeleteMapping("/{userPlanId}")
  public ResponseEntity<Void> deleteUserPlan(@PathVariable Long userPlanId) {
      if (userPlanRepository.existsById(userPlanId)) {
@@ -0,0 +1,37 @@
+package com.gym_management_backend.controllers;
+
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/metrics")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminMetricsController {
+
+    private static final MediaType PROMETHEUS_TEXT = MediaType.parseMediaType("text/plain;version=0.0.4;charset=utf-8");
+
+    // Absent when Prometheus export is disabled (e.g. management.prometheus.metrics.export.enabled=false, or in tests)
+    private final ObjectProvider<PrometheusMeterRegistry> prometheusMeterRegistry;
+
+    public AdminMetricsController(ObjectProvider<PrometheusMeterRegistry> prometheusMeterRegistry) {
+        this.prometheusMeterRegistry = prometheusMeterRegistry;
+    }
+
+    // Service timers, HTTP endpoint latencies, connection pool and Hibernate statistics in Prometheus text format
+    @GetMapping
+    public ResponseEntity<String> scrape() {
+        PrometheusMeterRegistry registry = prometheusMeterRegistry.getIfAvailable();
+        if (registry == null) {
+            return ResponseEntity.status(503).body("Prometheus metrics export is disabled");
+        }
+        return ResponseEntity.ok()
+                .contentType(PROMETHEUS_TEXT)
+                .body(registry.scrape());
+    }
+}
@@ -0,0 +1,63 @@
+package com.gym_management_backend.controllers;
+
+import com.gym_management_backend.entities.PayrollRun;
+import com.gym_management_backend.entities.Payslip;
+import com.gym_management_backend.repositories.PayrollRunRepository;
+import com.gym_management_backend.repositories.PayslipRepository;
+import com.gym_management_backend.services.PayrollService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/payroll")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminPayrollController {
+
+    private final PayrollService payrollService;
+    private final PayrollRunRepository payrollRunRepository;
+    private final PayslipRepository payslipRepository;
+
+    public AdminPayrollController(PayrollService payrollService,
+                                  PayrollRunRepository payrollRunRepository,
+                                  PayslipRepository payslipRepository) {
+        this.payrollService = payrollService;
+        this.payrollRunRepository = payrollRunRepository;
+        this.payslipRepository = payslipRepository;
+    }
+
+    // Run payroll for a month (e.g. ?month=2026-09); a month that already ran is rejected
+    @PostMapping("/runs")
+    public ResponseEntity<PayrollRun> runPayroll(@RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+        return ResponseEntity.ok(payrollService.run(month));
+    }
+
+    @Transactional(readOnly = true)
+    @GetMapping("/runs")
+    public ResponseEntity<List<PayrollRun>> listRuns() {
+        return ResponseEntity.ok(payrollRunRepository.findAllByOrderByPeriodStartDesc());
+    }
+
+    // Payslips of one run by trainer id, one page at a time
+    @Transactional(readOnly = true)
+    @GetMapping("/runs/{runId}/payslips")
+    public ResponseEntity<List<Payslip>> listPayslips(@PathVariable Long runId,
+                                                      @RequestParam(defaultValue = "0") int page,
+                                                      @RequestParam(defaultValue = HistoryPaging.DEFAULT_SIZE) int size) {
+        return HistoryPaging.ok(payslipRepository.findByPayrollRunIdOrderByTrainerIdAsc(runId, HistoryPaging.pageRequest(page, size)));
+    }
+
+    // A trainer's payslips, newest first
+    @Transactional(readOnly = true)
+    @GetMapping("/trainers/{trainerId}/payslips")
+    public ResponseEntity<List<Payslip>> listTrainerPayslips(@PathVariable Long trainerId,
+                                                             @RequestParam(defaultValue = "0") int page,
+                                                             @RequestParam(defaultValue = HistoryPaging.DEFAULT_SIZE) int size) {
+        return HistoryPaging.ok(payslipRepository.findByTrainerIdOrderByIdDesc(trainerId, HistoryPaging.pageRequest(page, size)));
+    }
+}
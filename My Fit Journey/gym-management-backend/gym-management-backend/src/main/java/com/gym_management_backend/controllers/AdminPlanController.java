@@ -6,6 +6,7 @@ import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -21,6 +22,7 @@ public class AdminPlanController {
     }
 
     // Get all plans
+    @Transactional(readOnly = true)
     @GetMapping
     public ResponseEntity<List<Plan>> getAllPlans() {
         List<Plan> plans = planRepository.findAll();
@@ -28,6 +30,7 @@ public class AdminPlanController {
     }
 
     // Get plan by ID
+    @Transactional(readOnly = true)
     @GetMapping("/{id}")
     public ResponseEntity<Plan> getPlanById(@PathVariable Long id) {
         return planRepository.findById(id)
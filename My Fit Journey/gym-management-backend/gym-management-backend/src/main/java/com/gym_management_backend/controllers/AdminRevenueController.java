@@ -7,6 +7,7 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -24,6 +25,7 @@ public class AdminRevenueController {
     }
 
     // Get all revenue records
+    @Transactional(readOnly = true)
     @GetMapping
     public ResponseEntity<List<Revenue>> getAllRevenue() {
         List<Revenue> revenues = revenueRepository.findAll();
@@ -31,6 +33,7 @@ public class AdminRevenueController {
     }
 
     // Get revenue record by date
+    @Transactional(readOnly = true)
     @GetMapping("/date/{date}")
     public ResponseEntity<Revenue> getRevenueByDate(
             @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
@@ -1,15 +1,18 @@
 package com.gym_management_backend.controllers;
 
+import com.gym_management_backend.cache.StaleReadCache;
 import com.gym_management_backend.entities.User;
+import com.gym_management_backend.repositories.FieldProjectionRepository;
 import com.gym_management_backend.repositories.UserRepository;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/admin/trainers")
@@ -18,22 +21,31 @@ public class AdminTrainerController {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final FieldProjectionRepository fieldProjectionRepository;
+    private final StaleReadCache staleReadCache;
 
-    public AdminTrainerController(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public AdminTrainerController(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                                  FieldProjectionRepository fieldProjectionRepository,
+                                  StaleReadCache staleReadCache) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.fieldProjectionRepository = fieldProjectionRepository;
+        this.staleReadCache = staleReadCache;
     }
 
-    // List all trainers
+    // List all trainers; ?fields= as on the user list. The full list is still answered (marked stale) while the database is down
     @GetMapping
-    public ResponseEntity<List<User>> getAllTrainers() {
-        List<User> trainers = userRepository.findAll().stream()
-                .filter(user -> user.getRole() == User.Role.TRAINER)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(trainers);
+    public ResponseEntity<?> getAllTrainers(@RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return SparseFields.ok(UserRepository.FIELDS, fields, selected -> fieldProjectionRepository.find(
+                    UserRepository.FIELDS, selected, "u.role = :role", Map.of("role", User.Role.TRAINER)));
+        }
+        return StaleReads.ok(staleReadCache.get("trainers", "all", Set.of(User.class),
+                () -> userRepository.findByRole(User.Role.TRAINER)));
     }
 
     // Get a trainer by ID
+    @Transactional(readOnly = true)
     @GetMapping("/{id}")
     public ResponseEntity<User> getTrainerById(@PathVariable Long id) {
         return userRepository.findById(id)
@@ -2,12 +2,16 @@ package com.gym_management_backend.controllers;
 //package: com.gym_management_backend.controllers;
 
 import com.gym_management_backend.entities.TrainerSalary;
+import com.gym_management_backend.entities.TrainerSalaryHistory;
 import com.gym_management_backend.entities.User;
 import com.gym_management_backend.repositories.TrainerSalaryRepository;
 import com.gym_management_backend.repositories.UserRepository;
+import com.gym_management_backend.services.TrainerSalaryService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -21,17 +25,22 @@ public class AdminTrainerSalaryController {
 
  private final TrainerSalaryRepository trainerSalaryRepository;
  private final UserRepository userRepository;
+ private final TrainerSalaryService trainerSalaryService;
 
- public AdminTrainerSalaryController(TrainerSalaryRepository trainerSalaryRepository, UserRepository userRepository) {
+ public AdminTrainerSalaryController(TrainerSalaryRepository trainerSalaryRepository, UserRepository userRepository,
+                                     TrainerSalaryService trainerSalaryService) {
      this.trainerSalaryRepository = trainerSalaryRepository;
      this.userRepository = userRepository;
+     this.trainerSalaryService = trainerSalaryService;
  }
 
+ @Transactional(readOnly = true)
  @GetMapping
  public ResponseEntity<List<TrainerSalary>> getAllSalaries() {
      return ResponseEntity.ok(trainerSalaryRepository.findAll());
  }
 
+ @Transactional(readOnly = true)
  @GetMapping("/{trainerId}")
  public ResponseEntity<TrainerSalary> getSalaryByTrainerId(@PathVariable Long trainerId) {
      return trainerSalaryRepository.findByTrainerId(trainerId)
@@ -39,16 +48,28 @@ public class AdminTrainerSalaryController {
              .orElse(ResponseEntity.notFound().build());
  }
 
+ // Record new pay terms, effective today unless effectiveFrom is given; 202 when they only start later
  @PostMapping
- public ResponseEntity<TrainerSalary> setOrUpdateSalary(@RequestParam Long trainerId, @RequestParam BigDecimal salary) {
+ public ResponseEntity<TrainerSalary> setOrUpdateSalary(@RequestParam Long trainerId,
+                                                        @RequestParam BigDecimal salary,
+                                                        @RequestParam(required = false) BigDecimal perClassRate,
+                                                        @RequestParam(required = false) BigDecimal perAttendeeRate,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate effectiveFrom) {
      Optional<User> trainerOpt = userRepository.findById(trainerId);
      if (trainerOpt.isEmpty() || trainerOpt.get().getRole() != User.Role.TRAINER) {
          return ResponseEntity.badRequest().build();
      }
-     TrainerSalary ts = trainerSalaryRepository.findByTrainerId(trainerId)
-         .orElse(new TrainerSalary(null, trainerOpt.get(), salary, LocalDate.now()));
-     ts.setSalary(salary);
-     ts.setEffectiveFrom(LocalDate.now());
-     return ResponseEntity.ok(trainerSalaryRepository.save(ts));
+     LocalDate from = effectiveFrom != null ? effectiveFrom : LocalDate.now();
+     Optional<TrainerSalary> current = trainerSalaryService.setSalary(trainerId, salary, perClassRate, perAttendeeRate, from);
+     if (from.isAfter(LocalDate.now()) || current.isEmpty()) {
+         return ResponseEntity.accepted().build();
+     }
+     return ResponseEntity.ok(current.get());
+ }
+
+ // Every pay change for a trainer, newest first
+ @GetMapping("/{trainerId}/history")
+ public ResponseEntity<List<TrainerSalaryHistory>> getSalaryHistory(@PathVariable Long trainerId) {
+     return ResponseEntity.ok(trainerSalaryService.getHistory(trainerId));
  }
 }
@@ -1,14 +1,21 @@
 package com.gym_management_backend.controllers;
 
+import com.gym_management_backend.cache.StaleReadCache;
 import com.gym_management_backend.dto.BookClassRequest;
 import com.gym_management_backend.dto.ClassBookingResponse;
 import com.gym_management_backend.dto.ClassSessionResponse;
+import com.gym_management_backend.dto.WaitlistPositionResponse;
 import com.gym_management_backend.services.ClassBookingService;
+import com.gym_management_backend.services.ClassWaitlistService;
+import com.gym_management_backend.services.IdempotencyService;
+import com.gym_management_backend.services.SeatAvailabilityPublisher;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -18,33 +25,57 @@ import java.util.List;
 public class ClassBookingController {
 
     private final ClassBookingService classBookingService;
+    private final ClassWaitlistService classWaitlistService;
+    private final SeatAvailabilityPublisher seatAvailabilityPublisher;
+    private final IdempotencyService idempotencyService;
+    private final StaleReadCache staleReadCache;
 
-    public ClassBookingController(ClassBookingService classBookingService) {
+    public ClassBookingController(ClassBookingService classBookingService,
+                                  ClassWaitlistService classWaitlistService,
+                                  SeatAvailabilityPublisher seatAvailabilityPublisher,
+                                  IdempotencyService idempotencyService,
+                                  StaleReadCache staleReadCache) {
         this.classBookingService = classBookingService;
+        this.classWaitlistService = classWaitlistService;
+        this.seatAvailabilityPublisher = seatAvailabilityPublisher;
+        this.idempotencyService = idempotencyService;
+        this.staleReadCache = staleReadCache;
     }
 
-    // List all upcoming available class sessions for booking
+    // List all upcoming available class sessions for booking; still answered (marked stale) while the database is down
     @GetMapping("/available")
     public ResponseEntity<List<ClassSessionResponse>> listAvailableClasses() {
-        List<ClassSessionResponse> classes = classBookingService.listAvailableClasses();
-        return ResponseEntity.ok(classes);
+        return StaleReads.ok(staleReadCache.get(StaleReadCache.AVAILABLE_CLASSES, classBookingService::listAvailableClasses)
+                .map(ClassBookingService::notStarted));
     }
 
-    // Book a class session by member
+    // Live seat-count changes (Server-Sent Events) instead of polling /available
+    @GetMapping(value = "/available/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSeatAvailability() {
+        return seatAvailabilityPublisher.subscribe();
+    }
+
+    // Book a class session by member; a retry with the same Idempotency-Key gets the first booking back
     @PostMapping("/book")
     public ResponseEntity<ClassBookingResponse> bookClass(@Valid @RequestBody BookClassRequest request,
+                                                          @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
                                                           Authentication authentication) {
         String username = authentication.getName();
-        ClassBookingResponse bookingResponse = classBookingService.bookClassSession(username, request);
-        return ResponseEntity.ok(bookingResponse);
+        IdempotencyService.Result<ClassBookingResponse> result = idempotencyService.execute(username, idempotencyKey,
+                "class_booking", request, ClassBookingResponse.class,
+                () -> classBookingService.bookClassSession(username, request));
+        return ResponseEntity.ok()
+                .header(IdempotencyService.REPLAYED_HEADER, String.valueOf(result.replayed()))
+                .body(result.body());
     }
 
-    // List all bookings for the logged-in member
+    // Bookings of the logged-in member, newest first, one page at a time
     @GetMapping("/bookings")
-    public ResponseEntity<List<ClassBookingResponse>> getBookings(Authentication authentication) {
+    public ResponseEntity<List<ClassBookingResponse>> getBookings(@RequestParam(defaultValue = "0") int page,
+                                                                  @RequestParam(defaultValue = HistoryPaging.DEFAULT_SIZE) int size,
+                                                                  Authentication authentication) {
         String username = authentication.getName();
-        List<ClassBookingResponse> bookings = classBookingService.getBookingsForMember(username);
-        return ResponseEntity.ok(bookings);
+        return HistoryPaging.ok(classBookingService.getBookingsForMember(username, HistoryPaging.pageRequest(page, size)));
     }
 
     // Cancel a booking by booking ID
@@ -55,4 +86,29 @@ public class ClassBookingController {
         classBookingService.cancelBooking(username, bookingId);
         return ResponseEntity.noContent().build();
     }
+
+    // Join the waitlist of a fully booked class session
+    @PostMapping("/{classSessionId}/waitlist")
+    public ResponseEntity<WaitlistPositionResponse> joinWaitlist(@PathVariable Long classSessionId,
+                                                                 Authentication authentication) {
+        String username = authentication.getName();
+        return ResponseEntity.ok(classWaitlistService.joinWaitlist(username, classSessionId));
+    }
+
+    // Current waitlist position for the logged-in member
+    @GetMapping("/{classSessionId}/waitlist")
+    public ResponseEntity<WaitlistPositionResponse> getWaitlistPosition(@PathVariable Long classSessionId,
+                                                                        Authentication authentication) {
+        String username = authentication.getName();
+        return ResponseEntity.ok(classWaitlistService.getPosition(username, classSessionId));
+    }
+
+    // Leave the waitlist
+    @DeleteMapping("/{classSessionId}/waitlist")
+    public ResponseEntity<Void> leaveWaitlist(@PathVariable Long classSessionId,
+                                              Authentication authentication) {
+        String username = authentication.getName();
+        classWaitlistService.leaveWaitlist(username, classSessionId);
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -0,0 +1,31 @@
+package com.gym_management_backend.controllers;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+// Paging for the member history endpoints: the body stays a plain JSON list, X-Has-Next says whether to ask for page + 1
+final class HistoryPaging {
+
+    static final String HAS_NEXT_HEADER = "X-Has-Next";
+    static final String DEFAULT_SIZE = "50";
+    static final int MAX_SIZE = 200;
+
+    private HistoryPaging() {
+    }
+
+    static PageRequest pageRequest(int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("page must not be negative");
+        }
+        return PageRequest.of(page, Math.max(1, Math.min(size, MAX_SIZE)));
+    }
+
+    static <T> ResponseEntity<List<T>> ok(Slice<T> slice) {
+        return ResponseEntity.ok()
+                .header(HAS_NEXT_HEADER, Boolean.toString(slice.hasNext()))
+                .body(slice.getContent());
+    }
+}
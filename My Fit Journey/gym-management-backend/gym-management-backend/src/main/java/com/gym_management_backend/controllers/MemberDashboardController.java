@@ -0,0 +1,28 @@
+package com.gym_management_backend.controllers;
+
+import com.gym_management_backend.dto.MemberDashboardResponse;
+import com.gym_management_backend.services.MemberDashboardService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/member/dashboard")
+@PreAuthorize("hasRole('MEMBER')")
+public class MemberDashboardController {
+
+    private final MemberDashboardService memberDashboardService;
+
+    public MemberDashboardController(MemberDashboardService memberDashboardService) {
+        this.memberDashboardService = memberDashboardService;
+    }
+
+    // Plans, the newest plan and class bookings, and upcoming classes in one round trip; slow sections are left out
+    @GetMapping
+    public ResponseEntity<MemberDashboardResponse> getDashboard(Authentication authentication) {
+        return ResponseEntity.ok(memberDashboardService.load(authentication.getName()));
+    }
+}
@@ -1,5 +1,6 @@
 package com.gym_management_backend.controllers;
 
+import com.gym_management_backend.cache.StaleReadCache;
 import com.gym_management_backend.entities.Plan;
 import com.gym_management_backend.repositories.PlanRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,18 +15,19 @@ import java.util.List;
 public class PlanController {
 
     private final PlanRepository planRepository;
+    private final StaleReadCache staleReadCache;
 
     @Autowired
-    public PlanController(PlanRepository planRepository) {
+    public PlanController(PlanRepository planRepository, StaleReadCache staleReadCache) {
         this.planRepository = planRepository;
+        this.staleReadCache = staleReadCache;
     }
 
-    // Get all active plans - accessible by members and above
+    // Get all active plans - accessible by members and above; still answered (marked stale) while the database is down
     @GetMapping
     @PreAuthorize("hasAnyRole('MEMBER', 'ADMIN', 'TRAINER')")
     public ResponseEntity<List<Plan>> getAllPlans() {
-        List<Plan> plans = planRepository.findAll();
-        return ResponseEntity.ok(plans);
+        return StaleReads.ok(staleReadCache.get(StaleReadCache.PLANS, planRepository::findAll));
     }
 
     // Create a new plan - Admin only
@@ -0,0 +1,50 @@
+package com.gym_management_backend.controllers;
+
+import com.gym_management_backend.cache.StaleReadCache;
+import com.gym_management_backend.dto.ClassSessionResponse;
+import com.gym_management_backend.entities.ClassSession;
+import com.gym_management_backend.entities.User;
+import com.gym_management_backend.services.ClassScheduleService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/schedule")
+@PreAuthorize("hasAnyRole('MEMBER', 'ADMIN', 'TRAINER')")
+public class ScheduleController {
+
+    private static final int MAX_DAYS = 31;
+
+    private final ClassScheduleService classScheduleService;
+    private final StaleReadCache staleReadCache;
+
+    public ScheduleController(ClassScheduleService classScheduleService, StaleReadCache staleReadCache) {
+        this.classScheduleService = classScheduleService;
+        this.staleReadCache = staleReadCache;
+    }
+
+    // Classes of all trainers (or one) from start (default: this week's Monday) for the given number of days;
+    // still answered (marked stale) while the database is down
+    @GetMapping("/week")
+    public ResponseEntity<List<ClassSessionResponse>> getWeek(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam(defaultValue = "7") int days,
+            @RequestParam(required = false) Long trainerId) {
+        if (days < 1 || days > MAX_DAYS) {
+            throw new IllegalArgumentException("days must be between 1 and " + MAX_DAYS);
+        }
+        LocalDate from = start != null ? start
+                : LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        return StaleReads.ok(staleReadCache.get("schedule", from + "/" + days + "/" + trainerId,
+                Set.of(ClassSession.class, User.class),
+                () -> classScheduleService.getWindow(from.atStartOfDay(), days, trainerId)));
+    }
+}
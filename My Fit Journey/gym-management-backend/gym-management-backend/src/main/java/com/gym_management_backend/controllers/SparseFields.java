@@ -0,0 +1,25 @@
+package com.gym_management_backend.controllers;
+
+import com.gym_management_backend.repositories.FieldSet;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// ?fields= on the admin lists (see FieldSet): the rows query returns for the parsed selection, or 400 naming the allowed fields
+final class SparseFields {
+
+    private SparseFields() {
+    }
+
+    static ResponseEntity<?> ok(FieldSet fieldSet, String fields, Function<List<String>, List<Map<String, Object>>> query) {
+        List<String> selected;
+        try {
+            selected = fieldSet.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        return ResponseEntity.ok(query.apply(selected));
+    }
+}
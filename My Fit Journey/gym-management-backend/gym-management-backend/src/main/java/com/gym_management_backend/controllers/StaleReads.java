@@ -0,0 +1,23 @@
+package com.gym_management_backend.controllers;
+
+import com.gym_management_backend.cache.StaleReadCache;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+// Responses served through StaleReadCache: X-Data-Stale says whether the body may be out of date, Age how old it is in seconds
+final class StaleReads {
+
+    static final String STALE_HEADER = "X-Data-Stale";
+
+    private StaleReads() {
+    }
+
+    static <T> ResponseEntity<T> ok(StaleReadCache.Read<T> read) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(STALE_HEADER, Boolean.toString(read.stale()));
+        if (read.stale()) {
+            response.header(HttpHeaders.AGE, Long.toString(read.ageMs() / 1000));
+        }
+        return response.body(read.value());
+    }
+}
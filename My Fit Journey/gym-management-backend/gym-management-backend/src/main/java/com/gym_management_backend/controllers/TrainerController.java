@@ -3,17 +3,26 @@ package com.gym_management_backend.controllers;
 import com.gym_management_backend.dto.ClassBookingResponse;
 import com.gym_management_backend.dto.ClassSessionResponse;
 import com.gym_management_backend.dto.CreateClassRequest;
+import com.gym_management_backend.dto.TrainerClassSummary;
+import com.gym_management_backend.dto.TrainerDashboardResponse;
 import com.gym_management_backend.entities.ClassSession;
 import com.gym_management_backend.entities.User;
 import com.gym_management_backend.repositories.ClassSessionRepository;
 import com.gym_management_backend.repositories.UserRepository;
 import com.gym_management_backend.services.ClassBookingService;
+import com.gym_management_backend.services.ClassScheduleService;
+import com.gym_management_backend.services.ScheduleConflictException;
+import com.gym_management_backend.services.SeatAvailabilityPublisher;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -22,20 +31,30 @@ import java.util.stream.Collectors;
 @PreAuthorize("hasRole('TRAINER')")
 public class TrainerController {
 
+    // Widest dashboard window either way, as for the schedule views
+    private static final int MAX_DAYS = 31;
+
     private final ClassSessionRepository classSessionRepository;
     private final UserRepository userRepository;
     private final ClassBookingService classBookingService;
+    private final SeatAvailabilityPublisher seatAvailabilityPublisher;
+    private final ClassScheduleService classScheduleService;
 
     // Inject ClassBookingService along with repositories
     public TrainerController(ClassSessionRepository classSessionRepository,
                              UserRepository userRepository,
-                             ClassBookingService classBookingService) {
+                             ClassBookingService classBookingService,
+                             SeatAvailabilityPublisher seatAvailabilityPublisher,
+                             ClassScheduleService classScheduleService) {
         this.classSessionRepository = classSessionRepository;
         this.userRepository = userRepository;
         this.classBookingService = classBookingService;
+        this.seatAvailabilityPublisher = seatAvailabilityPublisher;
+        this.classScheduleService = classScheduleService;
     }
 
-    // Create a new class session
+    // Create a new class session; rejected if it overlaps another of the trainer's classes
+    @Transactional
     @PostMapping
     public ResponseEntity<ClassSessionResponse> createClass(@Valid @RequestBody CreateClassRequest request,
                                                            Authentication authentication) {
@@ -48,21 +67,28 @@ public class TrainerController {
                 .className(request.getClassName())
                 .description(request.getDescription())
                 .scheduledAt(request.getScheduledAt())
+                .durationMinutes(request.getDurationMinutes() != null
+                        ? request.getDurationMinutes() : ClassScheduleService.DEFAULT_DURATION_MINUTES)
                 .maxCapacity(request.getMaxCapacity())
                 .build();
 
-        ClassSession saved = classSessionRepository.save(classSession);
+        ClassSession saved = classScheduleService.schedule(classSession);
+        seatAvailabilityPublisher.markChanged(saved.getId());
 
         ClassSessionResponse response = mapToResponse(saved);
         return ResponseEntity.ok(response);
     }
 
+    // A class that overlaps another of the trainer's; thrown out of the transaction, so the change is rolled back
+    @ExceptionHandler(ScheduleConflictException.class)
+    public ResponseEntity<String> onScheduleConflict(ScheduleConflictException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
     // Get all classes managed by the logged-in trainer
+    @Transactional(readOnly = true)
     @GetMapping
     public ResponseEntity<List<ClassSessionResponse>> getMyClasses(Authentication authentication) {
-        System.out.println("ROLEs during /api/trainer/classes: " +
-                org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication().getAuthorities());
-
         String username = authentication.getName();
         User trainer = userRepository.findByUsername(username)
                 .orElseThrow(() -> new IllegalArgumentException("Trainer not found"));
@@ -76,7 +102,33 @@ public class TrainerController {
         return ResponseEntity.ok(responseList);
     }
 
-    // Update a class session by id - only the trainer who owns it can update
+    // Dashboard: recent and upcoming sessions with fill and attendance counts, from one aggregate query
+    @Transactional(readOnly = true)
+    @GetMapping("/dashboard")
+    public ResponseEntity<TrainerDashboardResponse> getDashboard(@RequestParam(defaultValue = "7") int pastDays,
+                                                                 @RequestParam(defaultValue = "30") int upcomingDays,
+                                                                 Authentication authentication) {
+        if (pastDays < 0 || pastDays > MAX_DAYS || upcomingDays < 0 || upcomingDays > MAX_DAYS) {
+            return ResponseEntity.badRequest().build();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<TrainerClassSummary> sessions = classSessionRepository.findTrainerDashboard(
+                authentication.getName(), now.minusDays(pastDays), now.plusDays(upcomingDays));
+
+        TrainerDashboardResponse response = new TrainerDashboardResponse();
+        for (TrainerClassSummary session : sessions) {
+            if (session.getScheduledAt().isAfter(now)) {
+                response.getUpcoming().add(session);
+            } else {
+                response.getRecent().add(session);
+            }
+        }
+        Collections.reverse(response.getRecent());
+        return ResponseEntity.ok(response);
+    }
+
+    // Update a class session by id - only the trainer who owns it can update; a new time must not overlap their other classes
+    @Transactional
     @PutMapping("/{id}")
     public ResponseEntity<ClassSessionResponse> updateClass(@PathVariable Long id,
                                                            @Valid @RequestBody CreateClassRequest request,
@@ -96,15 +148,20 @@ public class TrainerController {
         existingSession.setClassName(request.getClassName());
         existingSession.setDescription(request.getDescription());
         existingSession.setScheduledAt(request.getScheduledAt());
+        if (request.getDurationMinutes() != null) {
+            existingSession.setDurationMinutes(request.getDurationMinutes());
+        }
         existingSession.setMaxCapacity(request.getMaxCapacity());
 
-        ClassSession updatedSession = classSessionRepository.save(existingSession);
+        ClassSession updatedSession = classScheduleService.schedule(existingSession);
+        seatAvailabilityPublisher.markChanged(updatedSession.getId());
 
         ClassSessionResponse response = mapToResponse(updatedSession);
         return ResponseEntity.ok(response);
     }
 
     // Delete a class session by id - only the trainer who owns it can delete
+    @Transactional
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteClass(@PathVariable Long id, Authentication authentication) {
         String username = authentication.getName();
@@ -120,10 +177,12 @@ public class TrainerController {
         }
 
         classSessionRepository.delete(existingSession);
+        seatAvailabilityPublisher.markChanged(id);
         return ResponseEntity.noContent().build();
     }
 
     // Get booked members for a specific class session
+    @Transactional(readOnly = true)
     @GetMapping("/{id}/bookings")
     public ResponseEntity<List<ClassBookingResponse>> getClassBookings(@PathVariable Long id, Authentication authentication) {
         String username = authentication.getName();
@@ -141,6 +200,15 @@ public class TrainerController {
         return ResponseEntity.ok(bookings);
     }
 
+    // Mark a booked member as present or absent (feeds the attendance statistics)
+    @PutMapping("/{id}/bookings/{bookingId}/attendance")
+    public ResponseEntity<ClassBookingResponse> markAttendance(@PathVariable Long id,
+                                                              @PathVariable Long bookingId,
+                                                              @RequestParam boolean present,
+                                                              Authentication authentication) {
+        return ResponseEntity.ok(classBookingService.markAttendance(authentication.getName(), id, bookingId, present));
+    }
+
     // Utility method to convert entity to response DTO
     private ClassSessionResponse mapToResponse(ClassSession classSession) {
         ClassSessionResponse response = new ClassSessionResponse();
@@ -148,6 +216,7 @@ public class TrainerController {
         response.setClassName(classSession.getClassName());
         response.setDescription(classSession.getDescription());
         response.setScheduledAt(classSession.getScheduledAt());
+        response.setDurationMinutes(classSession.getDurationMinutes());
         response.setMaxCapacity(classSession.getMaxCapacity());
         if (classSession.getTrainer() != null) {
             response.setTrainerId(classSession.getTrainer().getId());
@@ -2,6 +2,7 @@ package com.gym_management_backend.controllers;
 
 import com.gym_management_backend.dto.BookPlanRequest;
 import com.gym_management_backend.dto.UserPlanResponse;
+import com.gym_management_backend.services.IdempotencyService;
 import com.gym_management_backend.services.UserPlanService;
 
 import jakarta.validation.Valid;
@@ -16,26 +17,33 @@ import java.util.List;
 public class UserPlanController {
 
     private final UserPlanService userPlanService;
+    private final IdempotencyService idempotencyService;
 
-    public UserPlanController(UserPlanService userPlanService) {
+    public UserPlanController(UserPlanService userPlanService, IdempotencyService idempotencyService) {
         this.userPlanService = userPlanService;
+        this.idempotencyService = idempotencyService;
     }
 
-    // Member books a plan (simulate payment)
+    // Member books a plan (simulate payment); a retry with the same Idempotency-Key gets the first purchase back
     @PostMapping("/book")
     public ResponseEntity<UserPlanResponse> bookPlan(Authentication authentication,
+                                                    @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
                                                     @Valid @RequestBody BookPlanRequest request) {
         String username = authentication.getName();
-        UserPlanResponse response = userPlanService.bookPlan(username, request);
-        return ResponseEntity.ok(response);
+        IdempotencyService.Result<UserPlanResponse> result = idempotencyService.execute(username, idempotencyKey,
+                "plan_booking", request, UserPlanResponse.class, () -> userPlanService.bookPlan(username, request));
+        return ResponseEntity.ok()
+                .header(IdempotencyService.REPLAYED_HEADER, String.valueOf(result.replayed()))
+                .body(result.body());
     }
 
-    // Get all bookings for logged-in member
+    // Plan purchases of the logged-in member, newest first, one page at a time
     @GetMapping
-    public ResponseEntity<List<UserPlanResponse>> listBookings(Authentication authentication) {
+    public ResponseEntity<List<UserPlanResponse>> listBookings(Authentication authentication,
+                                                               @RequestParam(defaultValue = "0") int page,
+                                                               @RequestParam(defaultValue = HistoryPaging.DEFAULT_SIZE) int size) {
         String username = authentication.getName();
-        List<UserPlanResponse> bookings = userPlanService.getBookingsForUser(username);
-        return ResponseEntity.ok(bookings);
+        return HistoryPaging.ok(userPlanService.getBookingsForUser(username, HistoryPaging.pageRequest(page, size)));
     }
 
     // Cancel booking by booking id
@@ -0,0 +1,26 @@
+package com.gym_management_backend.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+// Utilization and attendance of one trainer, over all their classes (className null) or one class type
+@Getter
+@Setter
+public class AttendanceStatsResponse {
+    private Long trainerId;
+    private String className;
+    private long sessions;
+    // Seats offered by sessions with a capacity, and the active bookings in those sessions
+    private long capacity;
+    private long bookedSeats;
+    private long bookings;
+    private long cancellations;
+    // Active bookings of sessions that have ended, and how many of those members were marked present
+    private long completedBookings;
+    private long attended;
+    // Rates are null while their denominator is zero
+    private Double fillRate;
+    private Double attendanceRate;
+    private Double noShowRate;
+    private Double cancellationRate;
+}
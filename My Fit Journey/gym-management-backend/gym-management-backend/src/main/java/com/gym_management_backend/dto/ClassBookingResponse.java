@@ -1,12 +1,17 @@
 package com.gym_management_backend.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
 
+// Field order matches the history projection in ClassBookingRepository
 @Getter
 @Setter
+@NoArgsConstructor
+@AllArgsConstructor
 public class ClassBookingResponse {
     private Long bookingId;
     private Long classSessionId;
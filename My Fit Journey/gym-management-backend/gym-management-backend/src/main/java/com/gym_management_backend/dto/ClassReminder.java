@@ -0,0 +1,18 @@
+package com.gym_management_backend.dto;
+
+import java.time.LocalDateTime;
+
+// One reminder as handed to the ReminderSender: who to tell about which class, and how long before it starts
+public record ClassReminder(long bookingId, String memberName, String memberEmail, String className,
+                            LocalDateTime scheduledAt, long minutesBefore) {
+
+    // Query projection (ClassBookingRepository.findReminders); the service fills in minutesBefore
+    public ClassReminder(long bookingId, String memberName, String memberEmail, String className,
+                         LocalDateTime scheduledAt) {
+        this(bookingId, memberName, memberEmail, className, scheduledAt, 0);
+    }
+
+    public ClassReminder withMinutesBefore(long minutes) {
+        return new ClassReminder(bookingId, memberName, memberEmail, className, scheduledAt, minutes);
+    }
+}
@@ -12,6 +12,7 @@ public class ClassSessionResponse {
     private String className;
     private String description;
     private LocalDateTime scheduledAt;
+    private Integer durationMinutes;
     private Integer maxCapacity;
     private Long trainerId;
     private String trainerName;
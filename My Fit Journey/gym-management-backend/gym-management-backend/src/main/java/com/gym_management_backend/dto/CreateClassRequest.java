@@ -1,6 +1,8 @@
 package com.gym_management_backend.dto;
 
 import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
@@ -21,5 +23,10 @@ public class CreateClassRequest {
     @Future(message = "Scheduled time must be in the future")
     private LocalDateTime scheduledAt;
 
+    // Defaults to 60 minutes when omitted
+    @Min(value = 5, message = "A class lasts at least 5 minutes")
+    @Max(value = 480, message = "A class lasts at most 8 hours")
+    private Integer durationMinutes;
+
     private Integer maxCapacity;
 }
@@ -0,0 +1,28 @@
+package com.gym_management_backend.dto;
+
+import com.gym_management_backend.entities.Plan;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Sections that could not be loaded in time are null and listed in unavailable
+@Getter
+@Setter
+public class MemberDashboardResponse {
+    private List<Plan> plans;
+
+    // Newest plan purchases first
+    private List<UserPlanResponse> planBookings;
+
+    // Newest class bookings first
+    private List<ClassBookingResponse> classBookings;
+
+    // Upcoming classes, soonest first
+    private List<ClassSessionResponse> availableClasses;
+
+    // Section name -> why it is missing (timeout, error, rejected)
+    private Map<String, String> unavailable = new LinkedHashMap<>();
+}
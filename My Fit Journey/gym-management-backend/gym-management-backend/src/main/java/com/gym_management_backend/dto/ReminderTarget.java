@@ -0,0 +1,7 @@
+package com.gym_management_backend.dto;
+
+import java.time.LocalDateTime;
+
+// An active booking of a class that has not started yet: what the reminder wheel schedules from
+public record ReminderTarget(long bookingId, long classSessionId, LocalDateTime scheduledAt) {
+}
@@ -0,0 +1,12 @@
+package com.gym_management_backend.dto;
+
+import java.time.LocalDateTime;
+
+// What the schedule index keeps about one class session (field order matches ClassSessionRepository.findAllScheduleSlots)
+public record ScheduleSlot(long id, long trainerId, String className, String description,
+                           LocalDateTime start, int durationMinutes, Integer maxCapacity) {
+
+    public LocalDateTime end() {
+        return start.plusMinutes(durationMinutes);
+    }
+}
@@ -0,0 +1,45 @@
+package com.gym_management_backend.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Objects;
+
+// Seat count change for one class session, pushed over the availability stream
+@Getter
+@Setter
+@NoArgsConstructor
+public class SeatAvailabilityUpdate {
+    private Long classSessionId;
+    private Integer maxCapacity;
+    private Long bookedSeats;
+
+    // Null when the class has no capacity limit
+    private Long availableSeats;
+
+    // True when the class session was deleted
+    private boolean removed;
+
+    // Used by the constructor expression in ClassSessionRepository
+    public SeatAvailabilityUpdate(Long classSessionId, Integer maxCapacity, Long bookedSeats) {
+        this.classSessionId = classSessionId;
+        this.maxCapacity = maxCapacity;
+        this.bookedSeats = bookedSeats;
+        this.availableSeats = maxCapacity == null ? null : Math.max(0, maxCapacity - bookedSeats);
+    }
+
+    public static SeatAvailabilityUpdate removed(Long classSessionId) {
+        SeatAvailabilityUpdate update = new SeatAvailabilityUpdate();
+        update.setClassSessionId(classSessionId);
+        update.setRemoved(true);
+        return update;
+    }
+
+    public boolean sameSeatsAs(SeatAvailabilityUpdate other) {
+        return other != null
+                && removed == other.removed
+                && Objects.equals(maxCapacity, other.maxCapacity)
+                && Objects.equals(bookedSeats, other.bookedSeats);
+    }
+}
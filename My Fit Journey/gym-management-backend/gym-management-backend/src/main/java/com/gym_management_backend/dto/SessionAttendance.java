@@ -0,0 +1,12 @@
+package com.gym_management_backend.dto;
+
+import java.time.LocalDateTime;
+
+// Booking counts of one class session for the attendance statistics (field order matches ClassSessionRepository.findSessionAttendance)
+public record SessionAttendance(long id, long trainerId, String className, LocalDateTime start, int durationMinutes,
+                                Integer maxCapacity, long activeBookings, long presentCount, long cancelledBookings) {
+
+    public LocalDateTime end() {
+        return start.plusMinutes(durationMinutes);
+    }
+}
@@ -0,0 +1,22 @@
+package com.gym_management_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// One row of the trainer dashboard; field order matches the aggregate query in ClassSessionRepository
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrainerClassSummary {
+    private Long id;
+    private String className;
+    private LocalDateTime scheduledAt;
+    private Integer maxCapacity;
+    private Long activeBookings;
+    private Long presentCount;
+}
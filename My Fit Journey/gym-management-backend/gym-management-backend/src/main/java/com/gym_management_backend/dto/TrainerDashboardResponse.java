@@ -0,0 +1,17 @@
+package com.gym_management_backend.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class TrainerDashboardResponse {
+    // Sessions that have not started yet, soonest first
+    private List<TrainerClassSummary> upcoming = new ArrayList<>();
+
+    // Sessions from the recent past, most recent first
+    private List<TrainerClassSummary> recent = new ArrayList<>();
+}
@@ -0,0 +1,15 @@
+package com.gym_management_backend.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// A trainer's statistics over all classes plus one row per class type (by class name)
+@Getter
+@Setter
+public class TrainerStatsResponse {
+    private AttendanceStatsResponse total;
+    private List<AttendanceStatsResponse> classTypes = new ArrayList<>();
+}
@@ -1,13 +1,18 @@
 package com.gym_management_backend.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+// Field order matches the history projection in UserPlanRepository
 @Getter
 @Setter
+@NoArgsConstructor
+@AllArgsConstructor
 public class UserPlanResponse {
     private Long bookingId;
     private Long planId;
@@ -0,0 +1,17 @@
+package com.gym_management_backend.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class WaitlistPositionResponse {
+    private Long classSessionId;
+
+    // True while the member is queued for a seat
+    private boolean waiting;
+
+    // 1 = next in line; null when not waiting. Members who left the queue ahead
+    // of you are only dropped once the queue reaches them, so this is an upper bound.
+    private Long position;
+}
@@ -0,0 +1,49 @@
+package com.gym_management_backend.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * A booking archived together with its class session. Carries the class name and time
+ * so member history reads one table.
+ */
+@Entity
+@Immutable
+@Table(name = "class_bookings_archive",
+       indexes = {
+           @Index(name = "idx_class_bookings_archive_member_booked", columnList = "member_id, booked_at"),
+           @Index(name = "idx_class_bookings_archive_session", columnList = "class_session_id")
+       })
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedClassBooking {
+
+    @Id
+    private Long id;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    @Column(name = "class_session_id", nullable = false)
+    private Long classSessionId;
+
+    @Column(nullable = false)
+    private String className;
+
+    @Column(nullable = false)
+    private LocalDateTime scheduledAt;
+
+    @Column(name = "booked_at")
+    private LocalDateTime bookedAt;
+
+    private Boolean active;
+
+    private Boolean present;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
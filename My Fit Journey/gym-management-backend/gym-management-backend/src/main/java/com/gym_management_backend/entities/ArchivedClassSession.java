@@ -0,0 +1,47 @@
+package com.gym_management_backend.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * A class session moved out of class_sessions by ArchiveService once it is older than the
+ * archive horizon. Keeps its original id; the trainer is a plain id, so archived rows hold
+ * no foreign keys on the live tables. Written once in JDBC chunks and never updated.
+ */
+@Entity
+@Immutable
+@Table(name = "class_sessions_archive",
+       indexes = {
+           @Index(name = "idx_class_sessions_archive_scheduled", columnList = "scheduled_at"),
+           @Index(name = "idx_class_sessions_archive_trainer", columnList = "trainer_id, scheduled_at")
+       })
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedClassSession {
+
+    @Id
+    private Long id;
+
+    @Column(name = "trainer_id", nullable = false)
+    private Long trainerId;
+
+    @Column(nullable = false)
+    private String className;
+
+    private String description;
+
+    @Column(name = "scheduled_at", nullable = false)
+    private LocalDateTime scheduledAt;
+
+    @Column(nullable = false)
+    private Integer durationMinutes;
+
+    private Integer maxCapacity;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,53 @@
+package com.gym_management_backend.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A plan purchase moved out of user_plans by ArchiveService after the plan expired. The
+ * plan's name and price are copied so history reads one table and the plan itself can
+ * change or go away.
+ */
+@Entity
+@Immutable
+@Table(name = "user_plans_archive",
+       indexes = @Index(name = "idx_user_plans_archive_user_booking", columnList = "user_id, booking_date"))
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedUserPlan {
+
+    @Id
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "plan_id", nullable = false)
+    private Long planId;
+
+    @Column(nullable = false)
+    private String planName;
+
+    @Column(nullable = false)
+    private BigDecimal planPrice;
+
+    @Column(name = "booking_date", nullable = false)
+    private LocalDateTime bookingDate;
+
+    @Column(nullable = false)
+    private Boolean paymentCompleted;
+
+    @Column(length = 100)
+    private String paymentReference;
+
+    @Column(nullable = false)
+    private Boolean active;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,38 @@
+package com.gym_management_backend.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One committed change to a cached entity. Rows are appended in the writing transaction
+ * and tailed by every node; the auto-increment id is the version and the pollers'
+ * high-water mark.
+ */
+@Entity
+@Table(name = "cache_change_log",
+       indexes = @Index(name = "idx_cache_change_log_changed_at", columnList = "changed_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CacheChangeLog {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Simple entity class name: Plan, User, TrainerSalary, ClassSession
+    @Column(nullable = false, length = 40)
+    private String entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    // Epoch millis, used for compaction only
+    @Column(nullable = false)
+    private Long changedAt;
+
+    @Column(nullable = false, length = 40)
+    private String nodeId;
+}
@@ -6,7 +6,12 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "class_bookings")
+@Table(name = "class_bookings",
+       indexes = {
+           @Index(name = "idx_class_bookings_session_active", columnList = "class_session_id, active"),
+           // Member booking history, newest first
+           @Index(name = "idx_class_bookings_member_booked", columnList = "member_id, booked_at")
+       })
 @Getter
 @Setter
 @NoArgsConstructor
@@ -2,12 +2,18 @@ package com.gym_management_backend.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "class_sessions")
+@Table(name = "class_sessions",
+       indexes = {
+           @Index(name = "idx_class_sessions_trainer_time", columnList = "trainer_id, scheduled_at"),
+           // Upcoming classes for members, and the archive job's oldest-first scan
+           @Index(name = "idx_class_sessions_scheduled", columnList = "scheduled_at")
+       })
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class ClassSession {
     @Id
@@ -27,9 +33,19 @@ public class ClassSession {
     @Column(nullable = false)
     private LocalDateTime scheduledAt;
 
+    // Length of the class; together with scheduledAt it decides whether two of a trainer's classes overlap
+    @Column(nullable = false)
+    @ColumnDefault("60")
+    @Builder.Default
+    private Integer durationMinutes = 60;
+
     private Integer maxCapacity;
 
     // Optional: Bi-directional if you want
     @OneToMany(mappedBy = "classSession", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<ClassBooking> bookings = new HashSet<>();
+
+    @OneToMany(mappedBy = "classSession", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Builder.Default
+    private Set<ClassWaitlistEntry> waitlist = new HashSet<>();
 }
@@ -0,0 +1,42 @@
+package com.gym_management_backend.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "class_waitlist_entries",
+       indexes = @Index(name = "idx_waitlist_session_status", columnList = "class_session_id, status"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClassWaitlistEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "member_id", nullable = false)
+    private User member;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "class_session_id", nullable = false)
+    private ClassSession classSession;
+
+    @Column(nullable = false)
+    private LocalDateTime joinedAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    public enum Status {
+        WAITING,   // still queued for a seat
+        PROMOTED,  // moved into a freed seat (a ClassBooking was created)
+        LEFT,      // member withdrew from the waitlist
+        SKIPPED    // passed over at promotion: the member had already booked a seat another way
+    }
+}
@@ -0,0 +1,44 @@
+package com.gym_management_backend.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Response of a completed request sent with an Idempotency-Key. Inserted in the same
+ * transaction as the write it belongs to, so a committed row always means the write
+ * happened; the unique key also stops two nodes from running the same request.
+ */
+@Entity
+@Table(name = "idempotency_keys",
+       uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_keys_user_key",
+                                             columnNames = {"username", "idempotency_key"}),
+       indexes = @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(nullable = false, length = 100)
+    private String idempotencyKey;
+
+    // SHA-256 of the endpoint and request body; a key reused for a different request is rejected
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    // Response body as JSON, filled in once the write has run
+    @Column(length = 4000)
+    private String responseBody;
+
+    // Epoch millis
+    @Column(nullable = false)
+    private Long createdAt;
+}
@@ -0,0 +1,54 @@
+package com.gym_management_backend.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A trainer's pay for one payroll run. Written once by PayrollService in JDBC batches and
+ * never updated; a correction is a new run for the month after the failed one is cleared.
+ */
+@Entity
+@Immutable
+@Table(name = "payslips",
+       uniqueConstraints = @UniqueConstraint(name = "uk_payslips_run_trainer", columnNames = {"payroll_run_id", "trainer_id"}),
+       indexes = @Index(name = "idx_payslips_trainer", columnList = "trainer_id"))
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class Payslip {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "payroll_run_id", nullable = false)
+    private Long payrollRunId;
+
+    @Column(name = "trainer_id", nullable = false)
+    private Long trainerId;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal basePay;
+
+    @Column(nullable = false)
+    private Integer classesTaught;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal classPay;
+
+    @Column(nullable = false)
+    private Integer attendees;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal attendancePay;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal totalPay;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
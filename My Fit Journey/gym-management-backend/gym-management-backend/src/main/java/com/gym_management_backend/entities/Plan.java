@@ -1,13 +1,18 @@
 package com.gym_management_backend.entities;
 
 
+import com.gym_management_backend.config.CacheRegions;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 
 @Entity
 @Table(name = "plans")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PLANS)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -1,7 +1,10 @@
 package com.gym_management_backend.entities;
 
+import com.gym_management_backend.config.CacheRegions;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
@@ -9,6 +12,8 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @Entity
 @Table(name = "trainer_salaries")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.TRAINER_SALARIES)
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class TrainerSalary {
     @Id
@@ -0,0 +1,53 @@
+package com.gym_management_backend.entities;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One set of pay terms for a trainer, valid from effectiveFrom until the next row's
+ * effectiveFrom. Payroll pro-rates the monthly salary across changes within a month
+ * and pays each class at the rates in force on its date.
+ */
+@Entity
+@Table(name = "trainer_salary_history",
+       uniqueConstraints = @UniqueConstraint(name = "uk_trainer_salary_history_trainer_from",
+                                             columnNames = {"trainer_id", "effective_from"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrainerSalaryHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "trainer_id", nullable = false)
+    @JsonIgnore
+    private User trainer;
+
+    // Monthly base salary
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal salary;
+
+    // Paid per class taught; null = none
+    @Column(precision = 10, scale = 2)
+    private BigDecimal perClassRate;
+
+    // Paid per member marked present; null = none
+    @Column(precision = 10, scale = 2)
+    private BigDecimal perAttendeeRate;
+
+    @Column(nullable = false)
+    private LocalDate effectiveFrom;
+
+    @Column(nullable = false)
+    private LocalDateTime recordedAt;
+}
@@ -1,10 +1,16 @@
 package com.gym_management_backend.entities;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.gym_management_backend.config.CacheRegions;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.USERS)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -19,6 +25,8 @@ public class User {
     @Column(unique = true, nullable = false)
     private String username;
 
+    // Accepted on create/update, never written into a response
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @Column(nullable = false)
     private String password;  // stored encoded
 
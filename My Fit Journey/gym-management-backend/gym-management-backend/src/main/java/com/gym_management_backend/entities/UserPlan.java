@@ -5,7 +5,13 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "user_plans")
+@Table(name = "user_plans",
+       indexes = {
+           // Member plan history, newest first
+           @Index(name = "idx_user_plans_user_booking", columnList = "user_id, booking_date"),
+           // The archive job's oldest-first scan for expired plans
+           @Index(name = "idx_user_plans_booking", columnList = "booking_date")
+       })
 @Getter
 @Setter
 @NoArgsConstructor
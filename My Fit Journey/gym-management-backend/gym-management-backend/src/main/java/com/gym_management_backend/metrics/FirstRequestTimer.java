@@ -0,0 +1,62 @@
+package com.gym_management_backend.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Time from JVM start to the first completed request (gym.startup.first.request), the number
+ * a rolling restart actually waits for. Spring Boot's application.ready.time stops at the
+ * end of startup and misses lazily created beans and first-request class loading.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class FirstRequestTimer extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(FirstRequestTimer.class);
+
+    private final MeterRegistry registry;
+    private final AtomicBoolean served = new AtomicBoolean();
+
+    public FirstRequestTimer(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return served.get();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (served.compareAndSet(false, true)) {
+                long uptimeMs = ManagementFactory.getRuntimeMXBean().getUptime();
+                TimeGauge.builder("gym.startup.first.request", () -> uptimeMs, TimeUnit.MILLISECONDS)
+                        .description("Time from JVM start until the first request completed")
+                        .register(registry);
+                log.info("First request ({} {}) served {} ms after JVM start",
+                        request.getMethod(), request.getRequestURI(), uptimeMs);
+            }
+        }
+    }
+}
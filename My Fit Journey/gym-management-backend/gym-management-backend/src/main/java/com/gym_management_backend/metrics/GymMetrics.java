@@ -0,0 +1,63 @@
+package com.gym_management_backend.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Small facade over Micrometer for the hot paths. Every timer is tagged with an
+ * operation and an outcome (booked, full, duplicate, not_found, ...); percentiles
+ * for all "gym.*" meters are configured in application.properties.
+ */
+@Component
+public class GymMetrics {
+
+    private final MeterRegistry registry;
+
+    public GymMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public Timer.Sample startTimer() {
+        return Timer.start(registry);
+    }
+
+    public void stopTimer(Timer.Sample sample, String name, String operation, String outcome) {
+        sample.stop(Timer.builder(name)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(registry));
+    }
+
+    public void increment(String name, String operation, String outcome) {
+        Counter.builder(name)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(registry)
+                .increment();
+    }
+
+    public void record(String name, String operation, String outcome, double amount) {
+        DistributionSummary.builder(name)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(registry)
+                .record(amount);
+    }
+
+    public void recordTime(String name, String operation, String outcome, long nanos) {
+        Timer.builder(name)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public MeterRegistry getRegistry() {
+        return registry;
+    }
+}
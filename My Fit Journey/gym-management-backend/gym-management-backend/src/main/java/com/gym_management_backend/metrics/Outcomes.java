@@ -0,0 +1,34 @@
+package com.gym_management_backend.metrics;
+
+// Outcome tag values shared by the service and auth timers
+public final class Outcomes {
+
+    public static final String SUCCESS = "success";
+    public static final String BOOKED = "booked";
+    public static final String FULL = "full";
+    public static final String DUPLICATE = "duplicate";
+    public static final String PURCHASED = "purchased";
+    public static final String CANCELLED = "cancelled";
+    public static final String CANCELLED_PROMOTED = "cancelled_promoted";
+    public static final String ALREADY_CANCELLED = "already_cancelled";
+    public static final String NOT_FOUND = "not_found";
+    public static final String FORBIDDEN = "forbidden";
+    public static final String INVALID = "invalid";
+    public static final String EXPIRED = "expired";
+    public static final String ERROR = "error";
+    public static final String WITHIN_BUDGET = "within_budget";
+    public static final String OVER_BUDGET = "over_budget";
+    public static final String EVICTED = "evicted";
+    public static final String RESYNC = "resync";
+    public static final String REPLAYED = "replayed";
+    public static final String CONFLICT = "conflict";
+    public static final String DROPPED = "dropped";
+    public static final String TIMEOUT = "timeout";
+    public static final String REJECTED = "rejected";
+    public static final String HIT = "hit";
+    public static final String MISS = "miss";
+    public static final String STALE = "stale";
+
+    private Outcomes() {
+    }
+}
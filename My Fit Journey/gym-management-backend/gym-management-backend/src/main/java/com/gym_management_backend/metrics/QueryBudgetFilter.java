@@ -0,0 +1,104 @@
+package com.gym_management_backend.metrics;
+
+import com.gym_management_backend.config.QueryBudgetProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the SQL issued while serving each request (including the JWT user lookup,
+ * hence the early order) and reports it: response headers in dev, per-endpoint
+ * metrics in production, and a warning naming the repeated query when a request
+ * goes over budget.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    public static final String COUNT_HEADER = "X-Query-Count";
+    public static final String TIME_HEADER = "X-Query-Time-Ms";
+    public static final String REPEATED_HEADER = "X-Query-Max-Repeated";
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    private final QueryBudgetProperties properties;
+    private final GymMetrics metrics;
+
+    public QueryBudgetFilter(QueryBudgetProperties properties, GymMetrics metrics) {
+        this.properties = properties;
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        // Long-lived SSE streams: buffering them for headers would break streaming
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        // Headers must be set before the body is committed, so buffer the body only when they are wanted
+        ContentCachingResponseWrapper buffered = properties.isHeaders() ? new ContentCachingResponseWrapper(response) : null;
+        QueryStats stats = QueryStats.begin();
+        try {
+            filterChain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            QueryStats.end();
+            report(request, stats);
+            if (buffered != null) {
+                buffered.setHeader(COUNT_HEADER, String.valueOf(stats.getStatements()));
+                buffered.setHeader(TIME_HEADER, String.format(Locale.ROOT, "%.3f", stats.getDbTimeNanos() / 1_000_000.0));
+                buffered.setHeader(REPEATED_HEADER, String.valueOf(stats.getMaxRepeated()));
+                buffered.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void report(HttpServletRequest request, QueryStats stats) {
+        String endpoint = request.getMethod() + " " + endpointPattern(request);
+        boolean overBudget = stats.getStatements() > properties.getMaxStatements()
+                || stats.getMaxRepeated() > properties.getMaxRepeated();
+
+        if (properties.isMetrics()) {
+            String outcome = overBudget ? Outcomes.OVER_BUDGET : Outcomes.WITHIN_BUDGET;
+            metrics.record("gym.db.statements", endpoint, outcome, stats.getStatements());
+            metrics.recordTime("gym.db.time", endpoint, outcome, stats.getDbTimeNanos());
+        }
+        if (overBudget) {
+            log.warn("Query budget exceeded by {}: {} statements (budget {}), {} ms in the database; "
+                            + "most repeated ({}x, budget {}): {}",
+                    endpoint, stats.getStatements(), properties.getMaxStatements(),
+                    TimeUnit.NANOSECONDS.toMillis(stats.getDbTimeNanos()),
+                    stats.getMaxRepeated(), properties.getMaxRepeated(), stats.getMostRepeatedShape());
+        }
+    }
+
+    // Route template (/api/member/classes/bookings/{bookingId}) keeps metric tags bounded
+    private String endpointPattern(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "unmatched";
+    }
+}
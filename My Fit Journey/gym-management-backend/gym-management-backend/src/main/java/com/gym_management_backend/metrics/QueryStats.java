@@ -0,0 +1,105 @@
+package com.gym_management_backend.metrics;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SQL statements issued by the current request: how many, how long the database
+ * spent executing them, and how often each distinct statement shape repeated.
+ * Bound to the request thread by QueryBudgetFilter, and carried by propagate() into
+ * the pools a request fans out to (dashboard sections, stale-read loads), so their
+ * statements count too. Hibernate work outside a request (scheduled jobs, startup)
+ * is not tracked.
+ */
+public final class QueryStats {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    // Updated from every thread the request's work runs on
+    private final AtomicInteger statements = new AtomicInteger();
+    private final AtomicLong dbTimeNanos = new AtomicLong();
+    // Hibernate renders bind parameters as '?', so identical SQL text means the same query shape
+    private final Map<String, Integer> shapes = new ConcurrentHashMap<>();
+
+    public static QueryStats begin() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    // Null when the current thread is not serving a tracked request
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * The task, charging its statements to the current request when run on another thread.
+     * A stale-read load shared by several requests is charged to the one that started it;
+     * statements of a task still running after its request has finished are not reported.
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        QueryStats stats = CURRENT.get();
+        if (stats == null) {
+            return task;
+        }
+        return () -> {
+            QueryStats previous = CURRENT.get();
+            CURRENT.set(stats);
+            try {
+                return task.call();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    void onStatement(String sql) {
+        statements.incrementAndGet();
+        shapes.merge(sql, 1, Integer::sum);
+    }
+
+    void onExecuted(long nanos) {
+        dbTimeNanos.addAndGet(nanos);
+    }
+
+    public int getStatements() {
+        return statements.get();
+    }
+
+    public long getDbTimeNanos() {
+        return dbTimeNanos.get();
+    }
+
+    // Times the most repeated statement shape was issued (the N in an N+1)
+    public int getMaxRepeated() {
+        int max = 0;
+        for (int count : shapes.values()) {
+            max = Math.max(max, count);
+        }
+        return max;
+    }
+
+    // The most repeated statement shape, or null if nothing ran
+    public String getMostRepeatedShape() {
+        String shape = null;
+        int max = 0;
+        for (Map.Entry<String, Integer> entry : shapes.entrySet()) {
+            if (entry.getValue() > max) {
+                max = entry.getValue();
+                shape = entry.getKey();
+            }
+        }
+        return shape;
+    }
+}
@@ -0,0 +1,34 @@
+package com.gym_management_backend.metrics;
+
+import org.hibernate.BaseSessionEventListener;
+
+// Adds JDBC execution time to the current request; registered through hibernate.session.events.auto
+public class QueryTimingListener extends BaseSessionEventListener {
+
+    // One listener per session, and a session is used by one thread at a time
+    private long executeStartedAt;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStartedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        QueryStats stats = QueryStats.current();
+        if (stats != null && executeStartedAt != 0) {
+            stats.onExecuted(System.nanoTime() - executeStartedAt);
+        }
+        executeStartedAt = 0;
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        jdbcExecuteStatementStart();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        jdbcExecuteStatementEnd();
+    }
+}
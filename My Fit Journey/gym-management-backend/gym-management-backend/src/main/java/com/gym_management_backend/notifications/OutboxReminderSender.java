@@ -0,0 +1,45 @@
+package com.gym_management_backend.notifications;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gym_management_backend.dto.ClassReminder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Stand-in sender: appends each batch to a local outbox file, one JSON line per reminder, forced to disk once per batch
+public class OutboxReminderSender implements ReminderSender {
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    public OutboxReminderSender(Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void send(List<ClassReminder> reminders) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(reminders.size() * 200);
+        for (ClassReminder reminder : reminders) {
+            bytes.write(objectMapper.writeValueAsBytes(reminder));
+            bytes.write('\n');
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+}
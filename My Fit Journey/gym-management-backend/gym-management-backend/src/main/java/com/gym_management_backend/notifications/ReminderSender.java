@@ -0,0 +1,16 @@
+package com.gym_management_backend.notifications;
+
+import com.gym_management_backend.dto.ClassReminder;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Delivers class reminders, a batch at a time. The default writes them to a local outbox
+ * file (OutboxReminderSender); declare another ReminderSender bean to send mail or push
+ * notifications instead. A failed batch is retried later.
+ */
+public interface ReminderSender {
+
+    void send(List<ClassReminder> reminders) throws IOException;
+}
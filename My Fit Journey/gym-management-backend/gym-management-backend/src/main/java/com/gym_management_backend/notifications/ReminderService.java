@@ -0,0 +1,225 @@
+package com.gym_management_backend.notifications;
+
+import com.gym_management_backend.cache.CacheInvalidationListener;
+import com.gym_management_backend.cache.CommittedWriteDispatcher;
+import com.gym_management_backend.cache.DirtyIds;
+import com.gym_management_backend.config.ReminderProperties;
+import com.gym_management_backend.dto.ClassReminder;
+import com.gym_management_backend.dto.ReminderTarget;
+import com.gym_management_backend.entities.ClassBooking;
+import com.gym_management_backend.entities.ClassSession;
+import com.gym_management_backend.metrics.GymMetrics;
+import com.gym_management_backend.metrics.Outcomes;
+import com.gym_management_backend.repositories.ClassBookingRepository;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Reminds members of the classes they booked (gym.reminders.offsets before the start, by
+ * default 24 hours and 1 hour). Pending reminders live in the in-memory ReminderWheel, built
+ * from class_bookings on startup. Committed booking and class writes on this node (and on
+ * other nodes, through the cache change log) mark the booking or class dirty; the next tick
+ * reschedules or cancels their reminders, so nothing polls for due reminders. Due reminders
+ * are sent through the ReminderSender in batches. With several nodes each one only keeps the
+ * bookings it owns (gym.reminders.node-count / node-index), so every reminder is sent once.
+ */
+@Service
+public class ReminderService implements CacheInvalidationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ReminderService.class);
+
+    private static final String TIMER = "gym.reminders";
+    private static final String SESSION_TYPE = ClassSession.class.getSimpleName();
+    private static final String BOOKING_TYPE = ClassBooking.class.getSimpleName();
+    private static final int LOOKUP_BATCH = 500;
+
+    private final ClassBookingRepository classBookingRepository;
+    private final ReminderSender sender;
+    private final ReminderProperties properties;
+    private final GymMetrics metrics;
+    private final ReminderWheel wheel;
+    private final DirtyIds dirtyBookings = new DirtyIds();
+    private final DirtyIds dirtySessions = new DirtyIds();
+    // One tick or rebuild at a time, so a lookup never overwrites a newer one
+    private final Object updateLock = new Object();
+
+    public ReminderService(ClassBookingRepository classBookingRepository,
+                           ReminderSender sender,
+                           ReminderProperties properties,
+                           GymMetrics metrics,
+                           CommittedWriteDispatcher committedWrites) {
+        if (properties.getNodeCount() < 1 || properties.getNodeIndex() < 0
+                || properties.getNodeIndex() >= properties.getNodeCount()) {
+            throw new IllegalStateException("gym.reminders.node-index must be between 0 and node-count - 1, was "
+                    + properties.getNodeIndex() + " of " + properties.getNodeCount());
+        }
+        this.classBookingRepository = classBookingRepository;
+        this.sender = sender;
+        this.properties = properties;
+        this.metrics = metrics;
+        this.wheel = new ReminderWheel(properties.getTickMs(), properties.getWheelSize(), System.currentTimeMillis());
+        // Marks every committed booking or class write on this node, whichever code path made it
+        if (properties.isEnabled()) {
+            committedWrites.subscribe(Set.of(ClassBooking.class, ClassSession.class), (entity, id, deleted) -> {
+                if (entity instanceof ClassBooking) {
+                    dirtyBookings.add((Long) id);
+                } else {
+                    dirtySessions.add((Long) id);
+                }
+            });
+        }
+    }
+
+    // Schedules the reminders of every active booking of a class that has not started yet
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        synchronized (updateLock) {
+            Timer.Sample sample = metrics.startTimer();
+            wheel.clear();
+            long now = System.currentTimeMillis();
+            for (ReminderTarget target : classBookingRepository.findAllReminderTargets(LocalDateTime.now())) {
+                schedule(target, now);
+            }
+            metrics.stopTimer(sample, TIMER, "rebuild", Outcomes.SUCCESS);
+            log.info("Scheduled {} class reminders", wheel.size());
+        }
+    }
+
+    // Applies the bookings and classes changed since the last tick, then sends what came due
+    @Scheduled(fixedDelayString = "${gym.reminders.tick-ms:1000}")
+    public void tick() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        synchronized (updateLock) {
+            applyChanges();
+            List<ReminderWheel.Reminder> due = wheel.advance(System.currentTimeMillis());
+            for (int i = 0; i < due.size(); i += properties.getBatchSize()) {
+                send(due.subList(i, Math.min(due.size(), i + properties.getBatchSize())));
+            }
+        }
+    }
+
+    // Reminders waiting in the wheel
+    public int pending() {
+        return wheel.size();
+    }
+
+    @Override
+    public void invalidate(String entityType, long entityId) {
+        if (SESSION_TYPE.equals(entityType)) {
+            dirtySessions.add(entityId);
+        } else if (BOOKING_TYPE.equals(entityType)) {
+            dirtyBookings.add(entityId);
+        }
+    }
+
+    @Override
+    public void evictAll() {
+        rebuild();
+    }
+
+    // Ids whose lookup fails go back to their dirty set and are tried again on the next tick
+    private void applyChanges() {
+        if (dirtyBookings.isEmpty() && dirtySessions.isEmpty()) {
+            return;
+        }
+        LocalDateTime nowTime = LocalDateTime.now();
+        long now = System.currentTimeMillis();
+        List<Long> bookings = dirtyBookings.drain();
+        try {
+            applyBookingChanges(bookings, nowTime, now);
+        } catch (RuntimeException e) {
+            dirtyBookings.addAll(bookings);
+            log.warn("Could not reschedule the reminders of {} bookings, retrying on the next tick", bookings.size(), e);
+        }
+        List<Long> sessions = dirtySessions.drain();
+        try {
+            applySessionChanges(sessions, nowTime, now);
+        } catch (RuntimeException e) {
+            dirtySessions.addAll(sessions);
+            log.warn("Could not reschedule the reminders of {} classes, retrying on the next tick", sessions.size(), e);
+        }
+    }
+
+    // A booking that is gone, cancelled or whose class has started gets no more reminders
+    private void applyBookingChanges(List<Long> bookingIds, LocalDateTime nowTime, long now) {
+        for (List<Long> batch : DirtyIds.batches(bookingIds, LOOKUP_BATCH)) {
+            Set<Long> cancelled = new HashSet<>(batch);
+            for (ReminderTarget target : classBookingRepository.findReminderTargets(batch, nowTime)) {
+                cancelled.remove(target.bookingId());
+                schedule(target, now);
+            }
+            cancelled.forEach(wheel::cancelBooking);
+        }
+    }
+
+    // A moved class moves its reminders; a deleted one cancels them
+    private void applySessionChanges(List<Long> sessionIds, LocalDateTime nowTime, long now) {
+        for (List<Long> batch : DirtyIds.batches(sessionIds, LOOKUP_BATCH)) {
+            Set<Long> cancelled = new HashSet<>();
+            batch.forEach(sessionId -> cancelled.addAll(wheel.bookingsOf(sessionId)));
+            for (ReminderTarget target : classBookingRepository.findReminderTargetsBySession(batch, nowTime)) {
+                cancelled.remove(target.bookingId());
+                schedule(target, now);
+            }
+            cancelled.forEach(wheel::cancelBooking);
+        }
+    }
+
+    // Bookings owned by another node are left to it
+    private void schedule(ReminderTarget target, long now) {
+        if (Math.floorMod(target.bookingId(), properties.getNodeCount()) != properties.getNodeIndex()) {
+            return;
+        }
+        wheel.schedule(target.bookingId(), target.classSessionId(), target.scheduledAt(), properties.getOffsets(), now);
+    }
+
+    // Recipients are looked up when sending, so a cancellation not yet applied still stops the reminder.
+    // The wheel no longer holds these reminders: if the lookup or the send fails they are put back for a retry
+    private void send(List<ReminderWheel.Reminder> due) {
+        Timer.Sample sample = metrics.startTimer();
+        try {
+            Map<Long, ClassReminder> recipients = new HashMap<>();
+            for (ClassReminder reminder : classBookingRepository.findReminders(
+                    due.stream().map(ReminderWheel.Reminder::bookingId).distinct().toList())) {
+                recipients.put(reminder.bookingId(), reminder);
+            }
+            List<ClassReminder> batch = new ArrayList<>(due.size());
+            for (ReminderWheel.Reminder reminder : due) {
+                ClassReminder recipient = recipients.get(reminder.bookingId());
+                // A class moved since the reminder was scheduled has a new one queued for its new time
+                if (recipient != null && recipient.scheduledAt().equals(reminder.scheduledAt())) {
+                    batch.add(recipient.withMinutesBefore(reminder.before().toMinutes()));
+                }
+            }
+            if (batch.isEmpty()) {
+                metrics.stopTimer(sample, TIMER, "send", Outcomes.CANCELLED);
+                return;
+            }
+            sender.send(batch);
+            metrics.record("gym.reminders.sent", "send", Outcomes.SUCCESS, batch.size());
+            metrics.stopTimer(sample, TIMER, "send", Outcomes.SUCCESS);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not send {} class reminders, retrying in {} ms", due.size(), properties.getRetryMs(), e);
+            long retryAt = System.currentTimeMillis() + properties.getRetryMs();
+            // Cancelled bookings among them are dropped by the lookup of the retry
+            due.stream()
+                    .filter(reminder -> reminder.scheduledAt().isAfter(LocalDateTime.now()))
+                    .forEach(reminder -> wheel.add(reminder, retryAt));
+            metrics.stopTimer(sample, TIMER, "send", Outcomes.ERROR);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.gym_management_backend.notifications;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Pending class reminders in a hashed timing wheel: a power-of-two ring of slots, each a
+ * doubly linked list of reminders whose due tick maps to it. Scheduling and cancelling are
+ * O(1) (a list insert or unlink, found through the booking's entries); advancing visits
+ * only the slots of the ticks that passed, and skips entries due in a later revolution.
+ */
+public class ReminderWheel {
+
+    // One reminder of one booking; before is how long before the class it is due
+    public record Reminder(long bookingId, long classSessionId, LocalDateTime scheduledAt, Duration before) {
+    }
+
+    private static final class Entry {
+        final Reminder reminder;
+        final long dueTick;
+        final int slot;
+        Entry prev;
+        Entry next;
+
+        Entry(Reminder reminder, long dueTick, int slot) {
+            this.reminder = reminder;
+            this.dueTick = dueTick;
+            this.slot = slot;
+        }
+    }
+
+    private final long tickMs;
+    private final Entry[] slots;
+    private final int mask;
+    private long currentTick;
+    private int size;
+    private final Map<Long, List<Entry>> byBooking = new HashMap<>();
+    private final Map<Long, Set<Long>> bookingsBySession = new HashMap<>();
+
+    public ReminderWheel(long tickMs, int wheelSize, long nowMillis) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheel size must be a power of two");
+        }
+        this.tickMs = tickMs;
+        this.slots = new Entry[wheelSize];
+        this.mask = wheelSize - 1;
+        this.currentTick = nowMillis / tickMs;
+    }
+
+    // Replaces the booking's reminders with one per offset that is still ahead of now
+    public synchronized void schedule(long bookingId, long classSessionId, LocalDateTime scheduledAt,
+                                      List<Duration> offsets, long nowMillis) {
+        cancelBooking(bookingId);
+        for (Duration before : offsets) {
+            long dueMillis = toMillis(scheduledAt.minus(before));
+            if (dueMillis > nowMillis) {
+                add(new Reminder(bookingId, classSessionId, scheduledAt, before), dueMillis);
+            }
+        }
+    }
+
+    // Puts a reminder back, e.g. to retry one that could not be sent
+    public synchronized void add(Reminder reminder, long dueMillis) {
+        // Rounded up, and never into a tick that has already been processed
+        long dueTick = Math.max((dueMillis + tickMs - 1) / tickMs, currentTick + 1);
+        int slot = (int) (dueTick & mask);
+        Entry entry = new Entry(reminder, dueTick, slot);
+        entry.next = slots[slot];
+        if (entry.next != null) {
+            entry.next.prev = entry;
+        }
+        slots[slot] = entry;
+        byBooking.computeIfAbsent(reminder.bookingId(), id -> new ArrayList<>(2)).add(entry);
+        bookingsBySession.computeIfAbsent(reminder.classSessionId(), id -> new HashSet<>()).add(reminder.bookingId());
+        size++;
+    }
+
+    public synchronized void cancelBooking(long bookingId) {
+        List<Entry> entries = byBooking.remove(bookingId);
+        if (entries == null) {
+            return;
+        }
+        entries.forEach(this::unlink);
+        forgetSession(entries.get(0).reminder.classSessionId(), bookingId);
+    }
+
+    // Bookings of the class that have reminders pending
+    public synchronized Set<Long> bookingsOf(long classSessionId) {
+        return new HashSet<>(bookingsBySession.getOrDefault(classSessionId, Set.of()));
+    }
+
+    /**
+     * Moves the wheel to now and returns the reminders that came due, removing them. After a
+     * pause longer than a revolution each slot is still visited only once.
+     */
+    public synchronized List<Reminder> advance(long nowMillis) {
+        long nowTick = nowMillis / tickMs;
+        List<Reminder> due = new ArrayList<>();
+        long steps = Math.min(nowTick - currentTick, slots.length);
+        for (long tick = currentTick + 1; tick <= currentTick + steps; tick++) {
+            Entry entry = slots[(int) (tick & mask)];
+            while (entry != null) {
+                Entry next = entry.next;
+                if (entry.dueTick <= nowTick) {
+                    unlink(entry);
+                    Reminder reminder = entry.reminder;
+                    List<Entry> entries = byBooking.get(reminder.bookingId());
+                    entries.remove(entry);
+                    if (entries.isEmpty()) {
+                        byBooking.remove(reminder.bookingId());
+                        forgetSession(reminder.classSessionId(), reminder.bookingId());
+                    }
+                    due.add(reminder);
+                }
+                entry = next;
+            }
+        }
+        currentTick = Math.max(currentTick, nowTick);
+        return due;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(slots, null);
+        byBooking.clear();
+        bookingsBySession.clear();
+        size = 0;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void unlink(Entry entry) {
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            slots[entry.slot] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+        size--;
+    }
+
+    private void forgetSession(long classSessionId, long bookingId) {
+        Set<Long> bookings = bookingsBySession.get(classSessionId);
+        if (bookings != null && bookings.remove(bookingId) && bookings.isEmpty()) {
+            bookingsBySession.remove(classSessionId);
+        }
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,29 @@
+package com.gym_management_backend.repositories;
+
+import com.gym_management_backend.dto.ClassBookingResponse;
+import com.gym_management_backend.entities.ArchivedClassBooking;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ArchivedClassBookingRepository extends JpaRepository<ArchivedClassBooking, Long> {
+
+    // Archived part of a member's booking history, same rows and order as ClassBookingRepository.findHistoryByMemberUsername
+    @Query("select new com.gym_management_backend.dto.ClassBookingResponse(" +
+           "b.id, b.classSessionId, b.className, b.scheduledAt, b.active, b.bookedAt, m.fullName, b.present) " +
+           "from ArchivedClassBooking b join User m on m.id = b.memberId " +
+           "where m.username = :username " +
+           "order by b.bookedAt desc, b.id desc")
+    List<ClassBookingResponse> findHistoryByMemberUsername(String username, Pageable pageable);
+
+    // Archived bookings that sort before (are newer than) the given history row
+    @Query("select new com.gym_management_backend.dto.ClassBookingResponse(" +
+           "b.id, b.classSessionId, b.className, b.scheduledAt, b.active, b.bookedAt, m.fullName, b.present) " +
+           "from ArchivedClassBooking b join User m on m.id = b.memberId " +
+           "where m.username = :username and (b.bookedAt > :bookedAt or (b.bookedAt = :bookedAt and b.id > :id)) " +
+           "order by b.bookedAt desc, b.id desc")
+    List<ClassBookingResponse> findHistoryNewerThan(String username, LocalDateTime bookedAt, Long id, Pageable pageable);
+}
@@ -0,0 +1,46 @@
+package com.gym_management_backend.repositories;
+
+import com.gym_management_backend.dto.ScheduleSlot;
+import com.gym_management_backend.dto.SessionAttendance;
+import com.gym_management_backend.entities.ArchivedClassSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ArchivedClassSessionRepository extends JpaRepository<ArchivedClassSession, Long> {
+
+    // Archived sessions starting in [from, to), all trainers or one (week views of older ranges)
+    @Query("select new com.gym_management_backend.dto.ScheduleSlot(" +
+           "s.id, s.trainerId, s.className, s.description, s.scheduledAt, s.durationMinutes, s.maxCapacity) " +
+           "from ArchivedClassSession s " +
+           "where s.scheduledAt >= :from and s.scheduledAt < :to and (:trainerId is null or s.trainerId = :trainerId) " +
+           "order by s.scheduledAt, s.id")
+    List<ScheduleSlot> findScheduleSlots(LocalDateTime from, LocalDateTime to, Long trainerId);
+
+    // Same counts as ClassSessionRepository.findAllSessionAttendance, for the archived sessions. On the primary
+    // like those: a session the archive job just moved must not be missing from both tables
+    @Transactional
+    @Query("select new com.gym_management_backend.dto.SessionAttendance(" +
+           "s.id, s.trainerId, s.className, s.scheduledAt, s.durationMinutes, s.maxCapacity, " +
+           "coalesce(sum(case when b.active = true then 1 else 0 end), 0), " +
+           "coalesce(sum(case when b.active = true and b.present = true then 1 else 0 end), 0), " +
+           "coalesce(sum(case when b.active = false then 1 else 0 end), 0)) " +
+           "from ArchivedClassSession s left join ArchivedClassBooking b on b.classSessionId = s.id " +
+           "group by s.id, s.trainerId, s.className, s.scheduledAt, s.durationMinutes, s.maxCapacity")
+    List<SessionAttendance> findAllSessionAttendance();
+
+    @Transactional
+    @Query("select new com.gym_management_backend.dto.SessionAttendance(" +
+           "s.id, s.trainerId, s.className, s.scheduledAt, s.durationMinutes, s.maxCapacity, " +
+           "coalesce(sum(case when b.active = true then 1 else 0 end), 0), " +
+           "coalesce(sum(case when b.active = true and b.present = true then 1 else 0 end), 0), " +
+           "coalesce(sum(case when b.active = false then 1 else 0 end), 0)) " +
+           "from ArchivedClassSession s left join ArchivedClassBooking b on b.classSessionId = s.id " +
+           "where s.id in :ids " +
+           "group by s.id, s.trainerId, s.className, s.scheduledAt, s.durationMinutes, s.maxCapacity")
+    List<SessionAttendance> findSessionAttendance(Collection<Long> ids);
+}
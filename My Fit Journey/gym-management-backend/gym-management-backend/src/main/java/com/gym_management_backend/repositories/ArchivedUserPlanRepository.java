@@ -0,0 +1,55 @@
+package com.gym_management_backend.repositories;
+
+import com.gym_management_backend.dto.UserPlanResponse;
+import com.gym_management_backend.entities.ArchivedUserPlan;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ArchivedUserPlanRepository extends JpaRepository<ArchivedUserPlan, Long> {
+
+    // Same fields as UserPlanRepository.FIELDS, in the order of findAllResponses
+    FieldSet FIELDS = FieldSet.builder("ArchivedUserPlan up", "up.bookingDate desc, up.id desc")
+            .field("bookingId", "up.id")
+            .field("planId", "up.planId")
+            .field("planName", "up.planName")
+            .field("bookingDate", "up.bookingDate")
+            .field("paymentCompleted", "up.paymentCompleted")
+            .field("paymentReference", "up.paymentReference")
+            .field("active", "up.active")
+            .field("memberName", "u.fullName")
+            .field("memberEmail", "u.email")
+            .field("planPrice", "up.planPrice")
+            .join("u", "left join User u on u.id = up.userId")
+            .build();
+
+
+    // Archived part of a member's plan history, same rows and order as UserPlanRepository.findHistoryByUsername
+    @Query("select new com.gym_management_backend.dto.UserPlanResponse(" +
+           "up.id, up.planId, up.planName, up.bookingDate, up.paymentCompleted, up.paymentReference, up.active, " +
+           "u.fullName, u.email, up.planPrice) " +
+           "from ArchivedUserPlan up join User u on u.id = up.userId " +
+           "where u.username = :username " +
+           "order by up.bookingDate desc, up.id desc")
+    List<UserPlanResponse> findHistoryByUsername(String username, Pageable pageable);
+
+    // Archived purchases that sort before (are newer than) the given history row
+    @Query("select new com.gym_management_backend.dto.UserPlanResponse(" +
+           "up.id, up.planId, up.planName, up.bookingDate, up.paymentCompleted, up.paymentReference, up.active, " +
+           "u.fullName, u.email, up.planPrice) " +
+           "from ArchivedUserPlan up join User u on u.id = up.userId " +
+           "where u.username = :username and (up.bookingDate > :bookingDate or (up.bookingDate = :bookingDate and up.id > :id)) " +
+           "order by up.bookingDate desc, up.id desc")
+    List<UserPlanResponse> findHistoryNewerThan(String username, LocalDateTime bookingDate, Long id, Pageable pageable);
+
+    // Admin listing of archived purchases, newest first
+    @Query("select new com.gym_management_backend.dto.UserPlanResponse(" +
+           "up.id, up.planId, up.planName, up.bookingDate, up.paymentCompleted, up.paymentReference, up.active, " +
+           "u.fullName, u.email, up.planPrice) " +
+           "from ArchivedUserPlan up left join User u on u.id = up.userId " +
+           "order by up.bookingDate desc, up.id desc")
+    List<UserPlanResponse> findAllResponses();
+}
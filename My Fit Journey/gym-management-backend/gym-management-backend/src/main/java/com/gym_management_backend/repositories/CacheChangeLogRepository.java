@@ -0,0 +1,33 @@
+package com.gym_management_backend.repositories;
+
+import com.gym_management_backend.entities.CacheChangeLog;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CacheChangeLogRepository extends JpaRepository<CacheChangeLog, Long> {
+
+    // The poller's reads are read-write transactions so they go to the primary: a lagging
+    // replica would delay invalidations past the poll interval
+
+    // Next batch after the high-water mark (primary key range scan)
+    @Transactional
+    List<CacheChangeLog> findTop500ByIdGreaterThanOrderByIdAsc(Long id);
+
+    // Ids skipped earlier because their transaction had not committed yet
+    @Transactional
+    List<CacheChangeLog> findByIdIn(Collection<Long> ids);
+
+    @Transactional
+    @Query("select coalesce(max(c.id), 0) from CacheChangeLog c")
+    long findMaxId();
+
+    @Modifying
+    @Transactional
+    @Query("delete from CacheChangeLog c where c.changedAt < :cutoff")
+    int deleteOlderThan(long cutoff);
+}
@@ -1,18 +1,65 @@
 package com.gym_management_backend.repositories;
 
+import com.gym_management_backend.dto.ClassBookingResponse;
+import com.gym_management_backend.dto.ClassReminder;
+import com.gym_management_backend.dto.ReminderTarget;
 import com.gym_management_backend.entities.ClassBooking;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ClassBookingRepository extends JpaRepository<ClassBooking, Long> {
 
-    // Find all bookings for a given member
-    List<ClassBooking> findByMemberId(Long memberId);
+    // Member booking history, newest first: response rows straight from one join, no entities loaded
+    @Query("select new com.gym_management_backend.dto.ClassBookingResponse(" +
+           "b.id, cs.id, cs.className, cs.scheduledAt, b.active, b.bookedAt, m.fullName, b.present) " +
+           "from ClassBooking b join b.classSession cs join b.member m " +
+           "where m.username = :username " +
+           "order by b.bookedAt desc, b.id desc")
+    Slice<ClassBookingResponse> findHistoryByMemberUsername(String username, Pageable pageable);
 
-    // Find all bookings for a specific class session
+    // Find all bookings for a specific class session, with the session and member the response needs
+    @EntityGraph(attributePaths = {"classSession", "member"})
     List<ClassBooking> findByClassSessionId(Long classSessionId);
     
     long countByClassSessionIdAndActiveTrue(Long classSessionId);
 
+    boolean existsByClassSessionIdAndMemberIdAndActiveTrue(Long classSessionId, Long memberId);
+
+    // Sessions of bookings changed on another node (attendance statistics); on the primary like the counts themselves
+    @Transactional
+    @Query("select distinct b.classSession.id from ClassBooking b where b.id in :ids")
+    List<Long> findClassSessionIds(Collection<Long> ids);
+
+    // Class reminders: active bookings of classes starting after now, all of them (startup) or by booking or class.
+    // On the primary, since they follow writes just committed
+    @Transactional
+    @Query("select new com.gym_management_backend.dto.ReminderTarget(b.id, cs.id, cs.scheduledAt) " +
+           "from ClassBooking b join b.classSession cs where b.active = true and cs.scheduledAt > :now")
+    List<ReminderTarget> findAllReminderTargets(LocalDateTime now);
+
+    @Transactional
+    @Query("select new com.gym_management_backend.dto.ReminderTarget(b.id, cs.id, cs.scheduledAt) " +
+           "from ClassBooking b join b.classSession cs " +
+           "where b.id in :ids and b.active = true and cs.scheduledAt > :now")
+    List<ReminderTarget> findReminderTargets(Collection<Long> ids, LocalDateTime now);
+
+    @Transactional
+    @Query("select new com.gym_management_backend.dto.ReminderTarget(b.id, cs.id, cs.scheduledAt) " +
+           "from ClassBooking b join b.classSession cs " +
+           "where cs.id in :classSessionIds and b.active = true and cs.scheduledAt > :now")
+    List<ReminderTarget> findReminderTargetsBySession(Collection<Long> classSessionIds, LocalDateTime now);
+
+    // Who to remind about what, for the active ones among the given bookings
+    @Transactional
+    @Query("select new com.gym_management_backend.dto.ClassReminder(b.id, m.fullName, m.email, cs.className, cs.scheduledAt) " +
+           "from ClassBooking b join b.classSession cs join b.member m where b.id in :ids and b.active = true")
+    List<ClassReminder> findReminders(Collection<Long> ids);
 }
@@ -1,10 +1,97 @@
 package com.gym_management_backend.repositories;
 
+import com.gym_management_backend.dto.ScheduleSlot;
+import com.gym_management_backend.dto.SeatAvailabilityUpdate;
+import com.gym_management_backend.dto.SessionAttendance;
+import com.gym_management_backend.dto.TrainerClassSummary;
 import com.gym_management_backend.entities.ClassSession;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ClassSessionRepository extends JpaRepository<ClassSession, Long> {
     List<ClassSession> findByTrainerId(Long trainerId);
-}
 
+    // Every session projected for the schedule index rebuild, without loading trainers
+    @Query("select new com.gym_management_backend.dto.ScheduleSlot(" +
+           "cs.id, cs.trainer.id, cs.className, cs.description, cs.scheduledAt, cs.durationMinutes, cs.maxCapacity) " +
+           "from ClassSession cs")
+    List<ScheduleSlot> findAllScheduleSlots();
+
+    @Query("select new com.gym_management_backend.dto.ScheduleSlot(" +
+           "cs.id, cs.trainer.id, cs.className, cs.description, cs.scheduledAt, cs.durationMinutes, cs.maxCapacity) " +
+           "from ClassSession cs where cs.id = :id")
+    Optional<ScheduleSlot> findScheduleSlotById(Long id);
+
+    // Oldest sessions that started before the cutoff, one archive chunk at a time
+    @Query("select cs.id from ClassSession cs where cs.scheduledAt < :cutoff order by cs.scheduledAt, cs.id")
+    List<Long> findIdsScheduledBefore(LocalDateTime cutoff, Pageable pageable);
+
+    // Upcoming sessions with their trainer in the same select (member class browser)
+    @EntityGraph(attributePaths = "trainer")
+    List<ClassSession> findByScheduledAtAfterOrderByScheduledAtAsc(LocalDateTime after);
+
+    // Row lock on the session so concurrent bookings of one class run their capacity check one at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select cs from ClassSession cs where cs.id = :id")
+    Optional<ClassSession> findByIdForUpdate(Long id);
+
+    // A trainer's classes starting in [from, to), for the overlap check of a new or moved class. A locking read,
+    // so it sees classes committed since the transaction's first read (idx_class_sessions_trainer_time)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select cs from ClassSession cs where cs.trainer.id = :trainerId " +
+           "and cs.scheduledAt >= :from and cs.scheduledAt < :to")
+    List<ClassSession> findByTrainerStartingBetweenForUpdate(Long trainerId, LocalDateTime from, LocalDateTime to);
+
+    // Trainer dashboard: per-session booking and attendance counts in a single grouped query
+    @Query("select new com.gym_management_backend.dto.TrainerClassSummary(" +
+           "cs.id, cs.className, cs.scheduledAt, cs.maxCapacity, " +
+           "coalesce(sum(case when b.active = true then 1 else 0 end), 0), " +
+           "coalesce(sum(case when b.active = true and b.present = true then 1 else 0 end), 0)) " +
+           "from ClassSession cs left join cs.bookings b " +
+           "where cs.trainer.username = :username and cs.scheduledAt >= :from and cs.scheduledAt < :to " +
+           "group by cs.id, cs.className, cs.scheduledAt, cs.maxCapacity " +
+           "order by cs.scheduledAt asc")
+    List<TrainerClassSummary> findTrainerDashboard(String username, LocalDateTime from, LocalDateTime to);
+
+    // Current seat counts for a batch of sessions (used by the availability stream)
+    @Query("select new com.gym_management_backend.dto.SeatAvailabilityUpdate(" +
+           "cs.id, cs.maxCapacity, coalesce(sum(case when b.active = true then 1 else 0 end), 0)) " +
+           "from ClassSession cs left join cs.bookings b " +
+           "where cs.id in :ids " +
+           "group by cs.id, cs.maxCapacity")
+    List<SeatAvailabilityUpdate> findSeatAvailability(Collection<Long> ids);
+
+    // Booking counts per session for the attendance statistics. Read-write so they run on the primary:
+    // they follow the writes they count by a second, which a lagging replica may not have yet
+    @Transactional
+    @Query("select new com.gym_management_backend.dto.SessionAttendance(" +
+           "cs.id, cs.trainer.id, cs.className, cs.scheduledAt, cs.durationMinutes, cs.maxCapacity, " +
+           "coalesce(sum(case when b.active = true then 1 else 0 end), 0), " +
+           "coalesce(sum(case when b.active = true and b.present = true then 1 else 0 end), 0), " +
+           "coalesce(sum(case when b.active = false then 1 else 0 end), 0)) " +
+           "from ClassSession cs left join cs.bookings b " +
+           "where cs.id in :ids " +
+           "group by cs.id, cs.trainer.id, cs.className, cs.scheduledAt, cs.durationMinutes, cs.maxCapacity")
+    List<SessionAttendance> findSessionAttendance(Collection<Long> ids);
+
+    // Every session, for the statistics rebuild
+    @Transactional
+    @Query("select new com.gym_management_backend.dto.SessionAttendance(" +
+           "cs.id, cs.trainer.id, cs.className, cs.scheduledAt, cs.durationMinutes, cs.maxCapacity, " +
+           "coalesce(sum(case when b.active = true then 1 else 0 end), 0), " +
+           "coalesce(sum(case when b.active = true and b.present = true then 1 else 0 end), 0), " +
+           "coalesce(sum(case when b.active = false then 1 else 0 end), 0)) " +
+           "from ClassSession cs left join cs.bookings b " +
+           "group by cs.id, cs.trainer.id, cs.className, cs.scheduledAt, cs.durationMinutes, cs.maxCapacity")
+    List<SessionAttendance> findAllSessionAttendance();
+}
@@ -0,0 +1,34 @@
+package com.gym_management_backend.repositories;
+
+import com.gym_management_backend.entities.ClassWaitlistEntry;
+import com.gym_management_backend.entities.ClassWaitlistEntry.Status;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ClassWaitlistRepository extends JpaRepository<ClassWaitlistEntry, Long> {
+
+    // All waiting entries with their member, in FIFO order (used to rebuild the in-memory queues)
+    @Query("select w from ClassWaitlistEntry w join fetch w.member " +
+           "where w.status = :status order by w.id asc")
+    List<ClassWaitlistEntry> findAllByStatusInOrder(Status status);
+
+    // Waiting entries of one session in FIFO order
+    @Query("select w from ClassWaitlistEntry w join fetch w.member " +
+           "where w.classSession.id = :classSessionId and w.status = :status order by w.id asc")
+    List<ClassWaitlistEntry> findByClassSessionIdAndStatusInOrder(Long classSessionId, Status status);
+
+    // Usernames waiting for one session in FIFO order (reloads that session's in-memory queue)
+    @Query("select w.member.username from ClassWaitlistEntry w " +
+           "where w.classSession.id = :classSessionId and w.status = :status order by w.id asc")
+    List<String> findUsernamesByClassSessionIdAndStatusInOrder(Long classSessionId, Status status);
+
+    @Query("select w.classSession.id from ClassWaitlistEntry w where w.id = :id")
+    Optional<Long> findClassSessionIdById(Long id);
+
+    long countByClassSessionIdAndStatus(Long classSessionId, Status status);
+
+    Optional<ClassWaitlistEntry> findByClassSessionIdAndMemberIdAndStatus(Long classSessionId, Long memberId, Status status);
+}
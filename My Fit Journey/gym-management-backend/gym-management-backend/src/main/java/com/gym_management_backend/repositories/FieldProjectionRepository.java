@@ -0,0 +1,44 @@
+package com.gym_management_backend.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Runs sparse-fieldset queries (see FieldSet): one row per result as field name -> value, in the requested order
+@Repository
+@Transactional(readOnly = true)
+public class FieldProjectionRepository {
+
+    private final EntityManager entityManager;
+
+    public FieldProjectionRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public List<Map<String, Object>> find(FieldSet fieldSet, List<String> fields) {
+        return find(fieldSet, fields, null, Map.of());
+    }
+
+    // where may use named parameters, bound from params
+    public List<Map<String, Object>> find(FieldSet fieldSet, List<String> fields, String where, Map<String, ?> params) {
+        TypedQuery<Tuple> query = entityManager.createQuery(fieldSet.query(fields, where), Tuple.class);
+        params.forEach(query::setParameter);
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : query.getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (TupleElement<?> element : tuple.getElements()) {
+                row.put(element.getAlias(), tuple.get(element));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,98 @@
+package com.gym_management_backend.repositories;
+
+import java.util.*;
+
+/**
+ * The fields a list endpoint can return with ?fields=a,b,c, each mapped to its HQL path.
+ * The requested fields become the query's select list (FieldProjectionRepository), so only
+ * those columns are read, and joins are only made for the fields that need them: implicit
+ * ones through association paths, explicit ones (join(...)) when a requested path uses
+ * their alias.
+ */
+public final class FieldSet {
+
+    private final String from;
+    private final String orderBy;
+    // field name -> HQL path, in the order the fields are listed to clients
+    private final Map<String, String> paths;
+    // alias -> join clause
+    private final Map<String, String> joins;
+
+    private FieldSet(String from, String orderBy, Map<String, String> paths, Map<String, String> joins) {
+        this.from = from;
+        this.orderBy = orderBy;
+        this.paths = paths;
+        this.joins = joins;
+    }
+
+    // from is the HQL from clause with its alias (e.g. "User u")
+    public static Builder builder(String from, String orderBy) {
+        return new Builder(from, orderBy);
+    }
+
+    /**
+     * The requested field names in the order given, without duplicates. An unknown or
+     * empty name is rejected with IllegalArgumentException listing the allowed ones.
+     */
+    public List<String> parse(String fields) {
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!paths.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown field '" + name + "'; allowed: " + String.join(",", paths.keySet()));
+            }
+            selected.add(name);
+        }
+        return new ArrayList<>(selected);
+    }
+
+    // where may only use the root alias
+    String query(List<String> fields, String where) {
+        StringJoiner select = new StringJoiner(", ", "select ", "");
+        Set<String> aliases = new HashSet<>();
+        for (String field : fields) {
+            String path = paths.get(field);
+            select.add(path + " as " + field);
+            aliases.add(path.substring(0, path.indexOf('.')));
+        }
+        StringBuilder query = new StringBuilder(select.toString()).append(" from ").append(from);
+        joins.forEach((alias, join) -> {
+            if (aliases.contains(alias)) {
+                query.append(' ').append(join);
+            }
+        });
+        if (where != null) {
+            query.append(" where ").append(where);
+        }
+        return query.append(" order by ").append(orderBy).toString();
+    }
+
+    public static final class Builder {
+
+        private final String from;
+        private final String orderBy;
+        private final Map<String, String> paths = new LinkedHashMap<>();
+        private final Map<String, String> joins = new LinkedHashMap<>();
+
+        private Builder(String from, String orderBy) {
+            this.from = from;
+            this.orderBy = orderBy;
+        }
+
+        public Builder field(String name, String path) {
+            paths.put(name, path);
+            return this;
+        }
+
+        // A join made only for queries selecting a field whose path starts with alias
+        public Builder join(String alias, String join) {
+            joins.put(alias, join);
+            return this;
+        }
+
+        public FieldSet build() {
+            return new FieldSet(from, orderBy, Collections.unmodifiableMap(new LinkedHashMap<>(paths)),
+                    Collections.unmodifiableMap(new LinkedHashMap<>(joins)));
+        }
+    }
+}
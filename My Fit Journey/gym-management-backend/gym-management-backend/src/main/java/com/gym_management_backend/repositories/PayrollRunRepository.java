@@ -0,0 +1,15 @@
+package com.gym_management_backend.repositories;
+
+import com.gym_management_backend.entities.PayrollRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface PayrollRunRepository extends JpaRepository<PayrollRun, Long> {
+
+    Optional<PayrollRun> findByPeriodStart(LocalDate periodStart);
+
+    List<PayrollRun> findAllByOrderByPeriodStartDesc();
+}
@@ -0,0 +1,13 @@
+package com.gym_management_backend.repositories;
+
+import com.gym_management_backend.entities.Payslip;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PayslipRepository extends JpaRepository<Payslip, Long> {
+
+    Slice<Payslip> findByPayrollRunIdOrderByTrainerIdAsc(Long payrollRunId, Pageable pageable);
+
+    Slice<Payslip> findByTrainerIdOrderByIdDesc(Long trainerId, Pageable pageable);
+}
@@ -1,8 +1,21 @@
 package com.gym_management_backend.repositories;
 
+import com.gym_management_backend.config.CacheRegions;
 import com.gym_management_backend.entities.Plan;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
 
 public interface PlanRepository extends JpaRepository<Plan, Long> {
-    // Additional query methods if needed
+
+    // Plan list served from the query cache; any write to plans invalidates it
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.PLAN_QUERIES)
+    })
+    List<Plan> findAll();
 }
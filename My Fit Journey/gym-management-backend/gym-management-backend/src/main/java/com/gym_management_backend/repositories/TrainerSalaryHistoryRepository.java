@@ -0,0 +1,21 @@
+package com.gym_management_backend.repositories;
+
+import com.gym_management_backend.entities.TrainerSalaryHistory;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface TrainerSalaryHistoryRepository extends JpaRepository<TrainerSalaryHistory, Long> {
+
+    List<TrainerSalaryHistory> findByTrainerIdOrderByEffectiveFromDesc(Long trainerId);
+
+    boolean existsByTrainerId(Long trainerId);
+
+    Optional<TrainerSalaryHistory> findByTrainerIdAndEffectiveFrom(Long trainerId, LocalDate effectiveFrom);
+
+    @EntityGraph(attributePaths = "trainer")
+    List<TrainerSalaryHistory> findByEffectiveFrom(LocalDate effectiveFrom);
+}
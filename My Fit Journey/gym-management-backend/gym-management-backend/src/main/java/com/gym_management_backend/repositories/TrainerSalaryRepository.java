@@ -1,10 +1,17 @@
 package com.gym_management_backend.repositories;
 
 import com.gym_management_backend.entities.TrainerSalary;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.List;
 import java.util.Optional;
 
+// Salaries are serialized with their trainer, so every lookup fetches it in the same select
 public interface TrainerSalaryRepository extends JpaRepository<TrainerSalary, Long> {
+    @Override
+    @EntityGraph(attributePaths = "trainer")
+    List<TrainerSalary> findAll();
+
+    @EntityGraph(attributePaths = "trainer")
     Optional<TrainerSalary> findByTrainerId(Long trainerId);
-    // Add more methods if needed (e.g., for history)
 }
@@ -1,10 +1,51 @@
 package com.gym_management_backend.repositories;
 
+import com.gym_management_backend.dto.UserPlanResponse;
 import com.gym_management_backend.entities.UserPlan;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface UserPlanRepository extends JpaRepository<UserPlan, Long> {
-    List<UserPlan> findByUserId(Long userId);
+
+    // ?fields= on the admin purchase list, named as in UserPlanResponse; plan and user are only joined when asked for
+    FieldSet FIELDS = FieldSet.builder("UserPlan up", "up.id")
+            .field("bookingId", "up.id")
+            .field("planId", "up.plan.id")
+            .field("planName", "up.plan.name")
+            .field("bookingDate", "up.bookingDate")
+            .field("paymentCompleted", "up.paymentCompleted")
+            .field("paymentReference", "up.paymentReference")
+            .field("active", "up.active")
+            .field("memberName", "up.user.fullName")
+            .field("memberEmail", "up.user.email")
+            .field("planPrice", "up.plan.price")
+            .build();
+
     List<UserPlan> findByPlanId(Long planId);
+
+    // Member plan history, newest first: response rows straight from one join, no entities loaded
+    @Query("select new com.gym_management_backend.dto.UserPlanResponse(" +
+           "up.id, p.id, p.name, up.bookingDate, up.paymentCompleted, up.paymentReference, up.active, " +
+           "u.fullName, u.email, p.price) " +
+           "from UserPlan up join up.plan p join up.user u " +
+           "where u.username = :username " +
+           "order by up.bookingDate desc, up.id desc")
+    Slice<UserPlanResponse> findHistoryByUsername(String username, Pageable pageable);
+
+    // Purchases whose plan ran out before the cutoff, oldest first, one archive chunk at a time
+    @Query("select up.id from UserPlan up join up.plan p " +
+           "where up.bookingDate < :cutoff and timestampadd(day, p.durationInDays, up.bookingDate) < :cutoff " +
+           "order by up.bookingDate, up.id")
+    List<Long> findIdsExpiredBefore(LocalDateTime cutoff, Pageable pageable);
+
+    // Admin listing with the member and plan the response needs
+    @Override
+    @EntityGraph(attributePaths = {"user", "plan"})
+    List<UserPlan> findAll();
 }
@@ -1,18 +1,53 @@
 package com.gym_management_backend.repositories;
 
+import com.gym_management_backend.config.CacheRegions;
 import com.gym_management_backend.entities.User;
 import com.gym_management_backend.entities.User.Role;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    // ?fields= on the admin user and trainer lists; the password hash is never selectable
+    FieldSet FIELDS = FieldSet.builder("User u", "u.id")
+            .field("id", "u.id")
+            .field("username", "u.username")
+            .field("fullName", "u.fullName")
+            .field("email", "u.email")
+            .field("active", "u.active")
+            .field("role", "u.role")
+            .field("photoUrl", "u.photoUrl")
+            .build();
+
     Optional<User> findByUsername(String username);
+
+    // Row lock on the trainer so overlap checks of their classes run one at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select u from User u where u.id = :id")
+    Optional<User> findByIdForUpdate(Long id);
     Boolean existsByUsername(String username);
     Boolean existsByEmail(String email);
+
+    // Cached query results (ids; rows come from the users region), invalidated on any write to users
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.USERS_BY_ROLE_QUERIES)
+    })
     List<User> findByRoleAndActiveTrue(Role role);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.USERS_BY_ROLE_QUERIES)
+    })
     List<User> findByRole(Role role);
 
 }
@@ -1,7 +1,10 @@
 package com.gym_management_backend.security;
 
 import com.gym_management_backend.entities.User;
+import com.gym_management_backend.metrics.GymMetrics;
+import com.gym_management_backend.metrics.Outcomes;
 import com.gym_management_backend.repositories.UserRepository;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.stereotype.Service;
@@ -11,23 +14,32 @@ import java.util.Collections;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final GymMetrics metrics;
 
     // Constructor injection preferred for testability
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository, GymMetrics metrics) {
         this.userRepository = userRepository;
+        this.metrics = metrics;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
-            .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        Timer.Sample sample = metrics.startTimer();
+        String outcome = Outcomes.NOT_FOUND;
+        try {
+            User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+            outcome = Outcomes.SUCCESS;
 
-        return new org.springframework.security.core.userdetails.User(
-            user.getUsername(),
-            user.getPassword(),
-            Collections.singletonList(
-                new SimpleGrantedAuthority("ROLE_" + user.getRole().name())
-            )
-        );
+            return new org.springframework.security.core.userdetails.User(
+                user.getUsername(),
+                user.getPassword(),
+                Collections.singletonList(
+                    new SimpleGrantedAuthority("ROLE_" + user.getRole().name())
+                )
+            );
+        } finally {
+            metrics.stopTimer(sample, "gym.auth.user.lookup", "load", outcome);
+        }
     }
 }
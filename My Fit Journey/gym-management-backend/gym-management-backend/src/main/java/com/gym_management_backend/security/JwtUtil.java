@@ -1,7 +1,10 @@
 package com.gym_management_backend.security;
 
+import com.gym_management_backend.metrics.GymMetrics;
+import com.gym_management_backend.metrics.Outcomes;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
@@ -15,6 +18,13 @@ public class JwtUtil {
     // Use a strong, random secret key for production!
     private static final String SECRET = "MAGICAL_RETRO_FUTURE_SECRET_KEY_987!@#MAGICAL_RETRO_FUTURE_SECRET_KEY_987!@#";
     private static final long EXPIRATION_MS = 10 * 60 * 60 * 1000; // 10 hours
+    private static final String TIMER = "gym.auth.jwt";
+
+    private final GymMetrics metrics;
+
+    public JwtUtil(GymMetrics metrics) {
+        this.metrics = metrics;
+    }
 
     private Key getSigningKey() {
         return Keys.hmacShaKeyFor(SECRET.getBytes());
@@ -31,29 +41,51 @@ public class JwtUtil {
                 .compact();
     }
 
-    // Extract username from token
+    // Extract username from token (verifies the signature)
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        Timer.Sample sample = metrics.startTimer();
+        String outcome = Outcomes.INVALID;
+        try {
+            String username = parseClaims(token).getSubject();
+            outcome = Outcomes.SUCCESS;
+            return username;
+        } catch (ExpiredJwtException e) {
+            outcome = Outcomes.EXPIRED;
+            throw e;
+        } finally {
+            metrics.stopTimer(sample, TIMER, "parse", outcome);
+        }
     }
 
     // Generic claim extractor
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = Jwts.parserBuilder()
-            .setSigningKey(getSigningKey())
-            .build()
-            .parseClaimsJws(token)
-            .getBody();
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(parseClaims(token));
     }
 
-    // Validate token with user details
+    // Validate token with user details; the claims are parsed once, under the validate timer only
     public boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        Timer.Sample sample = metrics.startTimer();
+        String outcome = Outcomes.INVALID;
+        try {
+            final Claims claims = parseClaims(token);
+            boolean valid = claims.getSubject().equals(userDetails.getUsername())
+                    && !claims.getExpiration().before(new Date());
+            outcome = valid ? Outcomes.SUCCESS : Outcomes.INVALID;
+            return valid;
+        } catch (ExpiredJwtException e) {
+            outcome = Outcomes.EXPIRED;
+            throw e;
+        } finally {
+            metrics.stopTimer(sample, TIMER, "validate", outcome);
+        }
     }
 
-    private boolean isTokenExpired(String token) {
-        final Date expiration = extractClaim(token, Claims::getExpiration);
-        return expiration.before(new Date());
+    // Untimed: callers record the parse under their own operation
+    private Claims parseClaims(String token) {
+        return Jwts.parserBuilder()
+            .setSigningKey(getSigningKey())
+            .build()
+            .parseClaimsJws(token)
+            .getBody();
     }
 }
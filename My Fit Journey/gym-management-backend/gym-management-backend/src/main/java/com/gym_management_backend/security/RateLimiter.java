@@ -0,0 +1,104 @@
+package com.gym_management_backend.security;
+
+import com.gym_management_backend.config.RateLimitProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory per-user rate limiter. Each configured rule keeps its own map of
+ * lock-free token buckets keyed by username; idle buckets are evicted periodically.
+ */
+@Component
+public class RateLimiter {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final boolean enabled;
+    private final long idleEvictNanos;
+    private final List<CompiledRule> rules;
+
+    public RateLimiter(RateLimitProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.idleEvictNanos = TimeUnit.MILLISECONDS.toNanos(properties.getIdleEvictMs());
+        this.rules = properties.getRules().stream().map(CompiledRule::new).toList();
+    }
+
+    /**
+     * Charges one request against the first rule matching the endpoint and the user's role.
+     * Returns 0 when the request may proceed, otherwise the nanoseconds until it would be allowed.
+     */
+    public long tryAcquire(String method, String path, String username,
+                           Collection<? extends GrantedAuthority> authorities) {
+        if (!enabled) {
+            return 0;
+        }
+        for (CompiledRule rule : rules) {
+            if (rule.matches(method, path, authorities)) {
+                long now = System.nanoTime();
+                TokenBucket bucket = rule.buckets.get(username);
+                if (bucket == null) {
+                    bucket = rule.buckets.computeIfAbsent(username,
+                            u -> new TokenBucket(rule.capacity, rule.refillPerMinute, now));
+                }
+                return bucket.tryConsume(now);
+            }
+        }
+        return 0;
+    }
+
+    // Drop buckets that have been full (untouched) for longer than the idle window
+    @Scheduled(fixedDelayString = "${gym.rate-limit.evict-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        for (CompiledRule rule : rules) {
+            rule.buckets.entrySet().removeIf(entry -> entry.getValue().isIdle(now, idleEvictNanos));
+        }
+    }
+
+    private static final class CompiledRule {
+        private final String method;
+        private final String path;
+        private final boolean pattern;
+        private final String authority;
+        private final int capacity;
+        private final int refillPerMinute;
+        private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+        private CompiledRule(RateLimitProperties.Rule rule) {
+            this.method = StringUtils.hasText(rule.getMethod()) ? rule.getMethod().toUpperCase() : null;
+            this.path = rule.getPath();
+            this.pattern = PATH_MATCHER.isPattern(rule.getPath());
+            this.authority = StringUtils.hasText(rule.getRole()) ? "ROLE_" + rule.getRole().toUpperCase() : null;
+            this.capacity = rule.getCapacity();
+            this.refillPerMinute = rule.getRefillPerMinute();
+        }
+
+        private boolean matches(String requestMethod, String requestPath,
+                                Collection<? extends GrantedAuthority> authorities) {
+            if (method != null && !method.equals(requestMethod)) {
+                return false;
+            }
+            if (pattern ? !PATH_MATCHER.match(path, requestPath) : !path.equals(requestPath)) {
+                return false;
+            }
+            if (authority == null) {
+                return true;
+            }
+            for (GrantedAuthority granted : authorities) {
+                if (authority.equals(granted.getAuthority())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
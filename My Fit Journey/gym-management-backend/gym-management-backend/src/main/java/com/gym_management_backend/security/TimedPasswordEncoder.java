@@ -0,0 +1,41 @@
+package com.gym_management_backend.security;
+
+import com.gym_management_backend.metrics.GymMetrics;
+import com.gym_management_backend.metrics.Outcomes;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+// Times BCrypt hashing and verification, the most CPU-heavy step of login and registration
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private static final String TIMER = "gym.auth.password";
+
+    private final PasswordEncoder delegate;
+    private final GymMetrics metrics;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, GymMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        Timer.Sample sample = metrics.startTimer();
+        String encoded = delegate.encode(rawPassword);
+        metrics.stopTimer(sample, TIMER, "encode", Outcomes.SUCCESS);
+        return encoded;
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Timer.Sample sample = metrics.startTimer();
+        boolean matches = delegate.matches(rawPassword, encodedPassword);
+        metrics.stopTimer(sample, TIMER, "matches", matches ? Outcomes.SUCCESS : Outcomes.INVALID);
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
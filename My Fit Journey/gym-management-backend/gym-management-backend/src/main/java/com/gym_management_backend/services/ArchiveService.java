@@ -0,0 +1,172 @@
+package com.gym_management_backend.services;
+
+import com.gym_management_backend.config.ArchiveProperties;
+import com.gym_management_backend.config.BatchJobRunner;
+import com.gym_management_backend.metrics.GymMetrics;
+import com.gym_management_backend.metrics.Outcomes;
+import com.gym_management_backend.repositories.ClassSessionRepository;
+import com.gym_management_backend.repositories.UserPlanRepository;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Moves class sessions older than the archive horizon (with their bookings and waitlist
+ * entries) and plan purchases that ran out before it into the *_archive tables. Each chunk
+ * is copied and deleted in its own short transaction, so no row stays locked for longer
+ * than one chunk. Member history, week views, payroll and the attendance statistics read
+ * the archive alongside the live tables.
+ */
+@Service
+public class ArchiveService {
+
+    public record ArchiveResult(int sessions, int bookings, int plans, long durationMs) {
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(ArchiveService.class);
+    private static final String TIMER = "gym.archive.run";
+
+    private static final String ARCHIVE_SESSIONS_SQL =
+            "INSERT INTO class_sessions_archive (id, trainer_id, class_name, description, scheduled_at, " +
+            "duration_minutes, max_capacity, archived_at) " +
+            "SELECT id, trainer_id, class_name, description, scheduled_at, duration_minutes, max_capacity, :now " +
+            "FROM class_sessions WHERE id IN (:ids)";
+
+    private static final String ARCHIVE_BOOKINGS_SQL =
+            "INSERT INTO class_bookings_archive (id, member_id, class_session_id, class_name, scheduled_at, " +
+            "booked_at, active, present, archived_at) " +
+            "SELECT b.id, b.member_id, b.class_session_id, cs.class_name, cs.scheduled_at, b.booked_at, b.active, " +
+            "b.present, :now " +
+            "FROM class_bookings b JOIN class_sessions cs ON cs.id = b.class_session_id WHERE b.class_session_id IN (:ids)";
+
+    private static final String ARCHIVE_PLANS_SQL =
+            "INSERT INTO user_plans_archive (id, user_id, plan_id, plan_name, plan_price, booking_date, " +
+            "payment_completed, payment_reference, active, archived_at) " +
+            "SELECT up.id, up.user_id, up.plan_id, p.name, p.price, up.booking_date, up.payment_completed, " +
+            "up.payment_reference, up.active, :now " +
+            "FROM user_plans up JOIN plans p ON p.id = up.plan_id WHERE up.id IN (:ids)";
+
+    private final ClassSessionRepository classSessionRepository;
+    private final UserPlanRepository userPlanRepository;
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final GymMetrics metrics;
+    private final ArchiveProperties properties;
+    private final BatchJobRunner batchJobs;
+
+    public ArchiveService(ClassSessionRepository classSessionRepository,
+                          UserPlanRepository userPlanRepository,
+                          NamedParameterJdbcTemplate jdbc,
+                          PlatformTransactionManager transactionManager,
+                          GymMetrics metrics,
+                          ArchiveProperties properties,
+                          BatchJobRunner batchJobs) {
+        this.classSessionRepository = classSessionRepository;
+        this.userPlanRepository = userPlanRepository;
+        this.jdbc = jdbc;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.metrics = metrics;
+        this.properties = properties;
+        this.batchJobs = batchJobs;
+    }
+
+    // Start of the archive horizon: older classes and plans that ran out earlier live in the archive
+    public LocalDateTime cutoff() {
+        return LocalDate.now().minusDays(properties.getHorizonDays()).atStartOfDay();
+    }
+
+    // Nightly at 04:00 by default (gym.archive.cron, "-" disables), on the batch job thread
+    @Scheduled(cron = "${gym.archive.cron:0 0 4 * * *}")
+    public void scheduledArchive() {
+        batchJobs.submit("archive", () -> {
+            ArchiveResult result = archive();
+            log.info("Archived {} classes with {} bookings and {} plans in {} ms",
+                    result.sessions(), result.bookings(), result.plans(), result.durationMs());
+        });
+    }
+
+    /**
+     * Archives everything past the horizon, one chunk at a time. If another node archives
+     * the same rows at the same time, the duplicate ids make this run stop early.
+     */
+    public synchronized ArchiveResult archive() {
+        Timer.Sample sample = metrics.startTimer();
+        long started = System.currentTimeMillis();
+        LocalDateTime cutoff = cutoff();
+        int sessions = 0;
+        int[] bookings = {0};
+        int plans = 0;
+        try {
+            sessions = moveChunks(() -> classSessionRepository.findIdsScheduledBefore(cutoff, firstChunk()), ids -> {
+                bookings[0] += update(ARCHIVE_BOOKINGS_SQL, ids);
+                int moved = update(ARCHIVE_SESSIONS_SQL, ids);
+                update("DELETE FROM class_bookings WHERE class_session_id IN (:ids)", ids);
+                update("DELETE FROM class_waitlist_entries WHERE class_session_id IN (:ids)", ids);
+                update("DELETE FROM class_sessions WHERE id IN (:ids)", ids);
+                return moved;
+            });
+            plans = moveChunks(() -> userPlanRepository.findIdsExpiredBefore(cutoff, firstChunk()), ids -> {
+                int moved = update(ARCHIVE_PLANS_SQL, ids);
+                update("DELETE FROM user_plans WHERE id IN (:ids)", ids);
+                return moved;
+            });
+            metrics.stopTimer(sample, TIMER, "archive", Outcomes.SUCCESS);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Archive run stopped: rows were archived concurrently ({})", e.getMostSpecificCause().getMessage());
+            metrics.stopTimer(sample, TIMER, "archive", Outcomes.CONFLICT);
+        }
+        return new ArchiveResult(sessions, bookings[0], plans, System.currentTimeMillis() - started);
+    }
+
+    // Repeats select-chunk + move until nothing is left; each round is one transaction
+    private int moveChunks(Supplier<List<Long>> nextChunk, Function<List<Long>, Integer> move) {
+        int moved = 0;
+        while (true) {
+            Integer count = transactionTemplate.execute(status -> {
+                List<Long> ids = nextChunk.get();
+                return ids.isEmpty() ? null : move.apply(ids);
+            });
+            if (count == null) {
+                return moved;
+            }
+            moved += count;
+            pause();
+        }
+    }
+
+    private PageRequest firstChunk() {
+        return PageRequest.of(0, properties.getChunkSize());
+    }
+
+    private int update(String sql, List<Long> ids) {
+        return jdbc.update(sql, new MapSqlParameterSource("ids", ids)
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now())));
+    }
+
+    private void pause() {
+        if (properties.getPauseMs() <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(properties.getPauseMs());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Archive run interrupted", e);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.gym_management_backend.services;
+
+import com.gym_management_backend.cache.CacheInvalidationListener;
+import com.gym_management_backend.cache.CommittedWriteDispatcher;
+import com.gym_management_backend.cache.DirtyIds;
+import com.gym_management_backend.config.BatchJobRunner;
+import com.gym_management_backend.dto.AttendanceStatsResponse;
+import com.gym_management_backend.dto.SessionAttendance;
+import com.gym_management_backend.dto.TrainerStatsResponse;
+import com.gym_management_backend.entities.ClassBooking;
+import com.gym_management_backend.entities.ClassSession;
+import com.gym_management_backend.metrics.GymMetrics;
+import com.gym_management_backend.metrics.Outcomes;
+import com.gym_management_backend.repositories.ArchivedClassSessionRepository;
+import com.gym_management_backend.repositories.ClassBookingRepository;
+import com.gym_management_backend.repositories.ClassSessionRepository;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Fill, attendance, no-show and cancellation rates per trainer and class type, served from
+ * the in-memory AttendanceStatsStore. Committed booking and class writes on this node (and
+ * on other nodes, through the cache change log) mark their session dirty; refresh() recounts
+ * the dirty sessions in one indexed query and applies the difference. recompute() rebuilds
+ * everything from the tables for backfill and to correct drift.
+ */
+@Service
+public class AttendanceStatsService implements CacheInvalidationListener {
+
+    public record RecomputeResult(int sessions, int corrected, long durationMs) {
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(AttendanceStatsService.class);
+
+    private static final String TIMER = "gym.analytics";
+    private static final String SESSION_TYPE = ClassSession.class.getSimpleName();
+    private static final String BOOKING_TYPE = ClassBooking.class.getSimpleName();
+    private static final int RECOUNT_BATCH = 500;
+
+    private final ClassSessionRepository classSessionRepository;
+    private final ClassBookingRepository classBookingRepository;
+    private final ArchivedClassSessionRepository archivedClassSessionRepository;
+    private final GymMetrics metrics;
+    private final BatchJobRunner batchJobs;
+    private final AttendanceStatsStore store = new AttendanceStatsStore();
+    private final DirtyIds dirtySessions = new DirtyIds();
+    // Bookings changed on another node; their session is looked up on the next refresh
+    private final DirtyIds dirtyBookings = new DirtyIds();
+    // One refresh or recompute at a time, so a recount never overwrites a newer one
+    private final Object updateLock = new Object();
+
+    public AttendanceStatsService(ClassSessionRepository classSessionRepository,
+                                  ClassBookingRepository classBookingRepository,
+                                  ArchivedClassSessionRepository archivedClassSessionRepository,
+                                  GymMetrics metrics,
+                                  BatchJobRunner batchJobs,
+                                  CommittedWriteDispatcher committedWrites) {
+        this.classSessionRepository = classSessionRepository;
+        this.classBookingRepository = classBookingRepository;
+        this.archivedClassSessionRepository = archivedClassSessionRepository;
+        this.metrics = metrics;
+        this.batchJobs = batchJobs;
+        // Marks the session of every committed booking or class write on this node, whichever code path made it.
+        // A booking's session id is read from its proxy, without loading it
+        committedWrites.subscribe(Set.of(ClassBooking.class, ClassSession.class), (entity, id, deleted) ->
+                dirtySessions.add(entity instanceof ClassBooking booking ? booking.getClassSession().getId() : (Long) id));
+    }
+
+    // Backfill on startup
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        recompute();
+    }
+
+    // Nightly drift correction on the batch job thread; the number of corrected sessions is recorded as gym.analytics.corrected
+    @Scheduled(cron = "${gym.analytics.recompute-cron:0 30 2 * * *}")
+    public void scheduledRecompute() {
+        batchJobs.submit("attendance recompute", () -> {
+            RecomputeResult result = recompute();
+            if (result.corrected() > 0) {
+                log.warn("Attendance statistics drifted on {} of {} sessions", result.corrected(), result.sessions());
+            }
+        });
+    }
+
+    /**
+     * Recounts every session from class_sessions and class_bookings and from their archive
+     * tables (one grouped query each) and corrects the sessions whose counters differ.
+     * Writes committed meanwhile stay marked dirty and are applied by the next refresh.
+     */
+    public RecomputeResult recompute() {
+        synchronized (updateLock) {
+            Timer.Sample sample = metrics.startTimer();
+            long started = System.currentTimeMillis();
+            List<SessionAttendance> rows = new ArrayList<>(classSessionRepository.findAllSessionAttendance());
+            rows.addAll(archivedClassSessionRepository.findAllSessionAttendance());
+            LocalDateTime now = LocalDateTime.now();
+            Set<Long> deleted = store.sessionIds();
+            int corrected = 0;
+            for (SessionAttendance row : rows) {
+                deleted.remove(row.id());
+                if (store.put(row, now)) {
+                    corrected++;
+                }
+            }
+            for (Long sessionId : deleted) {
+                store.remove(sessionId);
+                corrected++;
+            }
+            metrics.record("gym.analytics.corrected", "recompute", Outcomes.SUCCESS, corrected);
+            metrics.stopTimer(sample, TIMER, "recompute", Outcomes.SUCCESS);
+            return new RecomputeResult(rows.size(), corrected, System.currentTimeMillis() - started);
+        }
+    }
+
+    // Applies the sessions marked dirty since the last run, and moves sessions that have ended into attendance.
+    // Ids whose queries fail go back to their dirty set and are tried again on the next run
+    @Scheduled(fixedDelayString = "${gym.analytics.refresh-ms:1000}")
+    public void refresh() {
+        synchronized (updateLock) {
+            store.settle(LocalDateTime.now());
+            if (!dirtyBookings.isEmpty()) {
+                List<Long> bookingIds = dirtyBookings.drain();
+                try {
+                    for (List<Long> batch : DirtyIds.batches(bookingIds, RECOUNT_BATCH)) {
+                        dirtySessions.addAll(classBookingRepository.findClassSessionIds(batch));
+                    }
+                } catch (RuntimeException e) {
+                    dirtyBookings.addAll(bookingIds);
+                    throw e;
+                }
+            }
+            if (dirtySessions.isEmpty()) {
+                return;
+            }
+            Timer.Sample sample = metrics.startTimer();
+            List<Long> sessionIds = dirtySessions.drain();
+            try {
+                for (List<Long> batch : DirtyIds.batches(sessionIds, RECOUNT_BATCH)) {
+                    recount(batch);
+                }
+            } catch (RuntimeException e) {
+                dirtySessions.addAll(sessionIds);
+                metrics.stopTimer(sample, TIMER, "refresh", Outcomes.ERROR);
+                throw e;
+            }
+            metrics.stopTimer(sample, TIMER, "refresh", Outcomes.SUCCESS);
+        }
+    }
+
+    private void recount(List<Long> batch) {
+        Map<Long, SessionAttendance> counts = classSessionRepository.findSessionAttendance(batch).stream()
+                .collect(Collectors.toMap(SessionAttendance::id, Function.identity()));
+        if (counts.size() < batch.size()) {
+            // Gone from class_sessions: deleted, or moved to the archive with its counts unchanged
+            List<Long> missing = batch.stream().filter(id -> !counts.containsKey(id)).toList();
+            archivedClassSessionRepository.findSessionAttendance(missing).forEach(row -> counts.put(row.id(), row));
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (Long sessionId : batch) {
+            SessionAttendance row = counts.get(sessionId);
+            if (row == null) {
+                store.remove(sessionId);
+            } else {
+                store.put(row, now);
+            }
+        }
+    }
+
+    public List<AttendanceStatsResponse> getTrainerTotals() {
+        Timer.Sample sample = metrics.startTimer();
+        List<AttendanceStatsResponse> result = new ArrayList<>();
+        store.totals().forEach((trainerId, counters) -> result.add(toResponse(trainerId, null, counters)));
+        metrics.stopTimer(sample, TIMER, "trainers", Outcomes.SUCCESS);
+        return result;
+    }
+
+    public Optional<TrainerStatsResponse> getTrainerStats(long trainerId) {
+        Timer.Sample sample = metrics.startTimer();
+        Optional<TrainerStatsResponse> result = store.get(trainerId).map(counters -> {
+            TrainerStatsResponse response = new TrainerStatsResponse();
+            response.setTotal(toResponse(trainerId, null, counters.total()));
+            counters.byClassName().forEach((className, classCounters) ->
+                    response.getClassTypes().add(toResponse(trainerId, className, classCounters)));
+            return response;
+        });
+        metrics.stopTimer(sample, TIMER, "trainer", result.isPresent() ? Outcomes.SUCCESS : Outcomes.NOT_FOUND);
+        return result;
+    }
+
+    // A class or booking changed on another node: recount its session on the next refresh
+    @Override
+    public void invalidate(String entityType, long entityId) {
+        if (SESSION_TYPE.equals(entityType)) {
+            dirtySessions.add(entityId);
+        } else if (BOOKING_TYPE.equals(entityType)) {
+            dirtyBookings.add(entityId);
+        }
+    }
+
+    @Override
+    public void evictAll() {
+        recompute();
+    }
+
+    private static AttendanceStatsResponse toResponse(Long trainerId, String className, long[] counters) {
+        AttendanceStatsResponse response = new AttendanceStatsResponse();
+        response.setTrainerId(trainerId);
+        response.setClassName(className);
+        response.setSessions(counters[AttendanceStatsStore.SESSIONS]);
+        response.setCapacity(counters[AttendanceStatsStore.CAPACITY]);
+        response.setBookedSeats(counters[AttendanceStatsStore.BOOKED_SEATS]);
+        response.setBookings(counters[AttendanceStatsStore.BOOKINGS]);
+        response.setCancellations(counters[AttendanceStatsStore.CANCELLATIONS]);
+        response.setCompletedBookings(counters[AttendanceStatsStore.COMPLETED_BOOKINGS]);
+        response.setAttended(counters[AttendanceStatsStore.ATTENDED]);
+        long completed = counters[AttendanceStatsStore.COMPLETED_BOOKINGS];
+        long attended = counters[AttendanceStatsStore.ATTENDED];
+        response.setFillRate(rate(counters[AttendanceStatsStore.BOOKED_SEATS], counters[AttendanceStatsStore.CAPACITY]));
+        response.setAttendanceRate(rate(attended, completed));
+        response.setNoShowRate(rate(completed - attended, completed));
+        response.setCancellationRate(rate(counters[AttendanceStatsStore.CANCELLATIONS],
+                counters[AttendanceStatsStore.BOOKINGS] + counters[AttendanceStatsStore.CANCELLATIONS]));
+        return response;
+    }
+
+    private static Double rate(long part, long whole) {
+        return whole == 0 ? null : (double) part / whole;
+    }
+}
@@ -0,0 +1,171 @@
+package com.gym_management_backend.services;
+
+import com.gym_management_backend.dto.SessionAttendance;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Booking and attendance counters per trainer and per trainer + class name, kept as the
+ * sum of what each class session contributes. Every bucket is a fixed stretch of one
+ * long[], so a report is a map lookup and a copy of a few longs; when a session's counts
+ * change only the difference is applied to its two buckets. Sessions count towards
+ * attendance once they have ended (settle). class_sessions and class_bookings stay the
+ * source of truth and are used to rebuild.
+ */
+public class AttendanceStatsStore {
+
+    static final int SESSIONS = 0;
+    static final int CAPACITY = 1;
+    static final int BOOKED_SEATS = 2;
+    static final int BOOKINGS = 3;
+    static final int CANCELLATIONS = 4;
+    static final int COMPLETED_BOOKINGS = 5;
+    static final int ATTENDED = 6;
+    static final int COUNTERS = 7;
+
+    // Counters of one trainer over all classes and per class name
+    public record TrainerCounters(long trainerId, long[] total, SortedMap<String, long[]> byClassName) {
+    }
+
+    private record Session(SessionAttendance counts, int trainerBucket, int classBucket, boolean ended) {
+    }
+
+    private record Pending(LocalDateTime end, long sessionId) implements Comparable<Pending> {
+        @Override
+        public int compareTo(Pending other) {
+            int byEnd = end.compareTo(other.end);
+            return byEnd != 0 ? byEnd : Long.compare(sessionId, other.sessionId);
+        }
+    }
+
+    private long[] counters = new long[64 * COUNTERS];
+    private int buckets;
+    private final Map<Long, Integer> trainerBuckets = new HashMap<>();
+    private final Map<Long, SortedMap<String, Integer>> classBuckets = new HashMap<>();
+    private final Map<Long, Session> sessions = new HashMap<>();
+    // Sessions that have not ended yet, by end time
+    private final TreeSet<Pending> pending = new TreeSet<>();
+
+    // Sets a session's counts; false if nothing changed
+    public synchronized boolean put(SessionAttendance counts, LocalDateTime now) {
+        Session previous = sessions.get(counts.id());
+        boolean ended = !counts.end().isAfter(now);
+        if (previous != null && previous.counts().equals(counts) && previous.ended() == ended) {
+            return false;
+        }
+        if (previous != null) {
+            unlink(previous);
+        }
+        Session session = new Session(counts, trainerBucket(counts.trainerId()),
+                classBucket(counts.trainerId(), counts.className()), ended);
+        add(session, 1);
+        sessions.put(counts.id(), session);
+        if (!ended) {
+            pending.add(new Pending(counts.end(), counts.id()));
+        }
+        return true;
+    }
+
+    // False if the session was not counted
+    public synchronized boolean remove(long sessionId) {
+        Session session = sessions.remove(sessionId);
+        if (session == null) {
+            return false;
+        }
+        unlink(session);
+        return true;
+    }
+
+    // Moves sessions that ended by now into the attendance counters
+    public synchronized void settle(LocalDateTime now) {
+        while (!pending.isEmpty() && !pending.first().end().isAfter(now)) {
+            Session session = sessions.get(pending.pollFirst().sessionId());
+            add(session, -1);
+            Session ended = new Session(session.counts(), session.trainerBucket(), session.classBucket(), true);
+            add(ended, 1);
+            sessions.put(session.counts().id(), ended);
+        }
+    }
+
+    public synchronized Optional<TrainerCounters> get(long trainerId) {
+        Integer bucket = trainerBuckets.get(trainerId);
+        if (bucket == null || counters[bucket * COUNTERS + SESSIONS] == 0) {
+            return Optional.empty();
+        }
+        SortedMap<String, long[]> byClassName = new TreeMap<>();
+        classBuckets.get(trainerId).forEach((className, classBucket) -> {
+            if (counters[classBucket * COUNTERS + SESSIONS] > 0) {
+                byClassName.put(className, copy(classBucket));
+            }
+        });
+        return Optional.of(new TrainerCounters(trainerId, copy(bucket), byClassName));
+    }
+
+    // Every trainer with at least one session, over all their classes
+    public synchronized Map<Long, long[]> totals() {
+        Map<Long, long[]> totals = new TreeMap<>();
+        trainerBuckets.forEach((trainerId, bucket) -> {
+            if (counters[bucket * COUNTERS + SESSIONS] > 0) {
+                totals.put(trainerId, copy(bucket));
+            }
+        });
+        return totals;
+    }
+
+    public synchronized Set<Long> sessionIds() {
+        return new HashSet<>(sessions.keySet());
+    }
+
+    public synchronized int size() {
+        return sessions.size();
+    }
+
+    private void unlink(Session session) {
+        add(session, -1);
+        if (!session.ended()) {
+            pending.remove(new Pending(session.counts().end(), session.counts().id()));
+        }
+    }
+
+    private void add(Session session, int sign) {
+        SessionAttendance counts = session.counts();
+        long[] contribution = new long[COUNTERS];
+        contribution[SESSIONS] = 1;
+        if (counts.maxCapacity() != null) {
+            contribution[CAPACITY] = counts.maxCapacity();
+            contribution[BOOKED_SEATS] = counts.activeBookings();
+        }
+        contribution[BOOKINGS] = counts.activeBookings();
+        contribution[CANCELLATIONS] = counts.cancelledBookings();
+        if (session.ended()) {
+            contribution[COMPLETED_BOOKINGS] = counts.activeBookings();
+            contribution[ATTENDED] = counts.presentCount();
+        }
+        for (int i = 0; i < COUNTERS; i++) {
+            counters[session.trainerBucket() * COUNTERS + i] += sign * contribution[i];
+            counters[session.classBucket() * COUNTERS + i] += sign * contribution[i];
+        }
+    }
+
+    private int trainerBucket(long trainerId) {
+        return trainerBuckets.computeIfAbsent(trainerId, id -> newBucket());
+    }
+
+    private int classBucket(long trainerId, String className) {
+        return classBuckets.computeIfAbsent(trainerId, id -> new TreeMap<>())
+                .computeIfAbsent(className, name -> newBucket());
+    }
+
+    // Buckets are never freed; one that drops to zero sessions is skipped by the reads
+    private int newBucket() {
+        if ((buckets + 1) * COUNTERS > counters.length) {
+            counters = Arrays.copyOf(counters, counters.length * 2);
+        }
+        return buckets++;
+    }
+
+    private long[] copy(int bucket) {
+        return Arrays.copyOfRange(counters, bucket * COUNTERS, (bucket + 1) * COUNTERS);
+    }
+}
@@ -6,13 +6,20 @@ import com.gym_management_backend.dto.ClassSessionResponse;
 import com.gym_management_backend.entities.ClassBooking;
 import com.gym_management_backend.entities.ClassSession;
 import com.gym_management_backend.entities.User;
+import com.gym_management_backend.metrics.GymMetrics;
+import com.gym_management_backend.metrics.Outcomes;
+import com.gym_management_backend.repositories.ArchivedClassBookingRepository;
 import com.gym_management_backend.repositories.ClassBookingRepository;
 import com.gym_management_backend.repositories.ClassSessionRepository;
 import com.gym_management_backend.repositories.UserRepository;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -20,99 +27,188 @@ import java.util.stream.Collectors;
 @Transactional
 public class ClassBookingService {
 
+    private static final String TIMER = "gym.class.booking";
+
     private final UserRepository userRepository;
     private final ClassSessionRepository classSessionRepository;
     private final ClassBookingRepository classBookingRepository;
+    private final ArchivedClassBookingRepository archivedClassBookingRepository;
+    private final ClassWaitlistService classWaitlistService;
+    private final SeatAvailabilityPublisher seatAvailabilityPublisher;
+    private final GymMetrics metrics;
 
     public ClassBookingService(UserRepository userRepository,
                                ClassSessionRepository classSessionRepository,
-                               ClassBookingRepository classBookingRepository) {
+                               ClassBookingRepository classBookingRepository,
+                               ArchivedClassBookingRepository archivedClassBookingRepository,
+                               ClassWaitlistService classWaitlistService,
+                               SeatAvailabilityPublisher seatAvailabilityPublisher,
+                               GymMetrics metrics) {
         this.userRepository = userRepository;
         this.classSessionRepository = classSessionRepository;
         this.classBookingRepository = classBookingRepository;
+        this.archivedClassBookingRepository = archivedClassBookingRepository;
+        this.classWaitlistService = classWaitlistService;
+        this.seatAvailabilityPublisher = seatAvailabilityPublisher;
+        this.metrics = metrics;
     }
 
     // List all upcoming class sessions (for member to browse and book)
+    @Transactional(readOnly = true)
     public List<ClassSessionResponse> listAvailableClasses() {
-        LocalDateTime now = LocalDateTime.now();
-        List<ClassSession> upcomingSessions = classSessionRepository.findAll().stream()
-            .filter(cs -> cs.getScheduledAt().isAfter(now))
-            .collect(Collectors.toList());
+        Timer.Sample sample = metrics.startTimer();
+        List<ClassSession> upcomingSessions =
+                classSessionRepository.findByScheduledAtAfterOrderByScheduledAtAsc(LocalDateTime.now());
 
         // Map ClassSession entity to ClassSessionResponse DTO for frontend
-        return upcomingSessions.stream()
-            .map(this::mapToClassSessionResponse)
+        List<ClassSessionResponse> result = upcomingSessions.stream()
+            .map(ClassBookingService::mapToClassSessionResponse)
             .collect(Collectors.toList());
+        metrics.stopTimer(sample, TIMER, "list_available", Outcomes.SUCCESS);
+        return result;
+    }
+
+    // A cached copy of listAvailableClasses() can hold classes that have started since it was loaded
+    public static List<ClassSessionResponse> notStarted(List<ClassSessionResponse> classes) {
+        LocalDateTime now = LocalDateTime.now();
+        return classes.stream()
+                .filter(session -> session.getScheduledAt().isAfter(now))
+                .toList();
     }
 
     // Member books a class session with capacity and duplicate check
     public ClassBookingResponse bookClassSession(String username, BookClassRequest request) {
-        User member = userRepository.findByUsername(username)
-                .orElseThrow(() -> new IllegalArgumentException("Member not found"));
-
-        ClassSession classSession = classSessionRepository.findById(request.getClassSessionId())
-                .orElseThrow(() -> new IllegalArgumentException("Class session not found"));
+        Timer.Sample sample = metrics.startTimer();
+        String outcome = Outcomes.ERROR;
+        try {
+            outcome = Outcomes.NOT_FOUND;
+            User member = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new IllegalArgumentException("Member not found"));
+
+            // Locked until commit so the capacity check and insert can't interleave with another booking
+            ClassSession classSession = classSessionRepository.findByIdForUpdate(request.getClassSessionId())
+                    .orElseThrow(() -> new IllegalArgumentException("Class session not found"));
+
+            // Capacity check
+            if (classSession.getMaxCapacity() != null) {
+                long activeBookings = classBookingRepository.countByClassSessionIdAndActiveTrue(classSession.getId());
+                if (activeBookings >= classSession.getMaxCapacity()) {
+                    outcome = Outcomes.FULL;
+                    throw new IllegalStateException("Class is fully booked");
+                }
+            }
 
-        // Capacity check
-        if (classSession.getMaxCapacity() != null) {
-            long activeBookings = classBookingRepository.countByClassSessionIdAndActiveTrue(classSession.getId());
-            if (activeBookings >= classSession.getMaxCapacity()) {
-                throw new IllegalStateException("Class is fully booked");
+            // Duplicate booking check
+            boolean alreadyBooked = classBookingRepository
+                .existsByClassSessionIdAndMemberIdAndActiveTrue(classSession.getId(), member.getId());
+            if (alreadyBooked) {
+                outcome = Outcomes.DUPLICATE;
+                throw new IllegalStateException("You have already booked this class session");
             }
-        }
 
-        // Duplicate booking check
-        boolean alreadyBooked = classBookingRepository.findByClassSessionId(classSession.getId()).stream()
-            .anyMatch(b -> b.getMember().getId().equals(member.getId()) && Boolean.TRUE.equals(b.getActive()));
-        if (alreadyBooked) {
-            throw new IllegalStateException("You have already booked this class session");
+            outcome = Outcomes.ERROR;
+            ClassBooking booking = ClassBooking.builder()
+                    .member(member)
+                    .classSession(classSession)
+                    .bookedAt(LocalDateTime.now())
+                    .active(true)
+                    .present(false)   // initially attendance unset
+                    .build();
+
+            ClassBooking savedBooking = classBookingRepository.save(booking);
+            seatAvailabilityPublisher.markChanged(classSession.getId());
+
+            outcome = Outcomes.BOOKED;
+            return mapToBookingResponse(savedBooking);
+        } finally {
+            metrics.stopTimer(sample, TIMER, "book", outcome);
         }
-
-        ClassBooking booking = ClassBooking.builder()
-                .member(member)
-                .classSession(classSession)
-                .bookedAt(LocalDateTime.now())
-                .active(true)
-                .present(false)   // initially attendance unset
-                .build();
-
-        ClassBooking savedBooking = classBookingRepository.save(booking);
-
-        return mapToBookingResponse(savedBooking);
     }
 
-    // List all bookings for a member
-    public List<ClassBookingResponse> getBookingsForMember(String username) {
-        User member = userRepository.findByUsername(username)
-                .orElseThrow(() -> new IllegalArgumentException("Member not found"));
-
-        return classBookingRepository.findByMemberId(member.getId()).stream()
-                .map(this::mapToBookingResponse)
-                .collect(Collectors.toList());
+    // One page of a member's bookings, newest first, projected straight into response rows; archived bookings continue the list
+    @Transactional(readOnly = true)
+    public Slice<ClassBookingResponse> getBookingsForMember(String username, Pageable pageable) {
+        Timer.Sample sample = metrics.startTimer();
+        Slice<ClassBookingResponse> result = HistoryMerge.page(pageable,
+                page -> classBookingRepository.findHistoryByMemberUsername(username, page),
+                (newerThan, page) -> newerThan == null
+                        ? archivedClassBookingRepository.findHistoryByMemberUsername(username, page)
+                        : archivedClassBookingRepository.findHistoryNewerThan(username, newerThan.getBookedAt(),
+                                newerThan.getBookingId(), page),
+                Comparator.comparing(ClassBookingResponse::getBookedAt)
+                        .thenComparing(ClassBookingResponse::getBookingId).reversed());
+        metrics.stopTimer(sample, TIMER, "member_history", Outcomes.SUCCESS);
+        return result;
     }
 
-    // Cancel a booking (mark as inactive)
+    // Cancel a booking (mark as inactive) and hand the freed seat to the next member on the waitlist
     public void cancelBooking(String username, Long bookingId) {
-        ClassBooking booking = classBookingRepository.findById(bookingId)
-                .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
+        Timer.Sample sample = metrics.startTimer();
+        String outcome = Outcomes.NOT_FOUND;
+        try {
+            ClassBooking booking = classBookingRepository.findById(bookingId)
+                    .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
+
+            if (!booking.getMember().getUsername().equals(username)) {
+                outcome = Outcomes.FORBIDDEN;
+                throw new SecurityException("You may only cancel your own bookings");
+            }
 
-        if (!booking.getMember().getUsername().equals(username)) {
-            throw new SecurityException("You may only cancel your own bookings");
+            outcome = Outcomes.ERROR;
+            boolean wasActive = Boolean.TRUE.equals(booking.getActive());
+            booking.setActive(false);
+            classBookingRepository.save(booking);
+
+            if (wasActive) {
+                ClassSession classSession = classSessionRepository.findByIdForUpdate(booking.getClassSession().getId())
+                        .orElseThrow(() -> new IllegalArgumentException("Class session not found"));
+                boolean promoted = classWaitlistService.promoteNext(classSession).isPresent();
+                seatAvailabilityPublisher.markChanged(booking.getClassSession().getId());
+                outcome = promoted ? Outcomes.CANCELLED_PROMOTED : Outcomes.CANCELLED;
+            } else {
+                outcome = Outcomes.ALREADY_CANCELLED;
+            }
+        } finally {
+            metrics.stopTimer(sample, TIMER, "cancel", outcome);
         }
+    }
 
-        booking.setActive(false);
-        classBookingRepository.save(booking);
+    // Trainer records whether a booked member came to one of their classes
+    public ClassBookingResponse markAttendance(String trainerUsername, Long classSessionId, Long bookingId, boolean present) {
+        Timer.Sample sample = metrics.startTimer();
+        String outcome = Outcomes.NOT_FOUND;
+        try {
+            ClassBooking booking = classBookingRepository.findById(bookingId)
+                    .filter(b -> b.getClassSession().getId().equals(classSessionId))
+                    .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
+
+            if (!booking.getClassSession().getTrainer().getUsername().equals(trainerUsername)) {
+                outcome = Outcomes.FORBIDDEN;
+                throw new SecurityException("You may only take attendance for your own classes");
+            }
+            if (!Boolean.TRUE.equals(booking.getActive())) {
+                outcome = Outcomes.ALREADY_CANCELLED;
+                throw new IllegalStateException("Booking was cancelled");
+            }
+
+            booking.setPresent(present);
+            outcome = Outcomes.SUCCESS;
+            return mapToBookingResponse(booking);
+        } finally {
+            metrics.stopTimer(sample, TIMER, "attendance", outcome);
+        }
     }
 
     // Get all bookings (members) for a given class session (used by trainers)
+    @Transactional(readOnly = true)
     public List<ClassBookingResponse> getBookingsForClassSession(Long classSessionId) {
         return classBookingRepository.findByClassSessionId(classSessionId).stream()
-                .map(this::mapToBookingResponse)
+                .map(ClassBookingService::mapToBookingResponse)
                 .collect(Collectors.toList());
     }
 
-    // Map ClassBooking entity to ClassBookingResponse DTO
-    private ClassBookingResponse mapToBookingResponse(ClassBooking booking) {
+    // Map ClassBooking entity to ClassBookingResponse DTO (package-private for the mapping benchmarks)
+    static ClassBookingResponse mapToBookingResponse(ClassBooking booking) {
         ClassBookingResponse resp = new ClassBookingResponse();
         resp.setBookingId(booking.getId());
         resp.setClassSessionId(booking.getClassSession().getId());
@@ -129,12 +225,13 @@ public class ClassBookingService {
     }
 
     // Map ClassSession entity to ClassSessionResponse DTO for member viewing
-    private ClassSessionResponse mapToClassSessionResponse(ClassSession classSession) {
+    static ClassSessionResponse mapToClassSessionResponse(ClassSession classSession) {
         ClassSessionResponse resp = new ClassSessionResponse();
         resp.setId(classSession.getId());
         resp.setClassName(classSession.getClassName());
         resp.setDescription(classSession.getDescription());
         resp.setScheduledAt(classSession.getScheduledAt());
+        resp.setDurationMinutes(classSession.getDurationMinutes());
         resp.setMaxCapacity(classSession.getMaxCapacity());
         if (classSession.getTrainer() != null) {
             resp.setTrainerId(classSession.getTrainer().getId());
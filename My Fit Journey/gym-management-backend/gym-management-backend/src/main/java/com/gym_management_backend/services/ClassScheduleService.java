@@ -0,0 +1,178 @@
+package com.gym_management_backend.services;
+
+import com.gym_management_backend.cache.CacheInvalidationListener;
+import com.gym_management_backend.cache.CommittedWriteDispatcher;
+import com.gym_management_backend.dto.ClassSessionResponse;
+import com.gym_management_backend.dto.ScheduleSlot;
+import com.gym_management_backend.entities.ClassSession;
+import com.gym_management_backend.entities.User;
+import com.gym_management_backend.metrics.GymMetrics;
+import com.gym_management_backend.metrics.Outcomes;
+import com.gym_management_backend.repositories.ArchivedClassSessionRepository;
+import com.gym_management_backend.repositories.ClassSessionRepository;
+import com.gym_management_backend.repositories.UserRepository;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Trainer schedules: overlap checks for new and moved classes against class_sessions, and
+ * week views across trainers from the in-memory TrainerScheduleIndex. The index follows
+ * every committed class_sessions write on this node through Hibernate events, and writes
+ * on other nodes through the cache change log.
+ */
+@Service
+@Transactional
+public class ClassScheduleService implements CacheInvalidationListener {
+
+    public static final int DEFAULT_DURATION_MINUTES = 60;
+
+    private static final String TIMER = "gym.class.schedule";
+    private static final String ENTITY_TYPE = ClassSession.class.getSimpleName();
+    // Longest class CreateClassRequest accepts; a class overlapping a window starts at most this much before it
+    private static final int MAX_DURATION_MINUTES = 480;
+
+    private final ClassSessionRepository classSessionRepository;
+    private final UserRepository userRepository;
+    private final ArchivedClassSessionRepository archivedClassSessionRepository;
+    private final ArchiveService archiveService;
+    private final GymMetrics metrics;
+    private final TrainerScheduleIndex index = new TrainerScheduleIndex();
+
+    public ClassScheduleService(ClassSessionRepository classSessionRepository,
+                                UserRepository userRepository,
+                                ArchivedClassSessionRepository archivedClassSessionRepository,
+                                ArchiveService archiveService,
+                                GymMetrics metrics,
+                                CommittedWriteDispatcher committedWrites) {
+        this.classSessionRepository = classSessionRepository;
+        this.userRepository = userRepository;
+        this.archivedClassSessionRepository = archivedClassSessionRepository;
+        this.archiveService = archiveService;
+        this.metrics = metrics;
+        // Applies every committed class session write on this node, whichever code path made it
+        committedWrites.subscribe(Set.of(ClassSession.class), (entity, id, deleted) -> {
+            if (deleted) {
+                index.remove((Long) id);
+            } else {
+                index.put(toSlot((ClassSession) entity));
+            }
+        });
+    }
+
+    // Rebuild the index from class_sessions on startup
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildIndex() {
+        index.clear();
+        classSessionRepository.findAllScheduleSlots().forEach(index::put);
+    }
+
+    /**
+     * Saves a new or rescheduled class unless it overlaps another class of the same trainer
+     * (ScheduleConflictException). The check reads class_sessions while holding the trainer's
+     * users row lock, so requests for one trainer run it one at a time, on whichever node,
+     * and each sees the classes the others committed. The session must be new or managed.
+     */
+    public ClassSession schedule(ClassSession session) {
+        Timer.Sample sample = metrics.startTimer();
+        String outcome = Outcomes.CONFLICT;
+        try {
+            Long trainerId = session.getTrainer().getId();
+            userRepository.findByIdForUpdate(trainerId)
+                    .orElseThrow(() -> new IllegalArgumentException("Trainer not found"));
+            LocalDateTime start = session.getScheduledAt();
+            LocalDateTime end = start.plusMinutes(session.getDurationMinutes());
+            for (ClassSession other : classSessionRepository.findByTrainerStartingBetweenForUpdate(
+                    trainerId, start.minusMinutes(MAX_DURATION_MINUTES), end)) {
+                LocalDateTime otherEnd = other.getScheduledAt().plusMinutes(other.getDurationMinutes());
+                if (!other.getId().equals(session.getId()) && otherEnd.isAfter(start)) {
+                    throw new ScheduleConflictException("Trainer already has " + other.getClassName()
+                            + " from " + other.getScheduledAt() + " to " + otherEnd);
+                }
+            }
+            ClassSession saved = classSessionRepository.save(session);
+            outcome = Outcomes.SUCCESS;
+            return saved;
+        } finally {
+            metrics.stopTimer(sample, TIMER, "schedule", outcome);
+        }
+    }
+
+    // Classes of all trainers (or one) overlapping [from, from + days), in start order, without touching class_sessions
+    // unless the window reaches back past the archive horizon
+    @Transactional(readOnly = true)
+    public List<ClassSessionResponse> getWindow(LocalDateTime from, int days, Long trainerId) {
+        Timer.Sample sample = metrics.startTimer();
+        LocalDateTime to = from.plusDays(days);
+        Collection<ScheduleSlot> slots = index.window(trainerId, from, to);
+        if (from.isBefore(archiveService.cutoff())) {
+            slots = withArchived(slots, from, to, trainerId);
+        }
+
+        // Trainer names come from the second-level user cache, one lookup per trainer
+        Map<Long, String> trainerNames = new HashMap<>();
+        List<ClassSessionResponse> result = new ArrayList<>(slots.size());
+        for (ScheduleSlot slot : slots) {
+            String trainerName = trainerNames.computeIfAbsent(slot.trainerId(),
+                    trainer -> userRepository.findById(trainer).map(User::getFullName).orElse(null));
+            result.add(toResponse(slot, trainerName));
+        }
+        metrics.stopTimer(sample, TIMER, "window", Outcomes.SUCCESS);
+        return result;
+    }
+
+    // A class changed on another node: reload it (or drop it if it was deleted)
+    @Override
+    public void invalidate(String entityType, long entityId) {
+        if (ENTITY_TYPE.equals(entityType)) {
+            classSessionRepository.findScheduleSlotById(entityId)
+                    .ifPresentOrElse(index::put, () -> index.remove(entityId));
+        }
+    }
+
+    @Override
+    public void evictAll() {
+        rebuildIndex();
+    }
+
+    // Merged by id: this node's index still holds the classes archived since it was built
+    private Collection<ScheduleSlot> withArchived(Collection<ScheduleSlot> slots, LocalDateTime from, LocalDateTime to,
+                                                  Long trainerId) {
+        Map<Long, ScheduleSlot> merged = new LinkedHashMap<>();
+        slots.forEach(slot -> merged.put(slot.id(), slot));
+        for (ScheduleSlot slot : archivedClassSessionRepository.findScheduleSlots(
+                from.minusMinutes(MAX_DURATION_MINUTES), to, trainerId)) {
+            if (slot.end().isAfter(from)) {
+                merged.putIfAbsent(slot.id(), slot);
+            }
+        }
+        List<ScheduleSlot> result = new ArrayList<>(merged.values());
+        result.sort(Comparator.comparing(ScheduleSlot::start).thenComparing(ScheduleSlot::id));
+        return result;
+    }
+
+    private static ScheduleSlot toSlot(ClassSession session) {
+        return new ScheduleSlot(session.getId(), session.getTrainer().getId(), session.getClassName(),
+                session.getDescription(), session.getScheduledAt(), session.getDurationMinutes(),
+                session.getMaxCapacity());
+    }
+
+    private static ClassSessionResponse toResponse(ScheduleSlot slot, String trainerName) {
+        ClassSessionResponse response = new ClassSessionResponse();
+        response.setId(slot.id());
+        response.setClassName(slot.className());
+        response.setDescription(slot.description());
+        response.setScheduledAt(slot.start());
+        response.setDurationMinutes(slot.durationMinutes());
+        response.setMaxCapacity(slot.maxCapacity());
+        response.setTrainerId(slot.trainerId());
+        response.setTrainerName(trainerName);
+        return response;
+    }
+}
@@ -0,0 +1,49 @@
+package com.gym_management_backend.services;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * In-memory FIFO waitlist positions, one snapshot per class session, kept in front of the
+ * class_waitlist_entries table. Position lookups are lock-free; the table stays the source
+ * of truth and a session's snapshot is reloaded from it after every committed change.
+ */
+public class ClassWaitlistQueue {
+
+    // username -> position (1 = next), per class session
+    private final Map<Long, Map<String, Long>> queues = new ConcurrentHashMap<>();
+
+    // Replace a session's queue with the waiting members loaded in FIFO order. Reloads of one
+    // session run one at a time, so a slow reload can never overwrite a newer one
+    public void reload(Long classSessionId, Supplier<List<String>> waitingUsernames) {
+        queues.compute(classSessionId, (id, old) -> snapshot(waitingUsernames.get()));
+    }
+
+    public void replaceAll(Map<Long, List<String>> waitingUsernamesBySession) {
+        queues.clear();
+        waitingUsernamesBySession.forEach((classSessionId, usernames) -> queues.put(classSessionId, snapshot(usernames)));
+    }
+
+    // O(1) position lookup
+    public OptionalLong position(Long classSessionId, String username) {
+        Map<String, Long> queue = queues.get(classSessionId);
+        Long position = queue == null ? null : queue.get(username);
+        return position == null ? OptionalLong.empty() : OptionalLong.of(position);
+    }
+
+    private static Map<String, Long> snapshot(List<String> usernames) {
+        if (usernames.isEmpty()) {
+            return null;
+        }
+        Map<String, Long> positions = new HashMap<>();
+        long position = 0;
+        for (String username : usernames) {
+            positions.putIfAbsent(username, ++position);
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,194 @@
+package com.gym_management_backend.services;
+
+import com.gym_management_backend.cache.CacheInvalidationListener;
+import com.gym_management_backend.dto.WaitlistPositionResponse;
+import com.gym_management_backend.entities.ClassBooking;
+import com.gym_management_backend.entities.ClassSession;
+import com.gym_management_backend.entities.ClassWaitlistEntry;
+import com.gym_management_backend.entities.ClassWaitlistEntry.Status;
+import com.gym_management_backend.entities.User;
+import com.gym_management_backend.repositories.ClassBookingRepository;
+import com.gym_management_backend.repositories.ClassSessionRepository;
+import com.gym_management_backend.repositories.ClassWaitlistRepository;
+import com.gym_management_backend.repositories.UserRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+@Service
+@Transactional
+public class ClassWaitlistService implements CacheInvalidationListener {
+
+    private static final String ENTITY_TYPE = ClassWaitlistEntry.class.getSimpleName();
+
+    private final UserRepository userRepository;
+    private final ClassSessionRepository classSessionRepository;
+    private final ClassBookingRepository classBookingRepository;
+    private final ClassWaitlistRepository classWaitlistRepository;
+
+    private final ClassWaitlistQueue queue = new ClassWaitlistQueue();
+
+    public ClassWaitlistService(UserRepository userRepository,
+                                ClassSessionRepository classSessionRepository,
+                                ClassBookingRepository classBookingRepository,
+                                ClassWaitlistRepository classWaitlistRepository) {
+        this.userRepository = userRepository;
+        this.classSessionRepository = classSessionRepository;
+        this.classBookingRepository = classBookingRepository;
+        this.classWaitlistRepository = classWaitlistRepository;
+    }
+
+    // Rebuild the in-memory queues from the persisted waitlist on startup
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildQueues() {
+        Map<Long, List<String>> waiting = new HashMap<>();
+        for (ClassWaitlistEntry entry : classWaitlistRepository.findAllByStatusInOrder(Status.WAITING)) {
+            waiting.computeIfAbsent(entry.getClassSession().getId(), id -> new ArrayList<>())
+                    .add(entry.getMember().getUsername());
+        }
+        queue.replaceAll(waiting);
+    }
+
+    // Member joins the waitlist of a fully booked class session
+    public WaitlistPositionResponse joinWaitlist(String username, Long classSessionId) {
+        User member = userRepository.findByUsername(username)
+                .orElseThrow(() -> new IllegalArgumentException("Member not found"));
+
+        // Same row lock as booking and cancelling, so joins and promotions of one class run one at a time
+        ClassSession classSession = classSessionRepository.findByIdForUpdate(classSessionId)
+                .orElseThrow(() -> new IllegalArgumentException("Class session not found"));
+
+        if (classWaitlistRepository.findByClassSessionIdAndMemberIdAndStatus(classSessionId, member.getId(), Status.WAITING).isPresent()) {
+            throw new IllegalStateException("You are already on the waitlist for this class");
+        }
+        if (classSession.getMaxCapacity() == null
+                || classBookingRepository.countByClassSessionIdAndActiveTrue(classSessionId) < classSession.getMaxCapacity()) {
+            throw new IllegalStateException("Class still has free seats, book it directly");
+        }
+        if (classBookingRepository.existsByClassSessionIdAndMemberIdAndActiveTrue(classSessionId, member.getId())) {
+            throw new IllegalStateException("You have already booked this class session");
+        }
+
+        classWaitlistRepository.save(ClassWaitlistEntry.builder()
+                .member(member)
+                .classSession(classSession)
+                .joinedAt(LocalDateTime.now())
+                .status(Status.WAITING)
+                .build());
+
+        // Everyone else still waiting joined before us, and the session lock keeps it that way until commit
+        long position = classWaitlistRepository.countByClassSessionIdAndStatus(classSessionId, Status.WAITING);
+        reloadAfterCompletion(classSessionId);
+        return toResponse(classSessionId, OptionalLong.of(position));
+    }
+
+    // O(1) queue position lookup, served from memory without touching the database
+    @Transactional(readOnly = true)
+    public WaitlistPositionResponse getPosition(String username, Long classSessionId) {
+        return toResponse(classSessionId, queue.position(classSessionId, username));
+    }
+
+    // Member leaves the waitlist
+    public void leaveWaitlist(String username, Long classSessionId) {
+        User member = userRepository.findByUsername(username)
+                .orElseThrow(() -> new IllegalArgumentException("Member not found"));
+        classSessionRepository.findByIdForUpdate(classSessionId)
+                .orElseThrow(() -> new IllegalArgumentException("Class session not found"));
+
+        ClassWaitlistEntry entry = classWaitlistRepository
+                .findByClassSessionIdAndMemberIdAndStatus(classSessionId, member.getId(), Status.WAITING)
+                .orElseThrow(() -> new IllegalArgumentException("You are not on the waitlist for this class"));
+        entry.setStatus(Status.LEFT);
+        reloadAfterCompletion(classSessionId);
+    }
+
+    /**
+     * Moves the next waiting member into a freed seat. Runs inside the caller's
+     * transaction, which must hold the session row lock (findByIdForUpdate), so the
+     * cancellation and the promotion commit together. The next member is read from the
+     * table rather than the in-memory queue, which may miss joins made on other nodes.
+     */
+    public Optional<ClassBooking> promoteNext(ClassSession classSession) {
+        Long classSessionId = classSession.getId();
+        if (classSession.getMaxCapacity() != null
+                && classBookingRepository.countByClassSessionIdAndActiveTrue(classSessionId) >= classSession.getMaxCapacity()) {
+            return Optional.empty();
+        }
+
+        List<ClassWaitlistEntry> waiting = classWaitlistRepository.findByClassSessionIdAndStatusInOrder(classSessionId, Status.WAITING);
+        if (!waiting.isEmpty()) {
+            reloadAfterCompletion(classSessionId);
+        }
+        for (ClassWaitlistEntry entry : waiting) {
+            // Skip members who got a seat some other way while queued
+            if (classBookingRepository.existsByClassSessionIdAndMemberIdAndActiveTrue(classSessionId, entry.getMember().getId())) {
+                entry.setStatus(Status.SKIPPED);
+                continue;
+            }
+
+            entry.setStatus(Status.PROMOTED);
+
+            ClassBooking booking = ClassBooking.builder()
+                    .member(entry.getMember())
+                    .classSession(classSession)
+                    .bookedAt(LocalDateTime.now())
+                    .active(true)
+                    .present(false)
+                    .build();
+            return Optional.of(classBookingRepository.save(booking));
+        }
+        return Optional.empty();
+    }
+
+    // Waitlist changes committed on another node
+    @Override
+    public void invalidate(String entityType, long entityId) {
+        if (ENTITY_TYPE.equals(entityType)) {
+            classWaitlistRepository.findClassSessionIdById(entityId).ifPresent(this::reloadSession);
+        }
+    }
+
+    @Override
+    public void evictAll() {
+        rebuildQueues();
+    }
+
+    // Once the surrounding transaction has finished, either way, reload this session's queue from the table.
+    // Reloading instead of enqueueing keeps the queue in commit order when two joins finish out of order
+    private void reloadAfterCompletion(Long classSessionId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reloadSession(classSessionId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                reloadSession(classSessionId);
+            }
+        });
+    }
+
+    private void reloadSession(Long classSessionId) {
+        queue.reload(classSessionId, () ->
+                classWaitlistRepository.findUsernamesByClassSessionIdAndStatusInOrder(classSessionId, Status.WAITING));
+    }
+
+    private WaitlistPositionResponse toResponse(Long classSessionId, OptionalLong position) {
+        WaitlistPositionResponse resp = new WaitlistPositionResponse();
+        resp.setClassSessionId(classSessionId);
+        resp.setWaiting(position.isPresent());
+        resp.setPosition(position.isPresent() ? position.getAsLong() : null);
+        return resp;
+    }
+}
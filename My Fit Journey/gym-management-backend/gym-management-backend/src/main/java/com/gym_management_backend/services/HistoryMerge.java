@@ -0,0 +1,61 @@
+package com.gym_management_backend.services;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Pages a newest-first history over the live table and its archive as if they were one.
+ * Archived rows are old, so most pages are the live page plus one indexed probe of the
+ * archive: either confirming that nothing archived sorts above the page's last row, or,
+ * on the page where the live rows run out, fetching the archived rows that follow them.
+ * Only when the two sources interleave are the first (page + 1) * size rows of both merged.
+ */
+final class HistoryMerge {
+
+    private HistoryMerge() {
+    }
+
+    /**
+     * @param hot               a page of the live table
+     * @param archivedNewerThan archived rows sorting before the given row (all rows if null), newest first, up to the page size
+     * @param newestFirst       the order both sources are sorted by
+     */
+    static <T> Slice<T> page(Pageable pageable,
+                             Function<Pageable, Slice<T>> hot,
+                             BiFunction<T, Pageable, List<T>> archivedNewerThan,
+                             Comparator<T> newestFirst) {
+        Slice<T> hotPage = hot.apply(pageable);
+        List<T> rows = hotPage.getContent();
+        if (hotPage.hasNext()) {
+            if (archivedNewerThan.apply(rows.get(rows.size() - 1), PageRequest.of(0, 1)).isEmpty()) {
+                return hotPage;
+            }
+        } else if (!rows.isEmpty()) {
+            // The live rows end on this page: the archived rows follow unless one sorts above them
+            int free = pageable.getPageSize() - rows.size();
+            List<T> archived = archivedNewerThan.apply(null, PageRequest.of(0, free + 1));
+            if (archived.isEmpty() || newestFirst.compare(rows.get(rows.size() - 1), archived.get(0)) <= 0) {
+                List<T> content = new ArrayList<>(rows);
+                content.addAll(archived.subList(0, Math.min(free, archived.size())));
+                return new SliceImpl<>(content, pageable, archived.size() > free);
+            }
+        }
+
+        int end = (int) pageable.getOffset() + pageable.getPageSize();
+        Pageable window = PageRequest.of(0, end + 1);
+        List<T> merged = new ArrayList<>(hot.apply(window).getContent());
+        merged.addAll(archivedNewerThan.apply(null, window));
+        merged.sort(newestFirst);
+        int from = Math.min((int) pageable.getOffset(), merged.size());
+        List<T> content = new ArrayList<>(merged.subList(from, Math.min(end, merged.size())));
+        return new SliceImpl<>(content, pageable, merged.size() > end);
+    }
+}
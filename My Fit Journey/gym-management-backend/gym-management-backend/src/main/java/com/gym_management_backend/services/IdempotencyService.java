@@ -0,0 +1,228 @@
+package com.gym_management_backend.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gym_management_backend.config.IdempotencyProperties;
+import com.gym_management_backend.entities.IdempotencyRecord;
+import com.gym_management_backend.metrics.GymMetrics;
+import com.gym_management_backend.metrics.Outcomes;
+import com.gym_management_backend.repositories.IdempotencyRecordRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Runs a write at most once per (user, Idempotency-Key). A retried request gets the
+ * original response back without running the write again. A duplicate that arrives while
+ * the original is still running waits for its result: in memory on the same node, and
+ * through the unique key on idempotency_keys across nodes.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String COUNTER = "gym.idempotency.requests";
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final long POLL_MS = 50;
+
+    private final IdempotencyRecordRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final GymMetrics metrics;
+    private final long memoryTtlMs;
+    private final long retentionMs;
+    private final long waitTimeoutMs;
+
+    // "username:key" -> result of the first request, in flight or completed
+    private final Map<String, Entry> recent = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyRecordRepository repository,
+                              PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper,
+                              GymMetrics metrics,
+                              IdempotencyProperties properties) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+        this.memoryTtlMs = properties.getMemoryTtlMs();
+        this.retentionMs = properties.getRetentionMs();
+        this.waitTimeoutMs = properties.getWaitTimeoutMs();
+    }
+
+    public record Result<T>(T body, boolean replayed) {
+    }
+
+    /**
+     * Runs action once for this user and key, or returns the stored response of the earlier
+     * run. Without a key the action simply runs. The action's own transaction joins the one
+     * that stores the response, so the write and its key commit (or roll back) together;
+     * a failed request leaves no key behind and can be retried.
+     */
+    public <T> Result<T> execute(String username, String key, String operation, Object request,
+                                 Class<T> responseType, Supplier<T> action) {
+        if (key == null) {
+            return new Result<>(action.get(), false);
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String requestHash = hash(operation, request);
+        String cacheKey = username + ':' + key;
+
+        Entry mine = new Entry(System.currentTimeMillis());
+        Entry existing = recent.putIfAbsent(cacheKey, mine);
+        if (existing != null) {
+            return replay(operation, requestHash, await(existing), responseType);
+        }
+
+        try {
+            Optional<IdempotencyRecord> stored = repository.findByUsernameAndIdempotencyKey(username, key);
+            if (stored.isPresent()) {
+                mine.result.complete(stored.get());
+                return replay(operation, requestHash, stored.get(), responseType);
+            }
+            IdempotencyRecord record;
+            T body;
+            try {
+                record = IdempotencyRecord.builder()
+                        .username(username)
+                        .idempotencyKey(key)
+                        .requestHash(requestHash)
+                        .createdAt(System.currentTimeMillis())
+                        .build();
+                body = transactionTemplate.execute(status -> {
+                    claim(record);
+                    T response = action.get();
+                    record.setResponseBody(toJson(response));
+                    return response;
+                });
+            } catch (KeyTakenException e) {
+                // Another node ran (or is running) the same request; its row shows up when it commits
+                IdempotencyRecord other = awaitStored(username, key);
+                mine.result.complete(other);
+                return replay(operation, requestHash, other, responseType);
+            }
+            mine.result.complete(record);
+            metrics.increment(COUNTER, operation, Outcomes.SUCCESS);
+            return new Result<>(body, false);
+        } catch (RuntimeException | Error e) {
+            // Not remembered: duplicates already waiting get the same error, later retries run again
+            recent.remove(cacheKey, mine);
+            mine.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // Completed responses leave memory after gym.idempotency.memory-ttl-ms; the table keeps them longer
+    @Scheduled(fixedDelayString = "${gym.idempotency.purge-ms:600000}")
+    public void purge() {
+        long now = System.currentTimeMillis();
+        recent.values().removeIf(entry -> entry.result.isDone() && now - entry.createdAt > memoryTtlMs);
+        repository.deleteOlderThan(now - retentionMs);
+    }
+
+    private void claim(IdempotencyRecord record) {
+        try {
+            repository.saveAndFlush(record);
+        } catch (DataIntegrityViolationException | PessimisticLockingFailureException e) {
+            throw new KeyTakenException();
+        }
+    }
+
+    private IdempotencyRecord await(Entry entry) {
+        try {
+            return entry.result.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("A request with this " + HEADER + " is still in progress");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("The original request failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the original request", e);
+        }
+    }
+
+    private IdempotencyRecord awaitStored(String username, String key) {
+        long deadline = System.currentTimeMillis() + waitTimeoutMs;
+        while (true) {
+            Optional<IdempotencyRecord> stored = repository.findByUsernameAndIdempotencyKey(username, key);
+            if (stored.isPresent()) {
+                return stored.get();
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                throw new IllegalStateException("A request with this " + HEADER + " is still in progress");
+            }
+            try {
+                Thread.sleep(POLL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the original request", e);
+            }
+        }
+    }
+
+    private <T> Result<T> replay(String operation, String requestHash, IdempotencyRecord record, Class<T> responseType) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            metrics.increment(COUNTER, operation, Outcomes.CONFLICT);
+            throw new IllegalStateException(HEADER + " was already used for a different request");
+        }
+        metrics.increment(COUNTER, operation, Outcomes.REPLAYED);
+        try {
+            return new Result<>(objectMapper.readValue(record.getResponseBody(), responseType), true);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored response could not be read", e);
+        }
+    }
+
+    private String hash(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Could not fingerprint the request", e);
+        }
+    }
+
+    private String toJson(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Response could not be stored", e);
+        }
+    }
+
+    private static final class Entry {
+        private final long createdAt;
+        private final CompletableFuture<IdempotencyRecord> result = new CompletableFuture<>();
+
+        private Entry(long createdAt) {
+            this.createdAt = createdAt;
+        }
+    }
+
+    private static final class KeyTakenException extends RuntimeException {
+        private KeyTakenException() {
+            super(null, null, false, false);
+        }
+    }
+}
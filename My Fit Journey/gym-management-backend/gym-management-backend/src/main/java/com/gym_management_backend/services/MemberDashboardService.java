@@ -0,0 +1,136 @@
+package com.gym_management_backend.services;
+
+import com.gym_management_backend.cache.StaleReadCache;
+import com.gym_management_backend.config.DashboardProperties;
+import com.gym_management_backend.dto.MemberDashboardResponse;
+import com.gym_management_backend.metrics.GymMetrics;
+import com.gym_management_backend.metrics.Outcomes;
+import com.gym_management_backend.metrics.QueryStats;
+import com.gym_management_backend.repositories.PlanRepository;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Everything the member home screen shows, in one call. The sections are independent reads
+ * submitted together to a bounded pool, so the page takes about as long as its slowest
+ * section rather than the sum of all four. Each section has its own deadline; one that misses
+ * it, fails, or finds the pool full is left out and named in the response, and the rest are
+ * still returned. Plans and available classes go through the same StaleReadCache entries as
+ * /api/plans and /api/member/classes/available, so they share one load with those endpoints.
+ */
+@Service
+public class MemberDashboardService implements DisposableBean {
+
+    static final String PLANS = "plans";
+    static final String PLAN_BOOKINGS = "planBookings";
+    static final String CLASS_BOOKINGS = "classBookings";
+    static final String AVAILABLE_CLASSES = "availableClasses";
+
+    private static final Logger log = LoggerFactory.getLogger(MemberDashboardService.class);
+
+    private static final String TIMER = "gym.dashboard";
+
+    private final PlanRepository planRepository;
+    private final UserPlanService userPlanService;
+    private final ClassBookingService classBookingService;
+    private final StaleReadCache staleReadCache;
+    private final DashboardProperties properties;
+    private final GymMetrics metrics;
+    private final ThreadPoolExecutor executor;
+
+    public MemberDashboardService(PlanRepository planRepository,
+                                  UserPlanService userPlanService,
+                                  ClassBookingService classBookingService,
+                                  StaleReadCache staleReadCache,
+                                  DashboardProperties properties,
+                                  GymMetrics metrics) {
+        this.planRepository = planRepository;
+        this.userPlanService = userPlanService;
+        this.classBookingService = classBookingService;
+        this.staleReadCache = staleReadCache;
+        this.properties = properties;
+        this.metrics = metrics;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(),
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()), runnable -> {
+                    Thread thread = new Thread(runnable, "dashboard-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public MemberDashboardResponse load(String username) {
+        long startNanos = System.nanoTime();
+        PageRequest history = PageRequest.of(0, properties.getHistorySize());
+        Section<?> plans = submit(PLANS, () -> staleReadCache.get(StaleReadCache.PLANS, planRepository::findAll).value());
+        Section<?> planBookings = submit(PLAN_BOOKINGS,
+                () -> userPlanService.getBookingsForUser(username, history).getContent());
+        Section<?> classBookings = submit(CLASS_BOOKINGS,
+                () -> classBookingService.getBookingsForMember(username, history).getContent());
+        Section<?> availableClasses = submit(AVAILABLE_CLASSES, () -> ClassBookingService.notStarted(
+                staleReadCache.get(StaleReadCache.AVAILABLE_CLASSES, classBookingService::listAvailableClasses).value()));
+
+        MemberDashboardResponse response = new MemberDashboardResponse();
+        response.setPlans(await(plans, startNanos, response));
+        response.setPlanBookings(await(planBookings, startNanos, response));
+        response.setClassBookings(await(classBookings, startNanos, response));
+        response.setAvailableClasses(await(availableClasses, startNanos, response));
+        return response;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private record Section<T>(String name, Future<T> future, Timer.Sample sample) {
+    }
+
+    // The caller's security context goes along, so replica routing still sends a member who just wrote to the primary,
+    // and so do its query statistics, so the sections count against the request's query budget
+    private <T> Section<T> submit(String name, Callable<T> read) {
+        Timer.Sample sample = metrics.startTimer();
+        try {
+            return new Section<>(name, executor.submit(new DelegatingSecurityContextCallable<>(QueryStats.propagate(read))), sample);
+        } catch (RejectedExecutionException e) {
+            return new Section<>(name, null, sample);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T await(Section<?> section, long startNanos, MemberDashboardResponse response) {
+        String outcome;
+        if (section.future() == null) {
+            outcome = Outcomes.REJECTED;
+        } else {
+            long timeoutMs = properties.getSectionTimeoutMs().getOrDefault(section.name(), properties.getTimeoutMs());
+            long remaining = startNanos + TimeUnit.MILLISECONDS.toNanos(timeoutMs) - System.nanoTime();
+            try {
+                T value = (T) section.future().get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+                metrics.stopTimer(section.sample(), TIMER, section.name(), Outcomes.SUCCESS);
+                return value;
+            } catch (TimeoutException e) {
+                section.future().cancel(true);
+                outcome = Outcomes.TIMEOUT;
+            } catch (ExecutionException e) {
+                log.warn("Dashboard section {} failed", section.name(), e.getCause());
+                outcome = Outcomes.ERROR;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                section.future().cancel(true);
+                outcome = Outcomes.ERROR;
+            }
+        }
+        response.getUnavailable().put(section.name(), outcome);
+        metrics.stopTimer(section.sample(), TIMER, section.name(), outcome);
+        return null;
+    }
+}
@@ -0,0 +1,85 @@
+package com.gym_management_backend.services;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Pay for one trainer and month. The monthly salary is pro-rated by day across the terms
+ * in force during the month; each class is paid at the per-class and per-attendee rates
+ * in force on its date.
+ */
+final class PayrollCalculator {
+
+    // Pay terms from one salary history row
+    record Terms(LocalDate effectiveFrom, BigDecimal salary, BigDecimal perClassRate, BigDecimal perAttendeeRate) {
+    }
+
+    // One class taught in the month and how many booked members attended it
+    record TaughtClass(LocalDate date, int attendees) {
+    }
+
+    record Pay(long trainerId, BigDecimal basePay, int classesTaught, BigDecimal classPay,
+               int attendees, BigDecimal attendancePay) {
+
+        BigDecimal totalPay() {
+            return basePay.add(classPay).add(attendancePay);
+        }
+    }
+
+    private PayrollCalculator() {
+    }
+
+    // terms must be in effectiveFrom order; terms starting after the month are ignored
+    static Pay compute(long trainerId, YearMonth month, List<Terms> terms, List<TaughtClass> classes) {
+        LocalDate first = month.atDay(1);
+        LocalDate afterLast = month.plusMonths(1).atDay(1);
+        BigDecimal daysInMonth = BigDecimal.valueOf(month.lengthOfMonth());
+
+        TreeMap<LocalDate, Terms> byDate = new TreeMap<>();
+        for (Terms t : terms) {
+            byDate.put(t.effectiveFrom(), t);
+        }
+
+        BigDecimal base = BigDecimal.ZERO;
+        for (Map.Entry<LocalDate, Terms> entry : byDate.headMap(afterLast).entrySet()) {
+            LocalDate from = entry.getKey().isBefore(first) ? first : entry.getKey();
+            LocalDate next = byDate.higherKey(entry.getKey());
+            LocalDate until = next == null || next.isAfter(afterLast) ? afterLast : next;
+            long days = ChronoUnit.DAYS.between(from, until);
+            if (days > 0) {
+                base = base.add(entry.getValue().salary().multiply(BigDecimal.valueOf(days))
+                        .divide(daysInMonth, 6, RoundingMode.HALF_UP));
+            }
+        }
+
+        BigDecimal classPay = BigDecimal.ZERO;
+        BigDecimal attendancePay = BigDecimal.ZERO;
+        int attendees = 0;
+        for (TaughtClass taught : classes) {
+            Map.Entry<LocalDate, Terms> entry = byDate.floorEntry(taught.date());
+            attendees += taught.attendees();
+            if (entry == null) {
+                continue;
+            }
+            Terms t = entry.getValue();
+            if (t.perClassRate() != null) {
+                classPay = classPay.add(t.perClassRate());
+            }
+            if (t.perAttendeeRate() != null) {
+                attendancePay = attendancePay.add(t.perAttendeeRate().multiply(BigDecimal.valueOf(taught.attendees())));
+            }
+        }
+
+        return new Pay(trainerId, money(base), classes.size(), money(classPay), attendees, money(attendancePay));
+    }
+
+    private static BigDecimal money(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,295 @@
+package com.gym_management_backend.services;
+
+import com.gym_management_backend.config.BatchJobRunner;
+import com.gym_management_backend.config.PayrollProperties;
+import com.gym_management_backend.entities.PayrollRun;
+import com.gym_management_backend.entities.Revenue;
+import com.gym_management_backend.metrics.GymMetrics;
+import com.gym_management_backend.metrics.Outcomes;
+import com.gym_management_backend.repositories.PayrollRunRepository;
+import com.gym_management_backend.repositories.RevenueRepository;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Monthly trainer payroll. Trainers are split into id-ordered chunks that are processed
+ * in parallel: each chunk reads its trainers' salary history and classes with two range
+ * queries, computes pay, and writes the payslips in one JDBC batch. The month's total
+ * becomes the trainerSalaries figure of the revenue row for the last day of the month;
+ * payroll owns that figure and replaces whatever was entered there by hand.
+ */
+@Service
+public class PayrollService {
+
+    private static final Logger log = LoggerFactory.getLogger(PayrollService.class);
+    private static final String TIMER = "gym.payroll.run";
+
+    private static final String TRAINERS_SQL = "SELECT id FROM users WHERE role = 'TRAINER' ORDER BY id";
+
+    private static final String TERMS_SQL =
+            "SELECT trainer_id, effective_from, salary, per_class_rate, per_attendee_rate FROM trainer_salary_history " +
+            "WHERE trainer_id BETWEEN ? AND ? AND effective_from < ? ORDER BY trainer_id, effective_from";
+
+    // Trainers whose salary was set before history was kept have their current row; it applies until their
+    // first history row (history written before the first change was backfilled does not need it)
+    private static final String LEGACY_TERMS_SQL =
+            "SELECT trainer_id, effective_from, salary FROM trainer_salaries " +
+            "WHERE trainer_id BETWEEN ? AND ? AND effective_from < ?";
+
+    private static final String CLASSES_SQL =
+            "SELECT cs.trainer_id, cs.scheduled_at, " +
+            "COALESCE(SUM(CASE WHEN b.active = TRUE AND b.present = TRUE THEN 1 ELSE 0 END), 0) " +
+            "FROM class_sessions cs LEFT JOIN class_bookings b ON b.class_session_id = cs.id " +
+            "WHERE cs.trainer_id BETWEEN ? AND ? AND cs.scheduled_at >= ? AND cs.scheduled_at < ? " +
+            "GROUP BY cs.id, cs.trainer_id, cs.scheduled_at " +
+            // Months past the archive horizon (a failed run repeated late) are paid from the archive
+            "UNION ALL " +
+            "SELECT cs.trainer_id, cs.scheduled_at, " +
+            "COALESCE(SUM(CASE WHEN b.active = TRUE AND b.present = TRUE THEN 1 ELSE 0 END), 0) " +
+            "FROM class_sessions_archive cs LEFT JOIN class_bookings_archive b ON b.class_session_id = cs.id " +
+            "WHERE cs.trainer_id BETWEEN ? AND ? AND cs.scheduled_at >= ? AND cs.scheduled_at < ? " +
+            "GROUP BY cs.id, cs.trainer_id, cs.scheduled_at";
+
+    private static final String INSERT_PAYSLIP_SQL =
+            "INSERT INTO payslips (payroll_run_id, trainer_id, base_pay, classes_taught, class_pay, attendees, " +
+            "attendance_pay, total_pay, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final PayrollRunRepository payrollRunRepository;
+    private final RevenueRepository revenueRepository;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final GymMetrics metrics;
+    private final BatchJobRunner batchJobs;
+    private final int chunkSize;
+    private final int threads;
+    private final long staleRunMs;
+
+    public PayrollService(PayrollRunRepository payrollRunRepository,
+                          RevenueRepository revenueRepository,
+                          JdbcTemplate jdbc,
+                          PlatformTransactionManager transactionManager,
+                          GymMetrics metrics,
+                          PayrollProperties properties,
+                          BatchJobRunner batchJobs) {
+        this.payrollRunRepository = payrollRunRepository;
+        this.revenueRepository = revenueRepository;
+        this.jdbc = jdbc;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.metrics = metrics;
+        this.chunkSize = properties.getChunkSize();
+        this.threads = properties.getThreads();
+        this.staleRunMs = properties.getStaleRunMs();
+        this.batchJobs = batchJobs;
+    }
+
+    // Pay last month on the first of each month (gym.payroll.cron, "-" disables), on the batch job thread;
+    // a month already paid is skipped
+    @Scheduled(cron = "${gym.payroll.cron:0 0 3 1 * *}")
+    public void runPreviousMonth() {
+        YearMonth month = YearMonth.now().minusMonths(1);
+        batchJobs.submit("payroll", () -> {
+            try {
+                run(month);
+            } catch (IllegalStateException e) {
+                log.info("Payroll for {} not started: {}", month, e.getMessage());
+            }
+        });
+    }
+
+    // Computes and stores payslips for every trainer for the month; throws IllegalStateException if it already ran
+    public PayrollRun run(YearMonth month) {
+        Timer.Sample sample = metrics.startTimer();
+        long started = System.nanoTime();
+        PayrollRun run = start(month);
+        try {
+            List<Long> trainerIds = jdbc.queryForList(TRAINERS_SQL, Long.class);
+            List<List<Long>> chunks = new ArrayList<>();
+            for (int i = 0; i < trainerIds.size(); i += chunkSize) {
+                chunks.add(trainerIds.subList(i, Math.min(i + chunkSize, trainerIds.size())));
+            }
+
+            BigDecimal total = BigDecimal.ZERO;
+            ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, chunks.size())));
+            try {
+                List<Future<BigDecimal>> results = new ArrayList<>();
+                for (List<Long> chunk : chunks) {
+                    results.add(pool.submit(() -> processChunk(run, month, chunk)));
+                }
+                for (Future<BigDecimal> result : results) {
+                    total = total.add(result.get());
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+
+            long durationMs = (System.nanoTime() - started) / 1_000_000;
+            PayrollRun finished = finish(run, month, trainerIds.size(), total, durationMs);
+            log.info("Payroll for {}: {} trainers, total {} in {} ms", month, trainerIds.size(), total, durationMs);
+            metrics.stopTimer(sample, TIMER, "run", Outcomes.SUCCESS);
+            return finished;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(run);
+            metrics.stopTimer(sample, TIMER, "run", Outcomes.ERROR);
+            throw new IllegalStateException("Payroll run interrupted", e);
+        } catch (ExecutionException | RuntimeException e) {
+            fail(run);
+            metrics.stopTimer(sample, TIMER, "run", Outcomes.ERROR);
+            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            throw new IllegalStateException("Payroll for " + month + " failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Claims the month: a new run row, or a failed run reset (its partial payslips removed).
+     * A run RUNNING for longer than gym.payroll.stale-run-ms is taken over the same way; its
+     * startedAt changes, so the old run can no longer write, finish or fail it.
+     */
+    private PayrollRun start(YearMonth month) {
+        try {
+            return transactionTemplate.execute(status -> {
+                PayrollRun run = payrollRunRepository.findByPeriodStart(month.atDay(1))
+                        .orElseGet(() -> PayrollRun.builder().periodStart(month.atDay(1)).build());
+                if (run.getStatus() == PayrollRun.Status.COMPLETED
+                        || run.getStatus() == PayrollRun.Status.RUNNING && !isStale(run)) {
+                    throw new IllegalStateException("Payroll for " + month + " is already " + run.getStatus());
+                }
+                if (run.getStatus() == PayrollRun.Status.RUNNING) {
+                    log.warn("Payroll for {} has been running since {}; taking it over", month, run.getStartedAt());
+                }
+                if (run.getId() != null) {
+                    jdbc.update("DELETE FROM payslips WHERE payroll_run_id = ?", run.getId());
+                }
+                run.setStatus(PayrollRun.Status.RUNNING);
+                run.setStartedAt(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS));
+                run.setFinishedAt(null);
+                run.setTrainerCount(null);
+                run.setTotalCost(null);
+                run.setDurationMs(null);
+                return payrollRunRepository.saveAndFlush(run);
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("Payroll for " + month + " was started by another node", e);
+        }
+    }
+
+    private boolean isStale(PayrollRun run) {
+        return run.getStartedAt() == null
+                || run.getStartedAt().isBefore(LocalDateTime.now().minus(staleRunMs, ChronoUnit.MILLIS));
+    }
+
+    // Locks the run row until the calling transaction ends and checks it was not taken over meanwhile
+    private void checkOwned(PayrollRun run) {
+        List<Long> owned = jdbc.queryForList(
+                "SELECT id FROM payroll_runs WHERE id = ? AND status = 'RUNNING' AND started_at = ? FOR UPDATE",
+                Long.class, run.getId(), Timestamp.valueOf(run.getStartedAt()));
+        if (owned.isEmpty()) {
+            throw new IllegalStateException("Payroll for " + run.getPeriodStart() + " was taken over by another run");
+        }
+    }
+
+    private BigDecimal processChunk(PayrollRun run, YearMonth month, List<Long> trainerIds) {
+        long low = trainerIds.get(0);
+        long high = trainerIds.get(trainerIds.size() - 1);
+        Date afterLast = Date.valueOf(month.plusMonths(1).atDay(1));
+
+        Map<Long, List<PayrollCalculator.Terms>> terms = new HashMap<>();
+        jdbc.query(TERMS_SQL, rs -> {
+            terms.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(new PayrollCalculator.Terms(
+                    rs.getDate(2).toLocalDate(), rs.getBigDecimal(3), rs.getBigDecimal(4), rs.getBigDecimal(5)));
+        }, low, high, afterLast);
+        LocalDate first = month.atDay(1);
+        jdbc.query(LEGACY_TERMS_SQL, rs -> {
+            PayrollCalculator.Terms legacy = new PayrollCalculator.Terms(
+                    rs.getDate(2).toLocalDate(), rs.getBigDecimal(3), null, null);
+            List<PayrollCalculator.Terms> history = terms.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>());
+            // Only when no history row covers the start of the month, as the earliest terms
+            if (history.isEmpty() || history.get(0).effectiveFrom().isAfter(first)
+                    && legacy.effectiveFrom().isBefore(history.get(0).effectiveFrom())) {
+                history.add(0, legacy);
+            }
+        }, low, high, afterLast);
+
+        Map<Long, List<PayrollCalculator.TaughtClass>> classes = new HashMap<>();
+        Timestamp monthStart = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+        Timestamp monthEnd = Timestamp.valueOf(afterLast.toLocalDate().atStartOfDay());
+        jdbc.query(CLASSES_SQL, rs -> {
+            classes.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(new PayrollCalculator.TaughtClass(
+                    rs.getTimestamp(2).toLocalDateTime().toLocalDate(), rs.getInt(3)));
+        }, low, high, monthStart, monthEnd, low, high, monthStart, monthEnd);
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        BigDecimal total = BigDecimal.ZERO;
+        List<Object[]> rows = new ArrayList<>(trainerIds.size());
+        for (Long trainerId : trainerIds) {
+            PayrollCalculator.Pay pay = PayrollCalculator.compute(trainerId, month,
+                    terms.getOrDefault(trainerId, List.of()), classes.getOrDefault(trainerId, List.of()));
+            total = total.add(pay.totalPay());
+            rows.add(new Object[]{run.getId(), trainerId, pay.basePay(), pay.classesTaught(), pay.classPay(),
+                    pay.attendees(), pay.attendancePay(), pay.totalPay(), now});
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            checkOwned(run);
+            jdbc.batchUpdate(INSERT_PAYSLIP_SQL, rows);
+        });
+        return total;
+    }
+
+    private PayrollRun finish(PayrollRun started, YearMonth month, int trainerCount, BigDecimal total, long durationMs) {
+        return transactionTemplate.execute(status -> {
+            checkOwned(started);
+            PayrollRun run = payrollRunRepository.findById(started.getId()).orElseThrow();
+            run.setStatus(PayrollRun.Status.COMPLETED);
+            run.setTrainerCount(trainerCount);
+            run.setTotalCost(total);
+            run.setFinishedAt(LocalDateTime.now());
+            run.setDurationMs(durationMs);
+
+            LocalDate revenueDate = month.atEndOfMonth();
+            Revenue revenue = revenueRepository.findByRevenueDate(revenueDate)
+                    .orElseGet(() -> Revenue.builder()
+                            .revenueDate(revenueDate)
+                            .incomeFromPlans(BigDecimal.ZERO)
+                            .equipmentCosts(BigDecimal.ZERO)
+                            .build());
+            // Replaced, not added to: the payslips are the complete salary cost of the month
+            revenue.setTrainerSalaries(total);
+            revenueRepository.save(revenue);
+            return run;
+        });
+    }
+
+    // Partial payslips are dropped so the month can be run again; a run taken over is left to its new owner
+    private void fail(PayrollRun started) {
+        transactionTemplate.executeWithoutResult(status -> {
+            payrollRunRepository.findById(started.getId())
+                    .filter(run -> run.getStatus() == PayrollRun.Status.RUNNING
+                            && started.getStartedAt().equals(run.getStartedAt()))
+                    .ifPresent(run -> {
+                        jdbc.update("DELETE FROM payslips WHERE payroll_run_id = ?", run.getId());
+                        run.setStatus(PayrollRun.Status.FAILED);
+                        run.setFinishedAt(LocalDateTime.now());
+                    });
+        });
+    }
+}
@@ -0,0 +1,9 @@
+package com.gym_management_backend.services;
+
+// A new or moved class overlaps another class of the same trainer
+public class ScheduleConflictException extends IllegalStateException {
+
+    public ScheduleConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,207 @@
+package com.gym_management_backend.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gym_management_backend.dto.SeatAvailabilityUpdate;
+import com.gym_management_backend.repositories.ClassSessionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes seat-count changes to members over Server-Sent Events.
+ *
+ * Writers only mark a session as changed; a scheduled flush coalesces all changes
+ * within the window into one aggregate query and one event per changed session.
+ * Subscribers are async servlet responses, so an idle connection holds no thread.
+ * Events are written by a small pool of sender threads, never by the scheduler: each
+ * subscriber has a bounded buffer drained by at most one sender at a time, and a
+ * subscriber whose buffer fills up (it stopped reading) is dropped.
+ */
+@Service
+public class SeatAvailabilityPublisher implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatAvailabilityPublisher.class);
+
+    private final ClassSessionRepository classSessionRepository;
+    private final ObjectMapper objectMapper;
+    private final long emitterTimeoutMs;
+    private final int subscriberBuffer;
+    private final ThreadPoolExecutor senders;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final Set<Long> dirtySessions = ConcurrentHashMap.newKeySet();
+    // Last state sent per session, so unchanged counts are not re-sent
+    private final Map<Long, SeatAvailabilityUpdate> lastSent = new ConcurrentHashMap<>();
+
+    public SeatAvailabilityPublisher(ClassSessionRepository classSessionRepository,
+                                     ObjectMapper objectMapper,
+                                     @Value("${gym.seats.stream.timeout-ms:1800000}") long emitterTimeoutMs,
+                                     @Value("${gym.seats.stream.send-threads:4}") int sendThreads,
+                                     @Value("${gym.seats.stream.subscriber-buffer:16}") int subscriberBuffer) {
+        this.classSessionRepository = classSessionRepository;
+        this.objectMapper = objectMapper;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.subscriberBuffer = subscriberBuffer;
+        AtomicInteger threadCount = new AtomicInteger();
+        // One queued task per subscriber at most, so the queue never holds more than the subscribers
+        this.senders = new ThreadPoolExecutor(sendThreads, sendThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "seat-stream-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public SseEmitter subscribe() {
+        return subscribe(new SseEmitter(emitterTimeoutMs));
+    }
+
+    SseEmitter subscribe(SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter, subscriberBuffer);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    // Open streams
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    // Record that a session's seats may have changed; published after the current transaction commits
+    public void markChanged(Long classSessionId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dirtySessions.add(classSessionId);
+                }
+            });
+        } else {
+            dirtySessions.add(classSessionId);
+        }
+    }
+
+    // Coalescing window: everything marked since the last run goes out as one batch
+    @Scheduled(fixedDelayString = "${gym.seats.stream.coalesce-ms:500}")
+    public void flush() {
+        if (dirtySessions.isEmpty()) {
+            return;
+        }
+        Set<Long> batch = new HashSet<>();
+        for (Long id : dirtySessions) {
+            if (dirtySessions.remove(id)) {
+                batch.add(id);
+            }
+        }
+        if (subscribers.isEmpty()) {
+            batch.forEach(lastSent::remove);
+            return;
+        }
+
+        List<SeatAvailabilityUpdate> changes = new ArrayList<>();
+        for (SeatAvailabilityUpdate update : classSessionRepository.findSeatAvailability(batch)) {
+            batch.remove(update.getClassSessionId());
+            if (!update.sameSeatsAs(lastSent.put(update.getClassSessionId(), update))) {
+                changes.add(update);
+            }
+        }
+        // Whatever the query did not return has been deleted
+        for (Long removedId : batch) {
+            lastSent.remove(removedId);
+            changes.add(SeatAvailabilityUpdate.removed(removedId));
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(changes);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize seat availability updates", e);
+            return;
+        }
+        broadcast(SseEmitter.event().name("seats").data(payload, MediaType.APPLICATION_JSON));
+    }
+
+    // Keeps proxies from closing idle streams and drops subscribers that went away
+    @Scheduled(fixedDelayString = "${gym.seats.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        broadcast(SseEmitter.event().comment("keep-alive"));
+    }
+
+    @Override
+    public void destroy() {
+        senders.shutdownNow();
+    }
+
+    // Only queues the frame; the sender threads write it
+    private void broadcast(SseEmitter.SseEventBuilder event) {
+        // Build the event once; every subscriber gets the same pre-rendered frame
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = event.build();
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.frames.offer(frame)) {
+                drop(subscriber, new IOException("subscriber fell " + subscriberBuffer + " events behind"));
+            } else if (subscriber.draining.compareAndSet(false, true)) {
+                senders.execute(() -> drain(subscriber));
+            }
+        }
+    }
+
+    // Sends the subscriber's buffered frames in order; only one sender drains a subscriber at a time
+    private void drain(Subscriber subscriber) {
+        do {
+            Set<ResponseBodyEmitter.DataWithMediaType> frame;
+            while ((frame = subscriber.frames.poll()) != null) {
+                try {
+                    subscriber.emitter.send(frame);
+                } catch (IOException | IllegalStateException e) {
+                    drop(subscriber, e);
+                    return;
+                }
+            }
+            subscriber.draining.set(false);
+            // A frame queued after the last poll but before the flag was cleared still needs a sender
+        } while (!subscriber.frames.isEmpty() && subscriber.draining.compareAndSet(false, true));
+    }
+
+    private void drop(Subscriber subscriber, Exception cause) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.frames.clear();
+            subscriber.emitter.completeWithError(cause);
+        }
+    }
+
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> frames;
+        final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, int buffer) {
+            this.emitter = emitter;
+            this.frames = new ArrayBlockingQueue<>(buffer);
+        }
+    }
+}
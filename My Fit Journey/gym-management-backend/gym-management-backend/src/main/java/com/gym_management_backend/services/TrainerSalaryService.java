@@ -0,0 +1,117 @@
+package com.gym_management_backend.services;
+
+import com.gym_management_backend.entities.TrainerSalary;
+import com.gym_management_backend.entities.TrainerSalaryHistory;
+import com.gym_management_backend.entities.User;
+import com.gym_management_backend.repositories.TrainerSalaryHistoryRepository;
+import com.gym_management_backend.repositories.TrainerSalaryRepository;
+import com.gym_management_backend.repositories.UserRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Effective-dated trainer pay. Every change is appended to trainer_salary_history, which
+ * payroll reads; trainer_salaries keeps the terms in force today for the existing
+ * salary endpoints.
+ */
+@Service
+@Transactional
+public class TrainerSalaryService {
+
+    private final TrainerSalaryRepository trainerSalaryRepository;
+    private final TrainerSalaryHistoryRepository historyRepository;
+    private final UserRepository userRepository;
+
+    public TrainerSalaryService(TrainerSalaryRepository trainerSalaryRepository,
+                                TrainerSalaryHistoryRepository historyRepository,
+                                UserRepository userRepository) {
+        this.trainerSalaryRepository = trainerSalaryRepository;
+        this.historyRepository = historyRepository;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Records pay terms for a trainer from effectiveFrom on (a second change for the same
+     * day replaces the first). Returns the salary in force today, which only changes when
+     * effectiveFrom is today or earlier.
+     */
+    public Optional<TrainerSalary> setSalary(Long trainerId, BigDecimal salary, BigDecimal perClassRate,
+                                             BigDecimal perAttendeeRate, LocalDate effectiveFrom) {
+        User trainer = userRepository.findById(trainerId)
+                .filter(user -> user.getRole() == User.Role.TRAINER)
+                .orElseThrow(() -> new IllegalArgumentException("Trainer not found"));
+        if (salary.signum() < 0 || isNegative(perClassRate) || isNegative(perAttendeeRate)) {
+            throw new IllegalArgumentException("Pay amounts cannot be negative");
+        }
+        backfillLegacy(trainer, effectiveFrom);
+
+        TrainerSalaryHistory terms = historyRepository.findByTrainerIdAndEffectiveFrom(trainerId, effectiveFrom)
+                .orElseGet(() -> TrainerSalaryHistory.builder().trainer(trainer).effectiveFrom(effectiveFrom).build());
+        terms.setSalary(salary);
+        terms.setPerClassRate(perClassRate);
+        terms.setPerAttendeeRate(perAttendeeRate);
+        terms.setRecordedAt(LocalDateTime.now());
+        historyRepository.save(terms);
+
+        if (!effectiveFrom.isAfter(LocalDate.now())) {
+            applyCurrent(trainer, historyRepository.findByTrainerIdOrderByEffectiveFromDesc(trainerId));
+        }
+        return trainerSalaryRepository.findByTrainerId(trainerId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TrainerSalaryHistory> getHistory(Long trainerId) {
+        return historyRepository.findByTrainerIdOrderByEffectiveFromDesc(trainerId);
+    }
+
+    // A trainer paid before history was kept only has a trainer_salaries row; the first change copies
+    // it into history, so the months before that change are still paid at the old salary
+    private void backfillLegacy(User trainer, LocalDate effectiveFrom) {
+        if (historyRepository.existsByTrainerId(trainer.getId())) {
+            return;
+        }
+        trainerSalaryRepository.findByTrainerId(trainer.getId())
+                .filter(legacy -> legacy.getEffectiveFrom().isBefore(effectiveFrom))
+                .ifPresent(legacy -> historyRepository.save(TrainerSalaryHistory.builder()
+                        .trainer(trainer)
+                        .salary(legacy.getSalary())
+                        .effectiveFrom(legacy.getEffectiveFrom())
+                        .recordedAt(LocalDateTime.now())
+                        .build()));
+    }
+
+    // Terms recorded ahead of time take over trainer_salaries on their effective date
+    @Scheduled(cron = "${gym.payroll.salary-rollover-cron:0 5 0 * * *}")
+    public void applyDueSalaries() {
+        for (TrainerSalaryHistory due : historyRepository.findByEffectiveFrom(LocalDate.now())) {
+            User trainer = due.getTrainer();
+            applyCurrent(trainer, historyRepository.findByTrainerIdOrderByEffectiveFromDesc(trainer.getId()));
+        }
+    }
+
+    // history is newest first; the first entry not in the future is today's salary
+    private void applyCurrent(User trainer, List<TrainerSalaryHistory> history) {
+        LocalDate today = LocalDate.now();
+        history.stream()
+                .filter(terms -> !terms.getEffectiveFrom().isAfter(today))
+                .findFirst()
+                .ifPresent(terms -> {
+                    TrainerSalary current = trainerSalaryRepository.findByTrainerId(trainer.getId())
+                            .orElseGet(() -> TrainerSalary.builder().trainer(trainer).build());
+                    current.setSalary(terms.getSalary());
+                    current.setEffectiveFrom(terms.getEffectiveFrom());
+                    trainerSalaryRepository.save(current);
+                });
+    }
+
+    private static boolean isNegative(BigDecimal amount) {
+        return amount != null && amount.signum() < 0;
+    }
+}
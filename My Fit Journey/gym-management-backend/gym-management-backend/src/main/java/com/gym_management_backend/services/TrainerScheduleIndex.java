@@ -0,0 +1,123 @@
+package com.gym_management_backend.services;
+
+import com.gym_management_backend.dto.ScheduleSlot;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory interval index over class sessions: one start-ordered timeline per trainer
+ * plus one across all trainers. A timeline also tracks its longest session, so every
+ * session overlapping [from, to) starts in [from - longest, to) and a week view is one
+ * range scan (O(log n + k)) instead of a pass over class_sessions. The table stays the
+ * source of truth: overlap checks for new classes run against it, and it is used to rebuild.
+ */
+public class TrainerScheduleIndex {
+
+    private record Key(LocalDateTime start, long id) implements Comparable<Key> {
+        @Override
+        public int compareTo(Key other) {
+            int byStart = start.compareTo(other.start);
+            return byStart != 0 ? byStart : Long.compare(id, other.id);
+        }
+    }
+
+    private static final class Timeline {
+        private final ConcurrentSkipListMap<Key, ScheduleSlot> slots = new ConcurrentSkipListMap<>();
+        // Only grows; a stale maximum just widens the scan a little
+        private volatile int longestMinutes;
+
+        private void add(ScheduleSlot slot) {
+            if (slot.durationMinutes() > longestMinutes) {
+                longestMinutes = slot.durationMinutes();
+            }
+            slots.put(new Key(slot.start(), slot.id()), slot);
+        }
+
+        private void remove(ScheduleSlot slot) {
+            slots.remove(new Key(slot.start(), slot.id()));
+        }
+
+        // Slots overlapping [from, to), in start order
+        private Collection<ScheduleSlot> overlapping(LocalDateTime from, LocalDateTime to) {
+            Key low = new Key(from.minusMinutes(longestMinutes), Long.MIN_VALUE);
+            Key high = new Key(to, Long.MIN_VALUE);
+            List<ScheduleSlot> result = new ArrayList<>();
+            for (ScheduleSlot slot : slots.subMap(low, high).values()) {
+                if (slot.end().isAfter(from)) {
+                    result.add(slot);
+                }
+            }
+            return result;
+        }
+    }
+
+    private final Map<Long, ScheduleSlot> byId = new ConcurrentHashMap<>();
+    private final Map<Long, Timeline> byTrainer = new ConcurrentHashMap<>();
+    private final Timeline all = new Timeline();
+
+    // Adds or replaces a session (by id)
+    public void put(ScheduleSlot slot) {
+        Timeline timeline = byTrainer.computeIfAbsent(slot.trainerId(), id -> new Timeline());
+        synchronized (timeline) {
+            ScheduleSlot previous = byId.put(slot.id(), slot);
+            if (previous != null) {
+                unlink(previous);
+            }
+            timeline.add(slot);
+            all.add(slot);
+        }
+    }
+
+    public Optional<ScheduleSlot> remove(long id) {
+        ScheduleSlot slot = byId.get(id);
+        if (slot == null) {
+            return Optional.empty();
+        }
+        Timeline timeline = byTrainer.get(slot.trainerId());
+        if (timeline == null) {
+            return Optional.empty();
+        }
+        synchronized (timeline) {
+            if (byId.remove(id, slot)) {
+                unlink(slot);
+                return Optional.of(slot);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public Optional<ScheduleSlot> get(long id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    // Sessions of all trainers (or of one, if trainerId is set) overlapping [from, to), in start order
+    public Collection<ScheduleSlot> window(Long trainerId, LocalDateTime from, LocalDateTime to) {
+        if (trainerId == null) {
+            return all.overlapping(from, to);
+        }
+        Timeline timeline = byTrainer.get(trainerId);
+        return timeline == null ? List.of() : timeline.overlapping(from, to);
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    public void clear() {
+        byId.clear();
+        byTrainer.clear();
+        all.slots.clear();
+        all.longestMinutes = 0;
+    }
+
+    private void unlink(ScheduleSlot slot) {
+        Timeline timeline = byTrainer.get(slot.trainerId());
+        if (timeline != null) {
+            timeline.remove(slot);
+        }
+        all.remove(slot);
+    }
+}
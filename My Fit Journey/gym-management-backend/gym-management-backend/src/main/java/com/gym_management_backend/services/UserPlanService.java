@@ -5,78 +5,114 @@ import com.gym_management_backend.dto.UserPlanResponse;
 import com.gym_management_backend.entities.Plan;
 import com.gym_management_backend.entities.User;
 import com.gym_management_backend.entities.UserPlan;
+import com.gym_management_backend.metrics.GymMetrics;
+import com.gym_management_backend.metrics.Outcomes;
+import com.gym_management_backend.repositories.ArchivedUserPlanRepository;
 import com.gym_management_backend.repositories.PlanRepository;
 import com.gym_management_backend.repositories.UserPlanRepository;
 import com.gym_management_backend.repositories.UserRepository;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Comparator;
 
 @Service
 @Transactional
 public class UserPlanService {
 
+    private static final String TIMER = "gym.plan.booking";
+
     private final UserRepository userRepository;
     private final PlanRepository planRepository;
     private final UserPlanRepository userPlanRepository;
+    private final ArchivedUserPlanRepository archivedUserPlanRepository;
+    private final GymMetrics metrics;
 
     public UserPlanService(UserRepository userRepository,
                            PlanRepository planRepository,
-                           UserPlanRepository userPlanRepository) {
+                           UserPlanRepository userPlanRepository,
+                           ArchivedUserPlanRepository archivedUserPlanRepository,
+                           GymMetrics metrics) {
         this.userRepository = userRepository;
         this.planRepository = planRepository;
         this.userPlanRepository = userPlanRepository;
+        this.archivedUserPlanRepository = archivedUserPlanRepository;
+        this.metrics = metrics;
     }
 
     // Book a plan for a user (simulate payment)
     public UserPlanResponse bookPlan(String username, BookPlanRequest request) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        Timer.Sample sample = metrics.startTimer();
+        String outcome = Outcomes.NOT_FOUND;
+        try {
+            User user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
-        Plan plan = planRepository.findById(request.getPlanId())
-                .orElseThrow(() -> new IllegalArgumentException("Plan not found"));
+            Plan plan = planRepository.findById(request.getPlanId())
+                    .orElseThrow(() -> new IllegalArgumentException("Plan not found"));
 
-        UserPlan userPlan = UserPlan.builder()
-                .user(user)
-                .plan(plan)
-                .bookingDate(LocalDateTime.now())
-                .paymentCompleted(request.getPaymentCompleted() != null ? request.getPaymentCompleted() : true)
-                .paymentReference(request.getPaymentReference())
-                .active(true)
-                .build();
+            outcome = Outcomes.ERROR;
+            UserPlan userPlan = UserPlan.builder()
+                    .user(user)
+                    .plan(plan)
+                    .bookingDate(LocalDateTime.now())
+                    .paymentCompleted(request.getPaymentCompleted() != null ? request.getPaymentCompleted() : true)
+                    .paymentReference(request.getPaymentReference())
+                    .active(true)
+                    .build();
 
-        UserPlan saved = userPlanRepository.save(userPlan);
-        return mapToResponse(saved);
+            UserPlan saved = userPlanRepository.save(userPlan);
+            outcome = Outcomes.PURCHASED;
+            return mapToResponse(saved);
+        } finally {
+            metrics.stopTimer(sample, TIMER, "book", outcome);
+        }
     }
 
-    // List all bookings for a user
-    public List<UserPlanResponse> getBookingsForUser(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-
-        return userPlanRepository.findByUserId(user.getId()).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    // One page of a user's plan purchases, newest first, projected straight into response rows; archived purchases continue the list
+    @Transactional(readOnly = true)
+    public Slice<UserPlanResponse> getBookingsForUser(String username, Pageable pageable) {
+        Timer.Sample sample = metrics.startTimer();
+        Slice<UserPlanResponse> result = HistoryMerge.page(pageable,
+                page -> userPlanRepository.findHistoryByUsername(username, page),
+                (newerThan, page) -> newerThan == null
+                        ? archivedUserPlanRepository.findHistoryByUsername(username, page)
+                        : archivedUserPlanRepository.findHistoryNewerThan(username, newerThan.getBookingDate(),
+                                newerThan.getBookingId(), page),
+                Comparator.comparing(UserPlanResponse::getBookingDate)
+                        .thenComparing(UserPlanResponse::getBookingId).reversed());
+        metrics.stopTimer(sample, TIMER, "member_history", Outcomes.SUCCESS);
+        return result;
     }
 
     // Cancel (deactivate) a booking by bookingId and username ownership check
     public void cancelBooking(String username, Long bookingId) {
-        UserPlan userPlan = userPlanRepository.findById(bookingId)
-                .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
+        Timer.Sample sample = metrics.startTimer();
+        String outcome = Outcomes.NOT_FOUND;
+        try {
+            UserPlan userPlan = userPlanRepository.findById(bookingId)
+                    .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
 
-        if (!userPlan.getUser().getUsername().equals(username)) {
-            throw new SecurityException("You can only cancel your own bookings");
-        }
+            if (!userPlan.getUser().getUsername().equals(username)) {
+                outcome = Outcomes.FORBIDDEN;
+                throw new SecurityException("You can only cancel your own bookings");
+            }
 
-        userPlan.setActive(false);
-        userPlanRepository.save(userPlan);
+            outcome = Outcomes.ERROR;
+            userPlan.setActive(false);
+            userPlanRepository.save(userPlan);
+            outcome = Outcomes.CANCELLED;
+        } finally {
+            metrics.stopTimer(sample, TIMER, "cancel", outcome);
+        }
     }
 
-    // Utility mapping method
-    private UserPlanResponse mapToResponse(UserPlan userPlan) {
+    // Utility mapping method (package-private for the mapping benchmarks)
+    static UserPlanResponse mapToResponse(UserPlan userPlan) {
         UserPlanResponse response = new UserPlanResponse();
         response.setBookingId(userPlan.getId());
         response.setPlanId(userPlan.getPlan().getId());
@@ -0,0 +1,81 @@
+-- Tables as ddl-auto=update created them before the schema was versioned. Databases created that way
+-- are baselined at this version instead of running it (flyway.baselineOnMigrate in pom.xml)
+
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    full_name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    photo_url VARCHAR(255),
+    active BIT NOT NULL,
+    role ENUM ('ADMIN','MEMBER','TRAINER') NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UKr43af9ap4edm43mmtq01oddj6 UNIQUE (username),
+    CONSTRAINT UK6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email)
+) ENGINE=InnoDB;
+
+CREATE TABLE plans (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    description VARCHAR(1000),
+    price DECIMAL(38,2) NOT NULL,
+    duration_in_days INTEGER NOT NULL,
+    active BIT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE user_plans (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    plan_id BIGINT NOT NULL,
+    booking_date DATETIME(6) NOT NULL,
+    active BIT NOT NULL,
+    payment_completed BIT NOT NULL,
+    payment_reference VARCHAR(100),
+    PRIMARY KEY (id),
+    CONSTRAINT FK8ws03c6bnq8p220rbnlnw2blv FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT FKq3swp19ett3gtuhruau03sxy2 FOREIGN KEY (plan_id) REFERENCES plans (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE class_sessions (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    trainer_id BIGINT NOT NULL,
+    class_name VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    scheduled_at DATETIME(6) NOT NULL,
+    max_capacity INTEGER,
+    PRIMARY KEY (id),
+    CONSTRAINT FKemuickjkywk1lnevpyb2bla76 FOREIGN KEY (trainer_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE class_bookings (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    class_session_id BIGINT NOT NULL,
+    member_id BIGINT NOT NULL,
+    booked_at DATETIME(6),
+    active BIT,
+    present BIT,
+    PRIMARY KEY (id),
+    CONSTRAINT FKtg0sjc6qk1vn9u7jx0chf3wh9 FOREIGN KEY (class_session_id) REFERENCES class_sessions (id),
+    CONSTRAINT FKdc1e82fsqqqeke5i3v8dfff89 FOREIGN KEY (member_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE trainer_salaries (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    trainer_id BIGINT NOT NULL,
+    salary DECIMAL(38,2) NOT NULL,
+    effective_from DATE NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UKlriqa631ta3qdl6li7tilpfc1 UNIQUE (trainer_id),
+    CONSTRAINT FK4cdnfp8svcpvkdmcntdk4q9vh FOREIGN KEY (trainer_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE revenues (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    revenue_date DATE NOT NULL,
+    income_from_plans DECIMAL(38,2) NOT NULL,
+    trainer_salaries DECIMAL(38,2) NOT NULL,
+    equipment_costs DECIMAL(38,2) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
@@ -0,0 +1,137 @@
+-- Class scheduling: durations, the waitlist and the indexes behind the schedule, booking and history queries
+
+ALTER TABLE class_sessions ADD COLUMN duration_minutes INTEGER DEFAULT 60 NOT NULL;
+CREATE INDEX idx_class_sessions_trainer_time ON class_sessions (trainer_id, scheduled_at);
+CREATE INDEX idx_class_sessions_scheduled ON class_sessions (scheduled_at);
+
+CREATE INDEX idx_class_bookings_session_active ON class_bookings (class_session_id, active);
+CREATE INDEX idx_class_bookings_member_booked ON class_bookings (member_id, booked_at);
+
+CREATE INDEX idx_user_plans_user_booking ON user_plans (user_id, booking_date);
+CREATE INDEX idx_user_plans_booking ON user_plans (booking_date);
+
+CREATE TABLE class_waitlist_entries (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    class_session_id BIGINT NOT NULL,
+    member_id BIGINT NOT NULL,
+    joined_at DATETIME(6) NOT NULL,
+    status ENUM ('LEFT','PROMOTED','SKIPPED','WAITING') NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT FKqgqjulfvwvo1o1hpc4k4k32j5 FOREIGN KEY (class_session_id) REFERENCES class_sessions (id),
+    CONSTRAINT FK6mfafcl3ccx0umlsah4d7jci7 FOREIGN KEY (member_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+CREATE INDEX idx_waitlist_session_status ON class_waitlist_entries (class_session_id, status);
+
+-- Cross-instance cache change log and booking/purchase idempotency keys
+
+CREATE TABLE cache_change_log (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    entity_type VARCHAR(40) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    changed_at BIGINT NOT NULL,
+    node_id VARCHAR(40) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+CREATE INDEX idx_cache_change_log_changed_at ON cache_change_log (changed_at);
+
+CREATE TABLE idempotency_keys (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(255) NOT NULL,
+    idempotency_key VARCHAR(100) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    response_body VARCHAR(4000),
+    created_at BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_idempotency_keys_user_key UNIQUE (username, idempotency_key)
+) ENGINE=InnoDB;
+CREATE INDEX idx_idempotency_keys_created_at ON idempotency_keys (created_at);
+
+-- Monthly trainer payroll
+
+CREATE TABLE trainer_salary_history (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    trainer_id BIGINT NOT NULL,
+    salary DECIMAL(12,2) NOT NULL,
+    per_class_rate DECIMAL(10,2),
+    per_attendee_rate DECIMAL(10,2),
+    effective_from DATE NOT NULL,
+    recorded_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_trainer_salary_history_trainer_from UNIQUE (trainer_id, effective_from),
+    CONSTRAINT FKecmx8a8fwnil6gtiiyj9mo2v1 FOREIGN KEY (trainer_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE payroll_runs (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    period_start DATE NOT NULL,
+    status ENUM ('COMPLETED','FAILED','RUNNING') NOT NULL,
+    trainer_count INTEGER,
+    total_cost DECIMAL(14,2),
+    started_at DATETIME(6) NOT NULL,
+    finished_at DATETIME(6),
+    duration_ms BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_payroll_runs_period UNIQUE (period_start)
+) ENGINE=InnoDB;
+
+CREATE TABLE payslips (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    payroll_run_id BIGINT NOT NULL,
+    trainer_id BIGINT NOT NULL,
+    base_pay DECIMAL(12,2) NOT NULL,
+    classes_taught INTEGER NOT NULL,
+    class_pay DECIMAL(12,2) NOT NULL,
+    attendees INTEGER NOT NULL,
+    attendance_pay DECIMAL(12,2) NOT NULL,
+    total_pay DECIMAL(12,2) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_payslips_run_trainer UNIQUE (payroll_run_id, trainer_id)
+) ENGINE=InnoDB;
+CREATE INDEX idx_payslips_trainer ON payslips (trainer_id);
+
+-- Archive of old classes, their bookings and expired plans
+
+CREATE TABLE class_sessions_archive (
+    id BIGINT NOT NULL,
+    trainer_id BIGINT NOT NULL,
+    class_name VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    scheduled_at DATETIME(6) NOT NULL,
+    duration_minutes INTEGER NOT NULL,
+    max_capacity INTEGER,
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+CREATE INDEX idx_class_sessions_archive_scheduled ON class_sessions_archive (scheduled_at);
+CREATE INDEX idx_class_sessions_archive_trainer ON class_sessions_archive (trainer_id, scheduled_at);
+
+CREATE TABLE class_bookings_archive (
+    id BIGINT NOT NULL,
+    class_session_id BIGINT NOT NULL,
+    member_id BIGINT NOT NULL,
+    class_name VARCHAR(255) NOT NULL,
+    scheduled_at DATETIME(6) NOT NULL,
+    booked_at DATETIME(6),
+    active BIT,
+    present BIT,
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+CREATE INDEX idx_class_bookings_archive_member_booked ON class_bookings_archive (member_id, booked_at);
+CREATE INDEX idx_class_bookings_archive_session ON class_bookings_archive (class_session_id);
+
+CREATE TABLE user_plans_archive (
+    id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    plan_id BIGINT NOT NULL,
+    plan_name VARCHAR(255) NOT NULL,
+    plan_price DECIMAL(38,2) NOT NULL,
+    booking_date DATETIME(6) NOT NULL,
+    active BIT NOT NULL,
+    payment_completed BIT NOT NULL,
+    payment_reference VARCHAR(100),
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+CREATE INDEX idx_user_plans_archive_user_booking ON user_plans_archive (user_id, booking_date);
@@ -0,0 +1,9 @@
+-- Heartbeat row ReplicaLagMonitor stamps on the primary and reads back from the replica
+
+CREATE TABLE replication_heartbeat (
+    id INT NOT NULL,
+    beat_at TIMESTAMP(3) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, CURRENT_TIMESTAMP(3));
@@ -0,0 +1,21 @@
+package com.gym_management_backend;
+
+import com.gym_management_backend.entities.User;
+
+// Unsaved, active accounts for tests that seed their own users; the username doubles as name and mailbox
+public final class TestAccounts {
+
+    private TestAccounts() {
+    }
+
+    public static User account(String username, User.Role role) {
+        return User.builder()
+                .username(username)
+                .password("{noop}unused")
+                .fullName(username)
+                .email(username + "@example.com")
+                .active(true)
+                .role(role)
+                .build();
+    }
+}
@@ -0,0 +1,108 @@
+package com.gym_management_backend.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "gym.rate-limit.enabled=false")
+@AutoConfigureMockMvc
+class AuditLogTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private AuditLog auditLog;
+
+    @Test
+    void adminWritesAreJournaledWithTheirActor() throws Exception {
+        LocalDateTime from = LocalDateTime.now().minusSeconds(1);
+        mockMvc.perform(post("/api/admin/plans")
+                        .with(user("audit-admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Audit Plan\",\"description\":\"-\",\"price\":10.00,"
+                                + "\"durationInDays\":30,\"active\":true}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/api/admin/users/999999/active?active=false")
+                        .with(user("audit-admin").roles("ADMIN")))
+                .andExpect(status().isNotFound());
+        // Reads are not journaled
+        mockMvc.perform(get("/api/admin/plans").with(user("audit-admin").roles("ADMIN")))
+                .andExpect(status().isOk());
+
+        List<AuditRecord> records = awaitRecords(from, "audit-admin", 2);
+        assertEquals(2, records.size(), records.toString());
+        assertEquals("POST", records.get(0).method());
+        assertEquals("/api/admin/plans", records.get(0).endpoint());
+        assertEquals("/api/admin/users/{id}/active", records.get(1).endpoint());
+        assertEquals("/api/admin/users/999999/active?active=false", records.get(1).path());
+        assertEquals(404, records.get(1).status());
+
+        mockMvc.perform(get("/api/admin/audit").param("actor", "audit-admin")
+                        .param("from", from.toString())
+                        .with(user("audit-reader").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].actor").value("audit-admin"));
+    }
+
+    @Test
+    void rangeScansSkipClosedSegmentsAndSurviveACrash(@TempDir Path dir) throws Exception {
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 9, 0);
+        // One byte per segment: every batch after the first starts a new one
+        AuditJournal journal = new AuditJournal(dir, 1, Long.MAX_VALUE);
+        for (int hour = 0; hour < 3; hour++) {
+            journal.append(List.of(record(start.plusHours(hour), "admin-a"), record(start.plusHours(hour).plusMinutes(30), "admin-b")));
+        }
+        // Not closed, as after a crash; the open segment also ends in a torn line
+        Path open;
+        try (Stream<Path> files = Files.list(dir)) {
+            open = files.filter(p -> p.getFileName().toString().matches("audit-\\d+\\.log")).findFirst().orElseThrow();
+        }
+        Files.writeString(open, "{\"at\":\"2026-01-01T11:4", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        AuditJournal reopened = new AuditJournal(dir, 1024, Long.MAX_VALUE);
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(3, files.filter(p -> p.getFileName().toString().matches("audit-\\d+-\\d+-\\d+\\.log")).count());
+        }
+        reopened.append(List.of(record(start.plusHours(5), "admin-a")));
+
+        List<AuditRecord> morning = reopened.find(start.plusMinutes(30), start.plusHours(2), null, 100);
+        assertEquals(List.of(start.plusMinutes(30), start.plusHours(1), start.plusHours(1).plusMinutes(30)),
+                morning.stream().map(AuditRecord::at).toList());
+        assertEquals(4, reopened.find(start, start.plusDays(1), "admin-a", 100).size());
+        assertEquals(2, reopened.find(start, start.plusDays(1), "admin-a", 2).size());
+        reopened.close();
+    }
+
+    private List<AuditRecord> awaitRecords(LocalDateTime from, String actor, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        List<AuditRecord> records = auditLog.find(from, LocalDateTime.now().plusMinutes(1), actor, 100);
+        while (records.size() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            records = auditLog.find(from, LocalDateTime.now().plusMinutes(1), actor, 100);
+        }
+        return records;
+    }
+
+    private static AuditRecord record(LocalDateTime at, String actor) {
+        return new AuditRecord(at, actor, "DELETE", "/api/admin/plans/{id}", "/api/admin/plans/1", 204, null);
+    }
+}
@@ -0,0 +1,104 @@
+package com.gym_management_backend.cache;
+
+import com.gym_management_backend.config.CacheBusProperties;
+import com.gym_management_backend.entities.Plan;
+import com.gym_management_backend.repositories.PlanRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * One node in the test context; the "other" node is simulated by writing change log rows
+ * with a foreign node id directly. Polling is triggered by the tests.
+ */
+@SpringBootTest(properties = {
+        "gym.cache-bus.poll-ms=3600000",
+        "gym.cache-bus.compact-ms=3600000",
+        "gym.rate-limit.enabled=false"
+})
+class CacheBusTest {
+
+    @Autowired
+    private PlanRepository planRepository;
+    @Autowired
+    private ChangeLogPoller poller;
+    @Autowired
+    private CacheBusProperties properties;
+    @Autowired
+    private JdbcTemplate jdbc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void writesAreRecordedWithThisNodesId() {
+        Plan plan = planRepository.save(plan("Bus recorded"));
+        plan.setPrice(new BigDecimal("31.00"));
+        planRepository.save(plan);
+
+        Integer rows = jdbc.queryForObject(
+                "SELECT COUNT(*) FROM cache_change_log WHERE entity_type = 'Plan' AND entity_id = ? AND node_id = ?",
+                Integer.class, plan.getId(), properties.getNodeId());
+        assertEquals(2, rows);
+    }
+
+    @Test
+    void changesFromAnotherNodeEvictTheLocalCopy() {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        Plan plan = planRepository.save(plan("Bus remote"));
+        poller.poll();
+        planRepository.findById(plan.getId());
+        assertTrue(cache.containsEntity(Plan.class, plan.getId()));
+
+        jdbc.update("UPDATE plans SET name = 'Bus remote, renamed' WHERE id = ?", plan.getId());
+        remoteChange(plan.getId());
+        poller.poll();
+
+        assertFalse(cache.containsEntity(Plan.class, plan.getId()));
+        assertEquals("Bus remote, renamed", planRepository.findById(plan.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void lateCommitBehindTheHighWaterMarkIsStillApplied() {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        Plan plan = planRepository.save(plan("Bus late"));
+        poller.poll();
+        planRepository.findById(plan.getId());
+        long mark = poller.getHighWaterMark();
+
+        // Id mark + 1 is still "in flight" when the poller sees mark + 2
+        jdbc.update("INSERT INTO cache_change_log (id, entity_type, entity_id, changed_at, node_id) VALUES (?, 'Plan', -1, ?, 'other-node')",
+                mark + 2, System.currentTimeMillis());
+        poller.poll();
+        assertTrue(cache.containsEntity(Plan.class, plan.getId()));
+
+        jdbc.update("INSERT INTO cache_change_log (id, entity_type, entity_id, changed_at, node_id) VALUES (?, 'Plan', ?, ?, 'other-node')",
+                mark + 1, plan.getId(), System.currentTimeMillis());
+        poller.poll();
+        assertFalse(cache.containsEntity(Plan.class, plan.getId()));
+    }
+
+    private void remoteChange(long planId) {
+        jdbc.update("INSERT INTO cache_change_log (entity_type, entity_id, changed_at, node_id) VALUES ('Plan', ?, ?, 'other-node')",
+                planId, System.currentTimeMillis());
+    }
+
+    private static Plan plan(String name) {
+        return Plan.builder()
+                .name(name)
+                .description(name)
+                .price(new BigDecimal("30.00"))
+                .durationInDays(30)
+                .active(true)
+                .build();
+    }
+}
@@ -0,0 +1,122 @@
+package com.gym_management_backend.cache;
+
+import com.gym_management_backend.config.StaleReadProperties;
+import com.gym_management_backend.entities.ClassSession;
+import com.gym_management_backend.entities.Plan;
+import com.gym_management_backend.entities.User;
+import com.gym_management_backend.metrics.GymMetrics;
+import com.gym_management_backend.repositories.ClassSessionRepository;
+import com.gym_management_backend.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.gym_management_backend.TestAccounts.account;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "gym.rate-limit.enabled=false")
+@AutoConfigureMockMvc
+class StaleReadCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private GymMetrics metrics;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ClassSessionRepository classSessionRepository;
+
+    @Test
+    void servesStaleDataWhileTheDatabaseIsSlowOrDownAndOpensTheBreaker() throws Exception {
+        StaleReadProperties properties = new StaleReadProperties();
+        properties.setFreshMs(50);
+        properties.setStaleWhileRevalidateMs(0);
+        properties.setCallTimeoutMs(200);
+        properties.setBreakerFailureThreshold(2);
+        properties.setBreakerOpenMs(60_000);
+        StaleReadCache cache = new StaleReadCache(properties, metrics, new CommittedWriteDispatcher());
+        AtomicInteger loads = new AtomicInteger();
+        AtomicBoolean slow = new AtomicBoolean();
+        AtomicBoolean down = new AtomicBoolean();
+        try {
+            StaleReadCache.Read<String> first = read(cache, loads, slow, down);
+            assertEquals("v1", first.value());
+            assertFalse(first.stale());
+
+            // A stalled database: the read gives up after callTimeoutMs and gets the old list
+            Thread.sleep(100);
+            slow.set(true);
+            long start = System.currentTimeMillis();
+            StaleReadCache.Read<String> stalled = read(cache, loads, slow, down);
+            assertTrue(System.currentTimeMillis() - start < 1500);
+            assertEquals("v1", stalled.value());
+            assertTrue(stalled.stale());
+
+            // The slow load still filled the cache when it finished, but counted as a failure;
+            // one more failure opens the breaker
+            Thread.sleep(2000);
+            slow.set(false);
+            down.set(true);
+            StaleReadCache.Read<String> failed = read(cache, loads, slow, down);
+            assertEquals("v2", failed.value());
+            assertTrue(failed.stale());
+            assertEquals(CircuitBreaker.State.OPEN, cache.breakerState());
+
+            // While open, reads do not touch the database at all; with nothing cached they fail
+            int loadsBefore = loads.get();
+            assertTrue(read(cache, loads, slow, down).stale());
+            assertEquals(loadsBefore, loads.get());
+            assertThrows(IllegalStateException.class, () -> cache.get("trainers", "all", Set.of(User.class), () -> "never"));
+        } finally {
+            cache.destroy();
+        }
+    }
+
+    @Test
+    void aCommittedWriteIsSeenOnTheNextRead() throws Exception {
+        mockMvc.perform(get("/api/member/classes/available").with(user("stale-member").roles("MEMBER")))
+                .andExpect(status().isOk());
+
+        User trainer = userRepository.save(account("stale-trainer", User.Role.TRAINER));
+        classSessionRepository.save(ClassSession.builder()
+                .trainer(trainer)
+                .className("Stale Pilates")
+                .scheduledAt(LocalDateTime.now().plusDays(1))
+                .durationMinutes(45)
+                .maxCapacity(10)
+                .build());
+
+        // The cached list was invalidated by the commits, so this read waits for a fresh one
+        MvcResult after = mockMvc.perform(get("/api/member/classes/available").with(user("stale-member").roles("MEMBER")))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertEquals("false", after.getResponse().getHeader("X-Data-Stale"));
+        assertTrue(after.getResponse().getContentAsString().contains("Stale Pilates"));
+    }
+
+    private static StaleReadCache.Read<String> read(StaleReadCache cache, AtomicInteger loads, AtomicBoolean slow,
+                                                    AtomicBoolean down) {
+        return cache.get("plans", "all", Set.of(Plan.class), () -> {
+            loads.incrementAndGet();
+            if (slow.get()) {
+                Thread.sleep(2000);
+            }
+            if (down.get()) {
+                throw new IllegalStateException("database down");
+            }
+            return "v" + loads.get();
+        });
+    }
+}
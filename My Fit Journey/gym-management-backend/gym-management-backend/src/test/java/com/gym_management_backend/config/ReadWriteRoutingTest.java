@@ -0,0 +1,176 @@
+package com.gym_management_backend.config;
+
+import com.gym_management_backend.entities.ClassBooking;
+import com.gym_management_backend.entities.ClassSession;
+import com.gym_management_backend.entities.Plan;
+import com.gym_management_backend.entities.User;
+import com.gym_management_backend.repositories.ClassBookingRepository;
+import com.gym_management_backend.repositories.ClassSessionRepository;
+import com.gym_management_backend.repositories.PlanRepository;
+import com.gym_management_backend.repositories.UserRepository;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.gym_management_backend.TestAccounts.account;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Routing against two separate H2 databases. There is no real replication between
+ * them: replicate() copies a snapshot of the primary into the replica, and rows
+ * written to only one side show which database served a request.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:gym_primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        // The primary gets its schema, heartbeat table included, from the migrations as in production
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "gym.datasource.replica.enabled=true",
+        "gym.datasource.replica.url=" + ReadWriteRoutingTest.REPLICA_URL,
+        "gym.datasource.replica.username=sa",
+        "gym.datasource.replica.password=",
+        // Lag checks are triggered by the tests, not the scheduler
+        "gym.datasource.replica.heartbeat-ms=3600000",
+        "gym.datasource.replica.max-lag-ms=5000",
+        "gym.datasource.replica.sticky-ms=60000",
+        "gym.rate-limit.enabled=false"
+})
+@AutoConfigureMockMvc
+class ReadWriteRoutingTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:gym_primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:gym_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private final JdbcTemplate primaryJdbc = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+    private final JdbcTemplate replicaJdbc = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlanRepository planRepository;
+    @Autowired
+    private ClassSessionRepository classSessionRepository;
+    @Autowired
+    private ClassBookingRepository classBookingRepository;
+
+    @Test
+    void readOnlyTransactionsGoToReplicaWhileInSync() throws Exception {
+        planRepository.save(plan("Primary plan A"));
+        replicate();
+        replicaJdbc.update("UPDATE plans SET name = 'Replica copy A' WHERE name = 'Primary plan A'");
+        lagMonitor.check();
+        assertTrue(lagMonitor.isReplicaUsable());
+
+        String body = mockMvc.perform(get("/api/plans").with(user("routing-reader").roles("MEMBER")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(body.contains("Replica copy A"), body);
+    }
+
+    @Test
+    void readsFallBackToPrimaryWhenReplicaLags() throws Exception {
+        planRepository.save(plan("Primary plan B"));
+        replicate();
+        replicaJdbc.update("UPDATE plans SET name = 'Replica copy B' WHERE name = 'Primary plan B'");
+        // The replica's heartbeat is a minute old: it stopped applying changes
+        replicaJdbc.update("UPDATE replication_heartbeat SET beat_at = ?", new Timestamp(System.currentTimeMillis() - 60_000));
+        lagMonitor.check();
+        assertFalse(lagMonitor.isReplicaUsable());
+
+        String body = mockMvc.perform(get("/api/plans").with(user("routing-reader").roles("MEMBER")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(body.contains("Primary plan B"), body);
+        assertFalse(body.contains("Replica copy B"), body);
+    }
+
+    @Test
+    void memberReadsOwnBookingRightAfterBooking() throws Exception {
+        User trainer = userRepository.save(account("routing-trainer", User.Role.TRAINER));
+        User booker = userRepository.save(account("routing-booker", User.Role.MEMBER));
+        User bystander = userRepository.save(account("routing-bystander", User.Role.MEMBER));
+        ClassSession session = classSessionRepository.save(ClassSession.builder()
+                .trainer(trainer)
+                .className("Routing yoga")
+                .scheduledAt(LocalDateTime.now().plusDays(2))
+                .maxCapacity(10)
+                .build());
+        replicate();
+        lagMonitor.check();
+        assertTrue(lagMonitor.isReplicaUsable());
+
+        // Written after the snapshot and outside any member's request: the replica does not have it yet
+        classBookingRepository.save(ClassBooking.builder()
+                .member(bystander)
+                .classSession(session)
+                .bookedAt(LocalDateTime.now())
+                .active(true)
+                .present(false)
+                .build());
+        String bystanderView = mockMvc.perform(get("/api/member/classes/bookings")
+                        .with(user(bystander.getUsername()).roles("MEMBER")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertFalse(bystanderView.contains("Routing yoga"), "bystander reads the (stale) replica: " + bystanderView);
+
+        Cookie marker = mockMvc.perform(post("/api/member/classes/book")
+                        .with(user(booker.getUsername()).roles("MEMBER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"classSessionId\":" + session.getId() + "}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getCookie(ReadYourWritesTracker.COOKIE);
+        assertNotNull(marker);
+
+        String bookerView = mockMvc.perform(get("/api/member/classes/bookings")
+                        .with(user(booker.getUsername()).roles("MEMBER")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(bookerView.contains("Routing yoga"), "booker should read their own write: " + bookerView);
+
+        // A node that did not take the write only knows about it from the cookie the client sends back
+        String withMarker = mockMvc.perform(get("/api/member/classes/bookings")
+                        .with(user(bystander.getUsername()).roles("MEMBER"))
+                        .cookie(marker))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(withMarker.contains("Routing yoga"), "a request with the marker reads the primary: " + withMarker);
+    }
+
+    // Stand-in for replication: overwrite the replica with a snapshot of the primary
+    private void replicate() {
+        List<String> script = primaryJdbc.queryForList("SCRIPT", String.class);
+        replicaJdbc.execute("DROP ALL OBJECTS");
+        script.forEach(replicaJdbc::execute);
+    }
+
+    private static Plan plan(String name) {
+        return Plan.builder()
+                .name(name)
+                .description(name)
+                .price(new BigDecimal("25.00"))
+                .durationInDays(30)
+                .active(true)
+                .build();
+    }
+}
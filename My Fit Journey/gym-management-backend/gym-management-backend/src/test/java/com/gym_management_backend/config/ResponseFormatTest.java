@@ -0,0 +1,106 @@
+package com.gym_management_backend.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.gym_management_backend.entities.ClassSession;
+import com.gym_management_backend.entities.Plan;
+import com.gym_management_backend.entities.User;
+import com.gym_management_backend.repositories.ClassSessionRepository;
+import com.gym_management_backend.repositories.PlanRepository;
+import com.gym_management_backend.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Accept-driven response formats: JSON by default, CBOR and Smile on request
+@SpringBootTest(properties = "gym.rate-limit.enabled=false")
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@WithMockUser(username = "format-member", roles = "MEMBER")
+class ResponseFormatTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private PlanRepository planRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ClassSessionRepository classSessionRepository;
+
+    @BeforeAll
+    void seed() {
+        planRepository.save(Plan.builder()
+                .name("Format plan")
+                .description("Plan used by the format tests")
+                .price(new BigDecimal("30.00"))
+                .durationInDays(30)
+                .active(true)
+                .build());
+        User trainer = userRepository.save(User.builder()
+                .username("format-trainer")
+                .password("{noop}unused")
+                .fullName("Format Trainer")
+                .email("format-trainer@example.com")
+                .active(true)
+                .role(User.Role.TRAINER)
+                .build());
+        classSessionRepository.save(ClassSession.builder()
+                .trainer(trainer)
+                .className("Format spin")
+                .scheduledAt(LocalDateTime.now().plusDays(3))
+                .maxCapacity(12)
+                .build());
+    }
+
+    @Test
+    void jsonStaysTheDefault() throws Exception {
+        mockMvc.perform(get("/api/plans"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void cborOnRequest() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/plans").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode plans = new CBORMapper().readTree(body);
+        assertTrue(plans.findValuesAsText("name").contains("Format plan"), plans.toString());
+    }
+
+    @Test
+    void smileOnRequestWithNumericDates() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/member/classes/available").accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode sessions = new SmileMapper().readTree(body);
+        JsonNode session = sessions.findParents("className").stream()
+                .filter(s -> "Format spin".equals(s.get("className").asText()))
+                .findFirst().orElseThrow();
+        assertTrue(session.get("scheduledAt").isArray(), session.toString());
+        assertEquals("Format Trainer", session.get("trainerName").asText());
+    }
+}
@@ -0,0 +1,43 @@
+package com.gym_management_backend.config;
+
+import com.gym_management_backend.entities.ClassSession;
+import com.gym_management_backend.entities.User;
+import com.gym_management_backend.repositories.ClassSessionRepository;
+import com.gym_management_backend.repositories.UserRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+import static com.gym_management_backend.TestAccounts.account;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The versioned migrations build a schema the entities validate against, as the prod profile starts with
+@SpringBootTest(properties = {"spring.flyway.enabled=true", "spring.jpa.hibernate.ddl-auto=validate"})
+class SchemaMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ClassSessionRepository classSessionRepository;
+
+    @Test
+    void migratedSchemaMatchesTheEntities() {
+        assertEquals(0, flyway.info().pending().length);
+        assertEquals("3", flyway.info().current().getVersion().getVersion());
+
+        User trainer = userRepository.save(account("migrated-trainer", User.Role.TRAINER));
+        ClassSession session = classSessionRepository.save(ClassSession.builder()
+                .trainer(trainer)
+                .className("Migrated yoga")
+                .scheduledAt(LocalDateTime.now().plusDays(1))
+                .durationMinutes(45)
+                .maxCapacity(10)
+                .build());
+        assertEquals(45, classSessionRepository.findById(session.getId()).orElseThrow().getDurationMinutes());
+    }
+}
@@ -0,0 +1,97 @@
+package com.gym_management_backend.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gym_management_backend.entities.Plan;
+import com.gym_management_backend.entities.User;
+import com.gym_management_backend.entities.UserPlan;
+import com.gym_management_backend.repositories.PlanRepository;
+import com.gym_management_backend.repositories.UserPlanRepository;
+import com.gym_management_backend.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.gym_management_backend.TestAccounts.account;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "gym.rate-limit.enabled=false")
+@AutoConfigureMockMvc
+class SparseFieldsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlanRepository planRepository;
+    @Autowired
+    private UserPlanRepository userPlanRepository;
+
+    @Test
+    void listsReturnOnlyTheRequestedFields() throws Exception {
+        User trainer = userRepository.save(account("fields-trainer", User.Role.TRAINER));
+        User member = userRepository.save(account("fields-member", User.Role.MEMBER));
+        Plan plan = planRepository.save(Plan.builder().name("Fields Monthly").price(new BigDecimal("25.00"))
+                .durationInDays(30).active(true).build());
+        UserPlan purchase = userPlanRepository.save(UserPlan.builder().user(member).plan(plan)
+                .bookingDate(LocalDateTime.now()).paymentCompleted(true).active(true).build());
+
+        JsonNode users = getJson("/api/admin/users?role=member&fields=fullName,id,fullName");
+        for (JsonNode row : users) {
+            assertEquals(List.of("fullName", "id"), fieldNames(row));
+        }
+        assertTrue(users.findValuesAsText("fullName").contains("fields-member"));
+        assertFalse(users.findValuesAsText("fullName").contains("fields-trainer"));
+
+        JsonNode trainers = getJson("/api/admin/trainers?fields=id");
+        assertTrue(trainers.findValues("id").stream().anyMatch(id -> id.asLong() == trainer.getId()));
+
+        JsonNode purchases = getJson("/api/admin/member-plans?includeArchived=true&fields=bookingId,memberName");
+        JsonNode row = purchases.get(purchases.size() - 1);
+        assertEquals(List.of("bookingId", "memberName"), fieldNames(row));
+        assertEquals(purchase.getId(), row.get("bookingId").asLong());
+        assertEquals("fields-member", row.get("memberName").asText());
+
+        // Full entities, but never the password hash
+        for (JsonNode full : getJson("/api/admin/users")) {
+            assertFalse(full.has("password"));
+        }
+    }
+
+    @Test
+    void unknownFieldsAreRejected() throws Exception {
+        String message = mockMvc.perform(get("/api/admin/users?fields=id,password").with(user("fields-admin").roles("ADMIN")))
+                .andExpect(status().isBadRequest())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(message.contains("'password'"), message);
+        assertTrue(message.endsWith("allowed: id,username,fullName,email,active,role,photoUrl"), message);
+        mockMvc.perform(get("/api/admin/member-plans?fields=").with(user("fields-admin").roles("ADMIN")))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode getJson(String url) throws Exception {
+        String body = mockMvc.perform(get(url).with(user("fields-admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private static List<String> fieldNames(JsonNode row) {
+        List<String> names = new ArrayList<>();
+        row.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
@@ -0,0 +1,222 @@
+package com.gym_management_backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gym_management_backend.entities.ClassBooking;
+import com.gym_management_backend.entities.ClassSession;
+import com.gym_management_backend.entities.Plan;
+import com.gym_management_backend.entities.User;
+import com.gym_management_backend.repositories.ClassBookingRepository;
+import com.gym_management_backend.repositories.ClassSessionRepository;
+import com.gym_management_backend.repositories.PlanRepository;
+import com.gym_management_backend.repositories.UserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.math.BigDecimal;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reproduces a popular class opening: every member logs in, then all of them hit
+ * /api/member/classes/book for the same session at the same instant, followed by a
+ * mixed phase of listings, plan purchases, waitlist joins and cancellations.
+ * Runs fully offline against the embedded database: mvn -Ploadtest test
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "gym.rate-limit.enabled=false",
+        "spring.datasource.hikari.maximum-pool-size=20",
+        "spring.datasource.url=jdbc:h2:mem:gym_loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000"
+})
+class BookingStormLoadTest {
+
+    private static final int MEMBERS = Integer.getInteger("loadtest.members", 200);
+    private static final int CAPACITY = Integer.getInteger("loadtest.capacity", 40);
+    private static final int OTHER_SESSIONS = 20;
+    private static final String PASSWORD = "storm-pass";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlanRepository planRepository;
+    @Autowired
+    private ClassSessionRepository classSessionRepository;
+    @Autowired
+    private ClassBookingRepository classBookingRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final LoadStats stats = new LoadStats();
+
+    @Test
+    void bookingStorm() throws Exception {
+        Seed seed = seed();
+        LoadClient client = new LoadClient(port, stats);
+        ExecutorService clients = Executors.newFixedThreadPool(Math.min(MEMBERS, 256));
+        try {
+            // Phase 1: concurrent logins
+            Map<String, String> tokens = new ConcurrentHashMap<>();
+            client.runConcurrently(clients, seed.usernames, username -> {
+                HttpResponse<String> resp = client.send("login", client.post("/api/auth/login", null,
+                        "{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\"}"));
+                if (resp != null && resp.statusCode() == 200) {
+                    tokens.put(username, objectMapper.readTree(resp.body()).get("token").asText());
+                }
+            });
+            assertEquals(MEMBERS, tokens.size(), "every member should be able to log in");
+
+            // Phase 2: the storm, everyone books the popular class at once and the unlucky join the waitlist
+            Map<String, Long> bookingIds = new ConcurrentHashMap<>();
+            client.runConcurrently(clients, seed.usernames, username -> {
+                HttpResponse<String> resp = client.send("book_popular", client.post("/api/member/classes/book", tokens.get(username),
+                        "{\"classSessionId\":" + seed.popularSessionId + "}"));
+                if (resp != null && resp.statusCode() == 200) {
+                    bookingIds.put(username, objectMapper.readTree(resp.body()).get("bookingId").asLong());
+                } else {
+                    client.send("join_waitlist", client.post("/api/member/classes/" + seed.popularSessionId + "/waitlist",
+                            tokens.get(username), ""));
+                }
+            });
+
+            // Phase 3: mixed traffic; some lucky members cancel and hand their seat to the waitlist
+            client.runConcurrently(clients, seed.usernames, username -> {
+                String token = tokens.get(username);
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                client.send("list_available", client.get("/api/member/classes/available", token));
+                client.send("list_class_bookings", client.get("/api/member/classes/bookings", token));
+                client.send("list_plans", client.get("/api/plans", token));
+
+                Long bookingId = bookingIds.get(username);
+                if (bookingId != null && random.nextInt(4) == 0) {
+                    client.send("cancel_booking", client.delete("/api/member/classes/bookings/" + bookingId, token));
+                }
+                if (random.nextInt(3) == 0) {
+                    client.send("buy_plan", client.post("/api/member/bookings/book", token,
+                            "{\"planId\":" + seed.planId + ",\"paymentReference\":\"LOAD-" + username + "\"}"));
+                }
+                long otherSession = seed.otherSessionIds.get(random.nextInt(seed.otherSessionIds.size()));
+                client.send("book_other", client.post("/api/member/classes/book", token, "{\"classSessionId\":" + otherSession + "}"));
+                client.send("waitlist_position", client.get("/api/member/classes/" + seed.popularSessionId + "/waitlist", token));
+            });
+        } finally {
+            clients.shutdownNow();
+        }
+
+        String report = stats.report("Booking storm: " + MEMBERS + " members, popular class capacity " + CAPACITY);
+        System.out.println(report);
+        LoadClient.writeReport("booking-storm.txt", report);
+
+        assertInvariants(seed);
+        assertEquals(Math.min(MEMBERS, CAPACITY), stats.get("book_popular").status(200),
+                "exactly the capacity of the popular class should be booked during the storm");
+        assertEquals(0, stats.get("list_available").errors(), "listings must not fail under load");
+    }
+
+    // Capacity and no-duplicate invariants, checked straight against the database
+    private void assertInvariants(Seed seed) {
+        List<Long> sessionIds = new ArrayList<>(seed.otherSessionIds);
+        sessionIds.add(seed.popularSessionId);
+        for (Long sessionId : sessionIds) {
+            ClassSession session = classSessionRepository.findById(sessionId).orElseThrow();
+            List<ClassBooking> active = classBookingRepository.findByClassSessionId(sessionId).stream()
+                    .filter(b -> Boolean.TRUE.equals(b.getActive()))
+                    .toList();
+            assertTrue(active.size() <= session.getMaxCapacity(),
+                    "session " + sessionId + " is over capacity: " + active.size() + " > " + session.getMaxCapacity());
+
+            Map<Long, Integer> perMember = new HashMap<>();
+            for (ClassBooking booking : active) {
+                perMember.merge(booking.getMember().getId(), 1, Integer::sum);
+            }
+            perMember.forEach((memberId, count) -> assertEquals(1, count,
+                    "member " + memberId + " holds " + count + " active bookings for session " + sessionId));
+        }
+        // Cancellations promote from the waitlist, so the popular class should still be full
+        assertEquals(Math.min(MEMBERS, CAPACITY), classBookingRepository.countByClassSessionIdAndActiveTrue(seed.popularSessionId));
+    }
+
+    private Seed seed() {
+        // One BCrypt hash shared by all members keeps seeding fast
+        String hash = passwordEncoder.encode(PASSWORD);
+        List<User> members = new ArrayList<>();
+        for (int i = 0; i < MEMBERS; i++) {
+            members.add(User.builder()
+                    .username("storm" + i)
+                    .password(hash)
+                    .fullName("Storm Member " + i)
+                    .email("storm" + i + "@example.com")
+                    .active(true)
+                    .role(User.Role.MEMBER)
+                    .build());
+        }
+        userRepository.saveAll(members);
+
+        User trainer = userRepository.save(User.builder()
+                .username("storm-trainer")
+                .password(hash)
+                .fullName("Storm Trainer")
+                .email("storm-trainer@example.com")
+                .active(true)
+                .role(User.Role.TRAINER)
+                .build());
+
+        Plan plan = planRepository.save(Plan.builder()
+                .name("Monthly")
+                .description("Monthly membership")
+                .price(new BigDecimal("30.00"))
+                .durationInDays(30)
+                .active(true)
+                .build());
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        ClassSession popular = classSessionRepository.save(ClassSession.builder()
+                .trainer(trainer)
+                .className("Sold-out Spin")
+                .scheduledAt(start)
+                .maxCapacity(CAPACITY)
+                .build());
+        List<Long> others = new ArrayList<>();
+        for (int i = 0; i < OTHER_SESSIONS; i++) {
+            others.add(classSessionRepository.save(ClassSession.builder()
+                    .trainer(trainer)
+                    .className("Class " + i)
+                    .scheduledAt(start.plusHours(i + 1))
+                    .maxCapacity(15)
+                    .build()).getId());
+        }
+
+        Seed seed = new Seed();
+        seed.usernames = members.stream().map(User::getUsername).toList();
+        seed.planId = plan.getId();
+        seed.popularSessionId = popular.getId();
+        seed.otherSessionIds = others;
+        return seed;
+    }
+
+    private static final class Seed {
+        private List<String> usernames;
+        private Long planId;
+        private Long popularSessionId;
+        private List<Long> otherSessionIds;
+    }
+}
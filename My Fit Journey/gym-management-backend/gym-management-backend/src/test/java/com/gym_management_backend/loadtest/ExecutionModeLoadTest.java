@@ -0,0 +1,121 @@
+package com.gym_management_backend.loadtest;
+
+import com.gym_management_backend.entities.ClassSession;
+import com.gym_management_backend.entities.User;
+import com.gym_management_backend.repositories.ClassSessionRepository;
+import com.gym_management_backend.repositories.UserRepository;
+import com.gym_management_backend.security.JwtUtil;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.gym_management_backend.TestAccounts.account;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Same booking and listing workload against each request execution mode; see
+ * PlatformThreadModeLoadTest and VirtualThreadModeLoadTest. More concurrent clients
+ * than Tomcat's 200 platform workers so the two modes queue in different places:
+ * the worker pool versus the database bulkhead. Reports go to target/loadtest/.
+ *
+ * H2 answers from memory, so there is little blocking for virtual threads to hide; point
+ * both runs at MySQL with -Dspring.datasource.url=... (plus username/password) to measure
+ * the mode this is meant for. Run: mvn -Pjdk21,loadtest test (JDK 21; the virtual run is
+ * skipped on older JDKs).
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "gym.rate-limit.enabled=false",
+        "spring.datasource.hikari.maximum-pool-size=20"
+})
+abstract class ExecutionModeLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 400);
+    private static final int ROUNDS = Integer.getInteger("loadtest.rounds", 5);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ClassSessionRepository classSessionRepository;
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    protected abstract String mode();
+
+    @Test
+    void bookingAndListing() throws Exception {
+        String prefix = mode() + "-";
+        User trainer = userRepository.save(account(prefix + "trainer", User.Role.TRAINER));
+        List<Long> sessionIds = new ArrayList<>();
+        for (int round = 0; round < ROUNDS; round++) {
+            sessionIds.add(classSessionRepository.save(ClassSession.builder()
+                    .trainer(trainer)
+                    .className(prefix + "class " + round)
+                    .scheduledAt(LocalDateTime.now().plusDays(1).plusHours(round))
+                    .maxCapacity(CLIENTS)
+                    .build()).getId());
+        }
+
+        // Tokens are minted directly: login cost (BCrypt) is the same in both modes and would dominate
+        Map<String, String> tokens = new ConcurrentHashMap<>();
+        List<String> usernames = new ArrayList<>();
+        List<User> members = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            members.add(account(prefix + "member" + i, User.Role.MEMBER));
+        }
+        for (User member : userRepository.saveAll(members)) {
+            usernames.add(member.getUsername());
+            tokens.put(member.getUsername(), jwtUtil.generateToken(
+                    org.springframework.security.core.userdetails.User.withUsername(member.getUsername())
+                            .password(member.getPassword())
+                            .roles(member.getRole().name())
+                            .build()));
+        }
+
+        LoadStats stats = new LoadStats();
+        LoadClient client = new LoadClient(port, stats);
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        long started;
+        try {
+            // Unrecorded warm-up pass so JIT compilation does not count against whichever mode runs first
+            LoadClient warmUp = new LoadClient(port, new LoadStats());
+            warmUp.runConcurrently(clients, usernames, username -> {
+                warmUp.send("list_available", warmUp.get("/api/member/classes/available", tokens.get(username)));
+                warmUp.send("list_class_bookings", warmUp.get("/api/member/classes/bookings", tokens.get(username)));
+            });
+
+            started = System.nanoTime();
+            client.runConcurrently(clients, usernames, username -> {
+                String token = tokens.get(username);
+                for (Long sessionId : sessionIds) {
+                    client.send("list_available", client.get("/api/member/classes/available", token));
+                    client.send("book", client.post("/api/member/classes/book", token, "{\"classSessionId\":" + sessionId + "}"));
+                    client.send("list_class_bookings", client.get("/api/member/classes/bookings", token));
+                }
+            });
+        } finally {
+            clients.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        String report = stats.report(String.format("Execution mode %s: %d clients x %d rounds, %.1f s wall clock",
+                mode(), CLIENTS, ROUNDS, seconds));
+        System.out.println(report);
+        LoadClient.writeReport("execution-mode-" + mode() + ".txt", report);
+
+        assertEquals((long) CLIENTS * ROUNDS, stats.get("book").status(200), "every booking should succeed");
+    }
+}
@@ -0,0 +1,100 @@
+package com.gym_management_backend.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * HTTP client side of the load tests: timed requests recorded into LoadStats,
+ * and latch-synchronized bursts where every simulated member starts at once.
+ */
+class LoadClient {
+
+    interface MemberAction {
+        void run(String username) throws Exception;
+    }
+
+    private final int port;
+    private final LoadStats stats;
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newFixedThreadPool(16))
+            .build();
+
+    LoadClient(int port, LoadStats stats) {
+        this.port = port;
+        this.stats = stats;
+    }
+
+    LoadStats stats() {
+        return stats;
+    }
+
+    // Releases all members at the same instant and waits for them to finish
+    void runConcurrently(ExecutorService clients, List<String> usernames, MemberAction action) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (String username : usernames) {
+            futures.add(clients.submit(() -> {
+                start.await();
+                action.run(username);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    HttpResponse<String> send(String operation, HttpRequest request) {
+        long begin = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            stats.record(operation, begin, System.nanoTime(), response.statusCode());
+            return response;
+        } catch (IOException | InterruptedException e) {
+            stats.record(operation, begin, System.nanoTime(), -1);
+            return null;
+        }
+    }
+
+    HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    HttpRequest post(String path, String token, String body) {
+        return request(path, token).POST(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    HttpRequest delete(String path, String token) {
+        return request(path, token).DELETE().build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    static void writeReport(String fileName, String report) throws IOException {
+        Path dir = Path.of("target", "loadtest");
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve(fileName), report);
+    }
+}
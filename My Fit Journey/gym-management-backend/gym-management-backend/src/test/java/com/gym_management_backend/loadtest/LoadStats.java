@@ -0,0 +1,91 @@
+package com.gym_management_backend.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Per-operation latency histograms and status counters for the load tests
+class LoadStats {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+
+    static final class Operation {
+        private final Histogram latencies = new Histogram(MAX_TRACKABLE_NANOS, 3);
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final LongAdder failures = new LongAdder();
+        private final AtomicLong firstStart = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong lastEnd = new AtomicLong(Long.MIN_VALUE);
+
+        long count() {
+            synchronized (latencies) {
+                return latencies.getTotalCount();
+            }
+        }
+
+        long status(int status) {
+            LongAdder adder = statuses.get(status);
+            return adder == null ? 0 : adder.sum();
+        }
+
+        long errors() {
+            long errors = failures.sum();
+            for (Map.Entry<Integer, LongAdder> entry : statuses.entrySet()) {
+                if (entry.getKey() >= 400) {
+                    errors += entry.getValue().sum();
+                }
+            }
+            return errors;
+        }
+    }
+
+    void record(String operation, long startNanos, long endNanos, int status) {
+        Operation op = operations.computeIfAbsent(operation, o -> new Operation());
+        synchronized (op.latencies) {
+            op.latencies.recordValue(Math.min(endNanos - startNanos, MAX_TRACKABLE_NANOS));
+        }
+        if (status < 0) {
+            op.failures.increment();
+        } else {
+            op.statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        }
+        op.firstStart.accumulateAndGet(startNanos, Math::min);
+        op.lastEnd.accumulateAndGet(endNanos, Math::max);
+    }
+
+    Operation get(String operation) {
+        return operations.get(operation);
+    }
+
+    String report(String title) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("\n=== ").append(title).append(" ===\n");
+        sb.append(String.format("%-22s %8s %10s %9s %9s %9s %9s  %s%n",
+                "operation", "count", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "errors / status codes"));
+        for (Map.Entry<String, Operation> entry : new TreeMap<>(operations).entrySet()) {
+            Operation op = entry.getValue();
+            Histogram h;
+            synchronized (op.latencies) {
+                h = op.latencies.copy();
+            }
+            double seconds = Math.max(1, op.lastEnd.get() - op.firstStart.get()) / 1e9;
+            sb.append(String.format("%-22s %8d %10.1f %9.2f %9.2f %9.2f %9.2f  %d %s%n",
+                    entry.getKey(),
+                    h.getTotalCount(),
+                    h.getTotalCount() / seconds,
+                    h.getValueAtPercentile(50) / 1e6,
+                    h.getValueAtPercentile(99) / 1e6,
+                    h.getValueAtPercentile(99.9) / 1e6,
+                    h.getMaxValue() / 1e6,
+                    op.errors(),
+                    new TreeMap<>(op.statuses)));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,116 @@
+package com.gym_management_backend.loadtest;
+
+import com.gym_management_backend.entities.PayrollRun;
+import com.gym_management_backend.services.PayrollService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Payroll over a year of classes: TRAINERS trainers teaching CLASSES_PER_WEEK classes a week
+ * with ATTENDEES members each, seeded with plain JDBC batches, then every month of the
+ * year paid in turn. Report in target/loadtest/payroll.txt. Run: mvn -Ploadtest test
+ */
+@Tag("loadtest")
+@SpringBootTest(properties = {
+        "gym.rate-limit.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:gym_payroll;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+})
+class PayrollLoadTest {
+
+    private static final int TRAINERS = Integer.getInteger("loadtest.trainers", 1000);
+    private static final int CLASSES_PER_WEEK = Integer.getInteger("loadtest.classesPerWeek", 3);
+    private static final int ATTENDEES = Integer.getInteger("loadtest.attendees", 4);
+    private static final int YEAR = 2024;
+    private static final long MAX_RUN_MS = 10_000;
+
+    @Autowired
+    private PayrollService payrollService;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void payAYear() throws Exception {
+        long seedStart = System.nanoTime();
+        long firstTrainer = seed();
+        long seedMs = (System.nanoTime() - seedStart) / 1_000_000;
+
+        StringBuilder report = new StringBuilder()
+                .append("Payroll: ").append(TRAINERS).append(" trainers, ")
+                .append(CLASSES_PER_WEEK).append(" classes/week, ").append(ATTENDEES).append(" attendees/class\n")
+                .append("seeded in ").append(seedMs).append(" ms\n");
+        long slowest = 0;
+        for (int month = 1; month <= 12; month++) {
+            PayrollRun run = payrollService.run(YearMonth.of(YEAR, month));
+            slowest = Math.max(slowest, run.getDurationMs());
+            assertEquals(TRAINERS, run.getTrainerCount());
+            report.append(YearMonth.of(YEAR, month)).append(": ").append(run.getDurationMs()).append(" ms, total ")
+                    .append(run.getTotalCost()).append('\n');
+        }
+        System.out.print(report);
+        LoadClient.writeReport("payroll.txt", report.toString());
+
+        Integer slips = jdbc.queryForObject("SELECT COUNT(*) FROM payslips WHERE trainer_id = ?", Integer.class, firstTrainer);
+        assertEquals(12, slips);
+        assertTrue(slowest < MAX_RUN_MS, "slowest monthly run took " + slowest + " ms");
+    }
+
+    // Returns the first trainer's id
+    private long seed() {
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < TRAINERS; i++) {
+            users.add(new Object[]{"pay-trainer" + i, "pay-trainer" + i + "@example.com", "TRAINER"});
+        }
+        for (int i = 0; i < ATTENDEES; i++) {
+            users.add(new Object[]{"pay-member" + i, "pay-member" + i + "@example.com", "MEMBER"});
+        }
+        jdbc.batchUpdate("INSERT INTO users (username, password, full_name, email, active, role) " +
+                "VALUES (?, '{noop}unused', 'Payroll load', ?, TRUE, ?)", users);
+        List<Long> trainerIds = jdbc.queryForList(
+                "SELECT id FROM users WHERE username LIKE 'pay-trainer%' ORDER BY id", Long.class);
+        List<Long> memberIds = jdbc.queryForList(
+                "SELECT id FROM users WHERE username LIKE 'pay-member%' ORDER BY id", Long.class);
+
+        List<Object[]> terms = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (Long trainerId : trainerIds) {
+            terms.add(new Object[]{trainerId, 2500 + trainerId % 1000, Date.valueOf(LocalDate.of(YEAR - 1, 1, 1)), now});
+            terms.add(new Object[]{trainerId, 2800 + trainerId % 1000, Date.valueOf(LocalDate.of(YEAR, 7, 15)), now});
+        }
+        jdbc.batchUpdate("INSERT INTO trainer_salary_history (trainer_id, salary, per_class_rate, per_attendee_rate, " +
+                "effective_from, recorded_at) VALUES (?, ?, 15, 1.5, ?, ?)", terms);
+
+        LocalDateTime start = LocalDate.of(YEAR, 1, 1).atTime(6, 0);
+        int classes = 52 * CLASSES_PER_WEEK;
+        for (Long trainerId : trainerIds) {
+            List<Object[]> sessions = new ArrayList<>(classes);
+            for (int c = 0; c < classes; c++) {
+                sessions.add(new Object[]{trainerId, Timestamp.valueOf(start.plusHours(56L * c + trainerId % 12))});
+            }
+            jdbc.batchUpdate("INSERT INTO class_sessions (trainer_id, class_name, scheduled_at, duration_minutes, max_capacity) " +
+                    "VALUES (?, 'Load class', ?, 60, 20)", sessions);
+        }
+        List<Object[]> bookings = new ArrayList<>();
+        for (Long memberId : memberIds) {
+            bookings.add(new Object[]{memberId, memberId % 3 != 0});
+        }
+        for (Object[] booking : bookings) {
+            jdbc.update("INSERT INTO class_bookings (member_id, class_session_id, booked_at, active, present) " +
+                    "SELECT ?, id, scheduled_at, TRUE, ? FROM class_sessions WHERE class_name = 'Load class'", booking);
+        }
+        return trainerIds.get(0);
+    }
+}
@@ -0,0 +1,10 @@
+package com.gym_management_backend.loadtest;
+
+// Default mode: Tomcat's platform-thread worker pool, no bulkhead
+class PlatformThreadModeLoadTest extends ExecutionModeLoadTest {
+
+    @Override
+    protected String mode() {
+        return "platform";
+    }
+}
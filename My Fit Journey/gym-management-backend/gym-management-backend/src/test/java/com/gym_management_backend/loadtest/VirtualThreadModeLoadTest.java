@@ -0,0 +1,16 @@
+package com.gym_management_backend.loadtest;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.test.context.ActiveProfiles;
+
+// "virtual" profile: requests on virtual threads, database bulkhead in front of the pool (needs JDK 21)
+@ActiveProfiles("virtual")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadModeLoadTest extends ExecutionModeLoadTest {
+
+    @Override
+    protected String mode() {
+        return "virtual";
+    }
+}
@@ -0,0 +1,189 @@
+package com.gym_management_backend.metrics;
+
+import com.gym_management_backend.entities.ClassBooking;
+import com.gym_management_backend.entities.ClassSession;
+import com.gym_management_backend.entities.Plan;
+import com.gym_management_backend.entities.User;
+import com.gym_management_backend.entities.UserPlan;
+import com.gym_management_backend.repositories.ClassBookingRepository;
+import com.gym_management_backend.repositories.ClassSessionRepository;
+import com.gym_management_backend.repositories.PlanRepository;
+import com.gym_management_backend.repositories.UserPlanRepository;
+import com.gym_management_backend.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static com.gym_management_backend.TestAccounts.account;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Query budgets per endpoint. Each endpoint is called against a seeded data set;
+ * the statement count comes from the X-Query-Count header, so a change that
+ * reintroduces an N+1 fails here instead of in production.
+ */
+@SpringBootTest(properties = {
+        "gym.query-budget.headers=true",
+        "gym.rate-limit.enabled=false"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryBudgetTest {
+
+    private static final int SESSIONS = 12;
+    private static final int PLAN_PURCHASES = 12;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlanRepository planRepository;
+    @Autowired
+    private UserPlanRepository userPlanRepository;
+    @Autowired
+    private ClassSessionRepository classSessionRepository;
+    @Autowired
+    private ClassBookingRepository classBookingRepository;
+
+    private Long planId;
+
+    @BeforeAll
+    void seed() {
+        User member = userRepository.save(account("qb-member", User.Role.MEMBER));
+        Plan plan = planRepository.save(Plan.builder()
+                .name("Quarterly")
+                .description("Three months")
+                .price(new BigDecimal("80.00"))
+                .durationInDays(90)
+                .active(true)
+                .build());
+        planId = plan.getId();
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < SESSIONS; i++) {
+            // A different trainer per session, so lazy trainer loads cannot hide behind the persistence context
+            User trainer = userRepository.save(account("qb-trainer" + i, User.Role.TRAINER));
+            ClassSession session = classSessionRepository.save(ClassSession.builder()
+                    .trainer(trainer)
+                    .className("Budget class " + i)
+                    .scheduledAt(start.plusHours(i))
+                    .maxCapacity(10)
+                    .build());
+            classBookingRepository.save(ClassBooking.builder()
+                    .member(member)
+                    .classSession(session)
+                    .bookedAt(LocalDateTime.now())
+                    .active(true)
+                    .present(false)
+                    .build());
+        }
+        for (int i = 0; i < PLAN_PURCHASES; i++) {
+            User buyer = userRepository.save(account("qb-buyer" + i, User.Role.MEMBER));
+            userPlanRepository.save(UserPlan.builder()
+                    .user(buyer)
+                    .plan(plan)
+                    .bookingDate(LocalDateTime.now())
+                    .paymentCompleted(true)
+                    .paymentReference("QB-" + i)
+                    .active(true)
+                    .build());
+        }
+    }
+
+    // Listings load what they map in a single select (entity graphs / DTO projections); a budget
+    // above 1 here means a lazy association is being loaded row by row again. Member histories
+    // add one indexed probe of the archive tables (ArchiveService).
+
+    @Test
+    @WithMockUser(username = "qb-member", roles = "MEMBER")
+    void availableClasses() throws Exception {
+        assertQueryBudget(get("/api/member/classes/available"), 1);
+    }
+
+    @Test
+    @WithMockUser(username = "qb-member", roles = "MEMBER")
+    void memberClassBookings() throws Exception {
+        assertQueryBudget(get("/api/member/classes/bookings"), 2);
+    }
+
+    @Test
+    @WithMockUser(username = "qb-member", roles = "MEMBER")
+    void memberClassBookingsArePaged() throws Exception {
+        MvcResult first = assertQueryBudget(get("/api/member/classes/bookings").param("size", "5"), 2);
+        assertEquals("true", first.getResponse().getHeader("X-Has-Next"));
+        assertEquals(5, first.getResponse().getContentAsString().split("\"bookingId\"").length - 1);
+
+        MvcResult last = assertQueryBudget(get("/api/member/classes/bookings").param("page", "2").param("size", "5"), 2);
+        assertEquals("false", last.getResponse().getHeader("X-Has-Next"));
+        assertEquals(SESSIONS - 10, last.getResponse().getContentAsString().split("\"bookingId\"").length - 1);
+    }
+
+    @Test
+    @WithMockUser(username = "qb-buyer0", roles = "MEMBER")
+    void memberPlanHistory() throws Exception {
+        MvcResult result = assertQueryBudget(get("/api/member/bookings"), 2);
+        assertTrue(result.getResponse().getContentAsString().contains("QB-0"));
+    }
+
+    // The sections run on the dashboard pool, plans and available classes on the stale-read pool; their
+    // statements still count: the two histories above, plus at most one select each for the cached lists
+    @Test
+    @WithMockUser(username = "qb-member", roles = "MEMBER")
+    void memberDashboard() throws Exception {
+        MvcResult result = assertQueryBudget(get("/api/member/dashboard"), 6);
+        assertTrue(Integer.parseInt(result.getResponse().getHeader(QueryBudgetFilter.COUNT_HEADER)) >= 4);
+    }
+
+    @Test
+    @WithMockUser(username = "qb-admin", roles = "ADMIN")
+    void adminMemberPlans() throws Exception {
+        assertQueryBudget(get("/api/admin/member-plans"), 1);
+    }
+
+    @Test
+    @WithMockUser(username = "qb-member", roles = "MEMBER")
+    void waitlistPositionIsServedFromMemory() throws Exception {
+        assertQueryBudget(get("/api/member/classes/1/waitlist"), 0);
+    }
+
+    @Test
+    @WithMockUser(username = "qb-admin", roles = "ADMIN")
+    void planListComesFromQueryCacheUntilAnAdminEditsAPlan() throws Exception {
+        mockMvc.perform(get("/api/plans")).andReturn();
+        assertQueryBudget(get("/api/plans"), 0);
+
+        mockMvc.perform(put("/api/admin/plans/" + planId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Quarterly Plus\",\"description\":\"Three months\","
+                                + "\"price\":85.00,\"durationInDays\":90,\"active\":true}"))
+                .andExpect(status().isOk());
+
+        // The write invalidated the cached list and updated the cached row
+        MvcResult result = assertQueryBudget(get("/api/plans"), 1);
+        assertTrue(result.getResponse().getContentAsString().contains("Quarterly Plus"));
+    }
+
+    private MvcResult assertQueryBudget(MockHttpServletRequestBuilder request, int budget) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        assertEquals(200, result.getResponse().getStatus(), result.getResponse().getContentAsString());
+        int statements = Integer.parseInt(result.getResponse().getHeader(QueryBudgetFilter.COUNT_HEADER));
+        assertTrue(statements <= budget, "expected at most " + budget + " SQL statements but the request issued " + statements);
+        return result;
+    }
+}
@@ -0,0 +1,253 @@
+package com.gym_management_backend.notifications;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gym_management_backend.cache.CommittedWriteDispatcher;
+import com.gym_management_backend.config.ReminderProperties;
+import com.gym_management_backend.entities.ClassSession;
+import com.gym_management_backend.entities.User;
+import com.gym_management_backend.metrics.GymMetrics;
+import com.gym_management_backend.repositories.ClassBookingRepository;
+import com.gym_management_backend.repositories.ClassSessionRepository;
+import com.gym_management_backend.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.gym_management_backend.TestAccounts.account;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "gym.rate-limit.enabled=false")
+@AutoConfigureMockMvc
+class ReminderTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ClassSessionRepository classSessionRepository;
+    @Autowired
+    private ReminderService reminderService;
+    @Autowired
+    private ReminderProperties properties;
+    @Autowired
+    private ClassBookingRepository classBookingRepository;
+    @Autowired
+    private GymMetrics metrics;
+
+    @Test
+    void wheelFiresDueRemindersOnceAndForgetsCancelledOnes() {
+        LocalDateTime start = LocalDateTime.of(2026, 3, 2, 18, 0);
+        long t0 = millis(start.minusHours(30));
+        // 8 one-second slots: the 24-hour reminders go round the wheel many times before they are due
+        ReminderWheel wheel = new ReminderWheel(1000, 8, t0);
+        List<Duration> offsets = List.of(Duration.ofHours(24), Duration.ofHours(1));
+        wheel.schedule(1, 10, start, offsets, t0);
+        wheel.schedule(2, 10, start, offsets, t0);
+        wheel.schedule(3, 11, start.plusHours(2), offsets, t0);
+        assertEquals(6, wheel.size());
+
+        wheel.cancelBooking(2);
+        assertEquals(Set.of(1L), wheel.bookingsOf(10));
+        assertTrue(wheel.advance(millis(start.minusHours(24)) - 1000).isEmpty());
+
+        List<ReminderWheel.Reminder> dayBefore = wheel.advance(millis(start.minusHours(24)));
+        assertEquals(1, dayBefore.size());
+        assertEquals(1, dayBefore.get(0).bookingId());
+        assertEquals(Duration.ofHours(24), dayBefore.get(0).before());
+
+        // Long pause: everything due by now comes out in one advance
+        List<ReminderWheel.Reminder> late = wheel.advance(millis(start.plusHours(1)));
+        assertEquals(List.of(start.plusHours(2).minusHours(24), start.minusHours(1), start.plusHours(1)),
+                late.stream().map(r -> r.scheduledAt().minus(r.before())).sorted().toList());
+        assertEquals(0, wheel.size());
+        assertTrue(wheel.bookingsOf(10).isEmpty());
+    }
+
+    @Test
+    void bookedMembersAreRemindedAndCancelledBookingsAreNot() throws Exception {
+        User trainer = userRepository.save(account("reminder-trainer", User.Role.TRAINER));
+        // The 1-hour reminder is due two seconds from now; the 24-hour one has already passed
+        ClassSession session = classSessionRepository.save(ClassSession.builder()
+                .trainer(trainer)
+                .className("Reminder HIIT")
+                .scheduledAt(LocalDateTime.now().plusHours(1).plusSeconds(2))
+                .durationMinutes(45)
+                .maxCapacity(10)
+                .build());
+        book("reminder-member-1", session);
+        long cancelled = book("reminder-member-2", session);
+        mockMvc.perform(delete("/api/member/classes/bookings/" + cancelled).with(user("reminder-member-2").roles("MEMBER")))
+                .andExpect(status().isNoContent());
+
+        List<JsonNode> sent = awaitOutbox("Reminder HIIT");
+        assertEquals(1, sent.size(), sent.toString());
+        assertEquals("reminder-member-1@example.com", sent.get(0).get("memberEmail").asText());
+        assertEquals(60, sent.get(0).get("minutesBefore").asLong());
+    }
+
+    @Test
+    void eachNodeSendsOnlyTheRemindersOfTheBookingsItOwns() throws Exception {
+        User trainer = userRepository.save(account("owner-trainer", User.Role.TRAINER));
+        ClassSession session = classSessionRepository.save(ClassSession.builder()
+                .trainer(trainer)
+                .className("Owner Yoga")
+                .scheduledAt(LocalDateTime.now().plusHours(1).plusSeconds(2))
+                .durationMinutes(45)
+                .maxCapacity(10)
+                .build());
+        Set<Long> booked = new HashSet<>();
+        for (int i = 1; i <= 4; i++) {
+            booked.add(book("owner-member-" + i, session));
+        }
+
+        List<List<Long>> sentByNode = List.of(new CopyOnWriteArrayList<>(), new CopyOnWriteArrayList<>());
+        List<ReminderService> nodes = new ArrayList<>();
+        for (int index = 0; index < 2; index++) {
+            List<Long> sent = sentByNode.get(index);
+            nodes.add(new ReminderService(classBookingRepository,
+                    reminders -> reminders.stream()
+                            .filter(reminder -> "Owner Yoga".equals(reminder.className()))
+                            .forEach(reminder -> sent.add(reminder.bookingId())),
+                    nodeProperties(2, index), metrics, new CommittedWriteDispatcher()));
+        }
+        nodes.forEach(ReminderService::rebuild);
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (sentByNode.get(0).size() + sentByNode.get(1).size() < booked.size() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+            nodes.forEach(ReminderService::tick);
+        }
+        Thread.sleep(1500);
+        nodes.forEach(ReminderService::tick);
+
+        for (int index = 0; index < 2; index++) {
+            for (long bookingId : sentByNode.get(index)) {
+                assertEquals(index, bookingId % 2);
+            }
+        }
+        List<Long> all = new ArrayList<>(sentByNode.get(0));
+        all.addAll(sentByNode.get(1));
+        assertEquals(booked.size(), all.size(), all.toString());
+        assertEquals(booked, new HashSet<>(all));
+
+        assertThrows(IllegalStateException.class, () -> new ReminderService(classBookingRepository, reminders -> { },
+                nodeProperties(2, 2), metrics, new CommittedWriteDispatcher()));
+    }
+
+    @Test
+    void failedLookupsAreRetriedInsteadOfLosingTheReminder() throws Exception {
+        User trainer = userRepository.save(account("retry-trainer", User.Role.TRAINER));
+        ClassSession session = classSessionRepository.save(ClassSession.builder()
+                .trainer(trainer)
+                .className("Retry Boxing")
+                .scheduledAt(LocalDateTime.now().plusHours(1).plusSeconds(2))
+                .durationMinutes(45)
+                .maxCapacity(10)
+                .build());
+        long bookingId = book("retry-member", session);
+
+        // The first reschedule and the first recipient lookup both hit a database error
+        ClassBookingRepository flaky = mock(ClassBookingRepository.class, AdditionalAnswers.delegatesTo(classBookingRepository));
+        doReturn(List.of()).when(flaky).findAllReminderTargets(any());
+        doThrow(new DataAccessResourceFailureException("database down"))
+                .doAnswer(invocation -> classBookingRepository.findReminderTargets(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(flaky).findReminderTargets(any(), any());
+        doThrow(new DataAccessResourceFailureException("database down"))
+                .doAnswer(invocation -> classBookingRepository.findReminders(invocation.getArgument(0)))
+                .when(flaky).findReminders(any());
+        ReminderProperties retrying = nodeProperties(1, 0);
+        retrying.setRetryMs(200);
+        List<Long> sent = new CopyOnWriteArrayList<>();
+        ReminderService node = new ReminderService(flaky, reminders -> reminders.stream()
+                .filter(reminder -> "Retry Boxing".equals(reminder.className()))
+                .forEach(reminder -> sent.add(reminder.bookingId())), retrying, metrics, new CommittedWriteDispatcher());
+        node.rebuild();
+        node.invalidate("ClassBooking", bookingId);
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (sent.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+            node.tick();
+        }
+        Thread.sleep(1500);
+        node.tick();
+        assertEquals(List.of(bookingId), sent);
+    }
+
+    private ReminderProperties nodeProperties(int nodeCount, int nodeIndex) {
+        ReminderProperties node = new ReminderProperties();
+        node.setNodeCount(nodeCount);
+        node.setNodeIndex(nodeIndex);
+        return node;
+    }
+
+    private List<JsonNode> awaitOutbox(String className) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        List<JsonNode> sent = List.of();
+        while (sent.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+            reminderService.tick();
+            sent = readOutbox(className);
+        }
+        // A few more ticks: a duplicate would show up here
+        Thread.sleep(1500);
+        reminderService.tick();
+        return readOutbox(className);
+    }
+
+    private List<JsonNode> readOutbox(String className) throws Exception {
+        Path outbox = Paths.get(properties.getOutboxFile());
+        List<JsonNode> sent = new ArrayList<>();
+        if (Files.exists(outbox)) {
+            for (String line : Files.readAllLines(outbox)) {
+                JsonNode reminder = objectMapper.readTree(line);
+                if (className.equals(reminder.get("className").asText())) {
+                    sent.add(reminder);
+                }
+            }
+        }
+        return sent;
+    }
+
+    private long book(String username, ClassSession session) throws Exception {
+        userRepository.save(account(username, User.Role.MEMBER));
+        String body = mockMvc.perform(post("/api/member/classes/book")
+                        .with(user(username).roles("MEMBER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"classSessionId\":" + session.getId() + "}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("bookingId").asLong();
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
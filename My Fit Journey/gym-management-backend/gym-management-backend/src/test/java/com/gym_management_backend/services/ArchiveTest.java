@@ -0,0 +1,118 @@
+package com.gym_management_backend.services;
+
+import com.gym_management_backend.dto.AttendanceStatsResponse;
+import com.gym_management_backend.entities.ClassSession;
+import com.gym_management_backend.entities.Plan;
+import com.gym_management_backend.entities.User;
+import com.gym_management_backend.entities.UserPlan;
+import com.gym_management_backend.repositories.ClassSessionRepository;
+import com.gym_management_backend.repositories.PlanRepository;
+import com.gym_management_backend.repositories.UserPlanRepository;
+import com.gym_management_backend.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static com.gym_management_backend.TestAccounts.account;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "gym.rate-limit.enabled=false")
+@AutoConfigureMockMvc
+class ArchiveTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ClassSessionRepository classSessionRepository;
+    @Autowired
+    private PlanRepository planRepository;
+    @Autowired
+    private UserPlanRepository userPlanRepository;
+    @Autowired
+    private ArchiveService archiveService;
+    @Autowired
+    private AttendanceStatsService attendanceStatsService;
+
+    @Test
+    void oldClassesAndExpiredPlansMoveToTheArchiveAndStayInHistory() throws Exception {
+        User trainer = userRepository.save(account("archive-trainer", User.Role.TRAINER));
+        User member = userRepository.save(account("archive-member", User.Role.MEMBER));
+        ClassSession old = classSessionRepository.save(session(trainer, "Pilates", LocalDateTime.now().minusDays(400)));
+        ClassSession upcoming = classSessionRepository.save(session(trainer, "Pilates", LocalDateTime.now().plusDays(2)));
+        jdbc.update("INSERT INTO class_bookings (member_id, class_session_id, booked_at, active, present) " +
+                "VALUES (?, ?, ?, TRUE, TRUE)", member.getId(), old.getId(), LocalDateTime.now().minusDays(401));
+        mockMvc.perform(post("/api/member/classes/book")
+                        .with(user(member.getUsername()).roles("MEMBER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"classSessionId\":" + upcoming.getId() + "}"))
+                .andExpect(status().isOk());
+
+        Plan plan = planRepository.save(Plan.builder().name("Archive Monthly").price(new BigDecimal("30.00"))
+                .durationInDays(30).active(true).build());
+        UserPlan expired = userPlanRepository.save(UserPlan.builder().user(member).plan(plan)
+                .bookingDate(LocalDateTime.now().minusDays(500)).paymentCompleted(true).active(false).build());
+        UserPlan current = userPlanRepository.save(UserPlan.builder().user(member).plan(plan)
+                .bookingDate(LocalDateTime.now().minusDays(5)).paymentCompleted(true).active(true).build());
+
+        attendanceStatsService.recompute();
+        AttendanceStatsResponse before = attendanceStatsService.getTrainerStats(trainer.getId()).orElseThrow().getTotal();
+
+        ArchiveService.ArchiveResult result = archiveService.archive();
+        assertTrue(result.sessions() >= 1 && result.bookings() >= 1 && result.plans() >= 1, result.toString());
+        assertFalse(classSessionRepository.existsById(old.getId()));
+        assertTrue(classSessionRepository.existsById(upcoming.getId()));
+        assertFalse(userPlanRepository.existsById(expired.getId()));
+        assertTrue(userPlanRepository.existsById(current.getId()));
+
+        // History pages run from the live rows on into the archived ones
+        mockMvc.perform(get("/api/member/classes/bookings").param("size", "1")
+                        .with(user(member.getUsername()).roles("MEMBER")))
+                .andExpect(header().string("X-Has-Next", "true"))
+                .andExpect(jsonPath("$[0].classSessionId").value(upcoming.getId()));
+        mockMvc.perform(get("/api/member/classes/bookings").param("page", "1").param("size", "1")
+                        .with(user(member.getUsername()).roles("MEMBER")))
+                .andExpect(header().string("X-Has-Next", "false"))
+                .andExpect(jsonPath("$[0].classSessionId").value(old.getId()))
+                .andExpect(jsonPath("$[0].className").value("Pilates"))
+                .andExpect(jsonPath("$[0].present").value(true));
+        mockMvc.perform(get("/api/member/bookings").with(user(member.getUsername()).roles("MEMBER")))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].bookingId").value(current.getId()))
+                .andExpect(jsonPath("$[1].bookingId").value(expired.getId()))
+                .andExpect(jsonPath("$[1].planName").value("Archive Monthly"));
+
+        // Archived classes still count towards the trainer's statistics
+        attendanceStatsService.refresh();
+        AttendanceStatsService.RecomputeResult recount = attendanceStatsService.recompute();
+        assertEquals(0, recount.corrected(), recount.toString());
+        AttendanceStatsResponse after = attendanceStatsService.getTrainerStats(trainer.getId()).orElseThrow().getTotal();
+        assertEquals(before.getSessions(), after.getSessions());
+        assertEquals(before.getAttended(), after.getAttended());
+        assertEquals(2, after.getBookings());
+    }
+
+    private static ClassSession session(User trainer, String name, LocalDateTime at) {
+        return ClassSession.builder()
+                .trainer(trainer)
+                .className(name)
+                .scheduledAt(at)
+                .durationMinutes(60)
+                .maxCapacity(10)
+                .build();
+    }
+}
@@ -0,0 +1,140 @@
+package com.gym_management_backend.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gym_management_backend.dto.AttendanceStatsResponse;
+import com.gym_management_backend.dto.TrainerStatsResponse;
+import com.gym_management_backend.entities.ClassSession;
+import com.gym_management_backend.entities.User;
+import com.gym_management_backend.repositories.ClassSessionRepository;
+import com.gym_management_backend.repositories.UserRepository;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+
+import static com.gym_management_backend.TestAccounts.account;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "gym.rate-limit.enabled=false")
+@AutoConfigureMockMvc
+class AttendanceStatsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JdbcTemplate jdbc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ClassSessionRepository classSessionRepository;
+    @Autowired
+    private AttendanceStatsService attendanceStatsService;
+
+    @Test
+    void bookingsCancellationsAndAttendanceUpdateTheTrainersStatistics() throws Exception {
+        User trainer = userRepository.save(account("stats-trainer", User.Role.TRAINER));
+        User other = userRepository.save(account("stats-other-trainer", User.Role.TRAINER));
+        ClassSession yesterday = classSessionRepository.save(session(trainer, "Spin", LocalDateTime.now().minusDays(1), 4));
+        ClassSession nextWeek = classSessionRepository.save(session(trainer, "Yoga", LocalDateTime.now().plusDays(7), 10));
+
+        long first = book("stats-member-1", yesterday);
+        book("stats-member-2", yesterday);
+        long third = book("stats-member-3", yesterday);
+        book("stats-member-1", nextWeek);
+        mockMvc.perform(delete("/api/member/classes/bookings/" + third).with(user("stats-member-3").roles("MEMBER")))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(attendance(trainer, yesterday, first)).andExpect(status().isOk());
+
+        // Only the class's own trainer takes attendance
+        ServletException e = assertThrows(ServletException.class, () -> mockMvc.perform(attendance(other, yesterday, first)));
+        assertInstanceOf(SecurityException.class, e.getCause());
+
+        attendanceStatsService.refresh();
+        mockMvc.perform(get("/api/admin/analytics/trainers/" + trainer.getId()).with(user("stats-admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total.sessions").value(2))
+                .andExpect(jsonPath("$.classTypes.length()").value(2));
+
+        AttendanceStatsResponse total = attendanceStatsService.getTrainerStats(trainer.getId()).orElseThrow().getTotal();
+        assertEquals(14, total.getCapacity());
+        assertEquals(3, total.getBookings());
+        assertEquals(1, total.getCancellations());
+        // Only yesterday's class has ended: one of its two members came
+        assertEquals(2, total.getCompletedBookings());
+        assertEquals(1, total.getAttended());
+        assertEquals(3.0 / 14, total.getFillRate(), 1e-9);
+        assertEquals(0.5, total.getAttendanceRate(), 1e-9);
+        assertEquals(0.5, total.getNoShowRate(), 1e-9);
+        assertEquals(0.25, total.getCancellationRate(), 1e-9);
+
+        AttendanceStatsResponse yoga = attendanceStatsService.getTrainerStats(trainer.getId()).orElseThrow()
+                .getClassTypes().get(1);
+        assertEquals("Yoga", yoga.getClassName());
+        assertEquals(0.1, yoga.getFillRate(), 1e-9);
+        assertNull(yoga.getAttendanceRate());
+    }
+
+    @Test
+    void recomputeCorrectsWritesTheEventsMissed() {
+        User trainer = userRepository.save(account("stats-drift-trainer", User.Role.TRAINER));
+        User member = userRepository.save(account("stats-drift-member", User.Role.MEMBER));
+        ClassSession session = classSessionRepository.save(session(trainer, "Boxing", LocalDateTime.now().minusHours(3), 8));
+        attendanceStatsService.refresh();
+
+        // Written behind Hibernate's back, so no event marks the session
+        jdbc.update("INSERT INTO class_bookings (member_id, class_session_id, booked_at, active, present) " +
+                "VALUES (?, ?, ?, TRUE, TRUE)", member.getId(), session.getId(), LocalDateTime.now().minusDays(1));
+        attendanceStatsService.refresh();
+        assertEquals(0, attendanceStatsService.getTrainerStats(trainer.getId()).orElseThrow().getTotal().getBookings());
+
+        AttendanceStatsService.RecomputeResult result = attendanceStatsService.recompute();
+        assertTrue(result.corrected() >= 1, result.toString());
+        TrainerStatsResponse stats = attendanceStatsService.getTrainerStats(trainer.getId()).orElseThrow();
+        assertEquals(1, stats.getTotal().getBookings());
+        assertEquals(1.0, stats.getTotal().getAttendanceRate(), 1e-9);
+    }
+
+    private long book(String username, ClassSession session) throws Exception {
+        if (userRepository.findByUsername(username).isEmpty()) {
+            userRepository.save(account(username, User.Role.MEMBER));
+        }
+        String body = mockMvc.perform(post("/api/member/classes/book")
+                        .with(user(username).roles("MEMBER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"classSessionId\":" + session.getId() + "}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode booking = objectMapper.readTree(body);
+        return booking.get("bookingId").asLong();
+    }
+
+    private static MockHttpServletRequestBuilder attendance(User trainer, ClassSession session, long bookingId) {
+        return put("/api/trainer/classes/" + session.getId() + "/bookings/" + bookingId + "/attendance")
+                .param("present", "true")
+                .with(user(trainer.getUsername()).roles("TRAINER"));
+    }
+
+    private static ClassSession session(User trainer, String name, LocalDateTime at, int capacity) {
+        return ClassSession.builder()
+                .trainer(trainer)
+                .className(name)
+                .scheduledAt(at)
+                .durationMinutes(60)
+                .maxCapacity(capacity)
+                .build();
+    }
+}
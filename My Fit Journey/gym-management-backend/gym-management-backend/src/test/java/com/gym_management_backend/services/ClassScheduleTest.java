@@ -0,0 +1,167 @@
+package com.gym_management_backend.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gym_management_backend.entities.ClassBooking;
+import com.gym_management_backend.entities.ClassSession;
+import com.gym_management_backend.entities.User;
+import com.gym_management_backend.repositories.ClassBookingRepository;
+import com.gym_management_backend.repositories.ClassSessionRepository;
+import com.gym_management_backend.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static com.gym_management_backend.TestAccounts.account;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "gym.rate-limit.enabled=false")
+@AutoConfigureMockMvc
+class ClassScheduleTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ClassSessionRepository classSessionRepository;
+    @Autowired
+    private ClassBookingRepository classBookingRepository;
+    @Autowired
+    private ClassScheduleService classScheduleService;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void overlappingClassesOfOneTrainerAreRejected() throws Exception {
+        User trainer = userRepository.save(trainer("schedule-overlap"));
+        User colleague = userRepository.save(trainer("schedule-colleague"));
+        LocalDateTime nine = LocalDate.now().plusDays(10).atTime(9, 0);
+
+        mockMvc.perform(create(trainer, "Spin", nine, 60)).andExpect(status().isOk());
+        // Back to back is fine, and another trainer may teach at the same time
+        mockMvc.perform(create(trainer, "Core", nine.plusMinutes(60), 30)).andExpect(status().isOk());
+        mockMvc.perform(create(colleague, "Yoga", nine, 60)).andExpect(status().isOk());
+
+        mockMvc.perform(create(trainer, "Pilates", nine.plusMinutes(45), 30)).andExpect(status().isConflict());
+        assertEquals(2, classSessionRepository.findByTrainerId(trainer.getId()).size());
+    }
+
+    @Test
+    void reschedulingIntoAnotherClassIsRejected() throws Exception {
+        User trainer = userRepository.save(trainer("schedule-move"));
+        LocalDateTime ten = LocalDate.now().plusDays(11).atTime(10, 0);
+        mockMvc.perform(create(trainer, "Boxing", ten, 60)).andExpect(status().isOk());
+        ClassSession later = classSessionRepository.save(session(trainer, "Stretch", ten.plusHours(3)));
+
+        // Moving within its own slot does not conflict with itself
+        mockMvc.perform(update(trainer, later.getId(), ten.plusHours(3).plusMinutes(15))).andExpect(status().isOk());
+        mockMvc.perform(update(trainer, later.getId(), ten.plusMinutes(30))).andExpect(status().isConflict());
+
+        // The failed move was rolled back
+        mockMvc.perform(create(trainer, "Mobility", ten.plusMinutes(90), 60)).andExpect(status().isOk());
+    }
+
+    @Test
+    void weekViewComesFromTheIndexAndSurvivesARebuild() throws Exception {
+        User trainer = userRepository.save(trainer("schedule-week"));
+        LocalDate monday = LocalDate.now().plusWeeks(8).with(DayOfWeek.MONDAY);
+        classSessionRepository.save(session(trainer, "Week A", monday.atTime(7, 0)));
+        classSessionRepository.save(session(trainer, "Week B", monday.plusDays(6).atTime(19, 0)));
+        classSessionRepository.save(session(trainer, "Next week", monday.plusDays(7).atTime(7, 0)));
+
+        String week = mockMvc.perform(get("/api/schedule/week")
+                        .param("start", monday.toString())
+                        .param("trainerId", trainer.getId().toString())
+                        .with(user("schedule-viewer").roles("MEMBER")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(week.contains("Week A") && week.contains("Week B"), week);
+        assertFalse(week.contains("Next week"), week);
+        assertTrue(week.contains("schedule-week"), week);
+
+        classScheduleService.rebuildIndex();
+        assertEquals(2, classScheduleService.getWindow(monday.atStartOfDay(), 7, trainer.getId()).size());
+    }
+
+    @Test
+    void dashboardCountsSeatsAndAttendanceWithinTheWindow() throws Exception {
+        User trainer = userRepository.save(trainer("schedule-dashboard"));
+        User first = userRepository.save(account("schedule-dashboard-1", User.Role.MEMBER));
+        User second = userRepository.save(account("schedule-dashboard-2", User.Role.MEMBER));
+        LocalDateTime now = LocalDateTime.now();
+        ClassSession past = classSessionRepository.save(session(trainer, "Dash Past", now.minusDays(2)));
+        classSessionRepository.save(session(trainer, "Dash Upcoming", now.plusDays(3)));
+        classSessionRepository.save(session(trainer, "Dash Far", now.plusDays(40)));
+        classBookingRepository.save(booking(first, past, true, true));
+        classBookingRepository.save(booking(second, past, true, false));
+        classBookingRepository.save(booking(second, past, false, false));
+
+        String body = mockMvc.perform(get("/api/trainer/classes/dashboard")
+                        .with(user("schedule-dashboard").roles("TRAINER")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode dashboard = objectMapper.readTree(body);
+        assertEquals(1, dashboard.get("recent").size(), body);
+        assertEquals(2, dashboard.get("recent").get(0).get("activeBookings").asLong());
+        assertEquals(1, dashboard.get("recent").get(0).get("presentCount").asLong());
+        assertEquals(1, dashboard.get("upcoming").size(), body);
+        assertEquals("Dash Upcoming", dashboard.get("upcoming").get(0).get("className").asText());
+
+        mockMvc.perform(get("/api/trainer/classes/dashboard").param("upcomingDays", "365")
+                        .with(user("schedule-dashboard").roles("TRAINER")))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static MockHttpServletRequestBuilder create(User trainer, String name, LocalDateTime at, int minutes) {
+        return post("/api/trainer/classes")
+                .with(user(trainer.getUsername()).roles("TRAINER"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"className\":\"" + name + "\",\"scheduledAt\":\"" + at
+                        + "\",\"durationMinutes\":" + minutes + ",\"maxCapacity\":10}");
+    }
+
+    private static MockHttpServletRequestBuilder update(User trainer, Long id, LocalDateTime at) {
+        return put("/api/trainer/classes/" + id)
+                .with(user(trainer.getUsername()).roles("TRAINER"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"className\":\"Moved\",\"scheduledAt\":\"" + at + "\",\"maxCapacity\":10}");
+    }
+
+    private static ClassSession session(User trainer, String name, LocalDateTime at) {
+        return ClassSession.builder()
+                .trainer(trainer)
+                .className(name)
+                .scheduledAt(at)
+                .durationMinutes(60)
+                .maxCapacity(10)
+                .build();
+    }
+
+    private static ClassBooking booking(User member, ClassSession session, boolean active, boolean present) {
+        return ClassBooking.builder()
+                .member(member)
+                .classSession(session)
+                .bookedAt(session.getScheduledAt().minusDays(1))
+                .active(active)
+                .present(present)
+                .build();
+    }
+
+    private static User trainer(String username) {
+        return account(username, User.Role.TRAINER);
+    }
+}
@@ -0,0 +1,117 @@
+package com.gym_management_backend.services;
+
+import com.gym_management_backend.entities.Plan;
+import com.gym_management_backend.entities.User;
+import com.gym_management_backend.repositories.PlanRepository;
+import com.gym_management_backend.repositories.UserRepository;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static com.gym_management_backend.TestAccounts.account;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest(properties = "gym.rate-limit.enabled=false")
+@AutoConfigureMockMvc
+class IdempotencyTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlanRepository planRepository;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void retriedPurchaseReturnsTheFirstResponse() throws Exception {
+        User buyer = userRepository.save(account("idem-retry", User.Role.MEMBER));
+        Plan plan = planRepository.save(plan("Idem monthly"));
+
+        MockHttpServletResponse first = buy(buyer, plan, "retry-1");
+        MockHttpServletResponse second = buy(buyer, plan, "retry-1");
+
+        assertEquals(200, second.getStatus());
+        assertEquals("false", first.getHeader(IdempotencyService.REPLAYED_HEADER));
+        assertEquals("true", second.getHeader(IdempotencyService.REPLAYED_HEADER));
+        assertEquals(first.getContentAsString(), second.getContentAsString());
+        assertEquals(1, purchases(buyer));
+    }
+
+    @Test
+    void concurrentDuplicatesBuyOnce() throws Exception {
+        User buyer = userRepository.save(account("idem-concurrent", User.Role.MEMBER));
+        Plan plan = planRepository.save(plan("Idem quarterly"));
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                responses.add(pool.submit(() -> {
+                    start.await();
+                    return buy(buyer, plan, "concurrent-1");
+                }));
+            }
+            start.countDown();
+            String body = null;
+            for (Future<MockHttpServletResponse> response : responses) {
+                MockHttpServletResponse r = response.get(30, TimeUnit.SECONDS);
+                assertEquals(200, r.getStatus());
+                body = body == null ? r.getContentAsString() : body;
+                assertEquals(body, r.getContentAsString());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, purchases(buyer));
+    }
+
+    @Test
+    void keyReusedForAnotherRequestIsRejected() throws Exception {
+        User buyer = userRepository.save(account("idem-reuse", User.Role.MEMBER));
+        buy(buyer, planRepository.save(plan("Idem yearly")), "reuse-1");
+
+        Plan other = planRepository.save(plan("Idem weekly"));
+        ServletException e = assertThrows(ServletException.class, () -> buy(buyer, other, "reuse-1"));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        assertEquals(1, purchases(buyer));
+    }
+
+    private MockHttpServletResponse buy(User buyer, Plan plan, String key) throws Exception {
+        return mockMvc.perform(post("/api/member/bookings/book")
+                        .with(user(buyer.getUsername()).roles("MEMBER"))
+                        .header(IdempotencyService.HEADER, key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"planId\":" + plan.getId() + "}"))
+                .andReturn().getResponse();
+    }
+
+    private int purchases(User buyer) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM user_plans WHERE user_id = ?", Integer.class, buyer.getId());
+    }
+
+    private static Plan plan(String name) {
+        return Plan.builder()
+                .name(name)
+                .description(name)
+                .price(new BigDecimal("40.00"))
+                .durationInDays(30)
+                .active(true)
+                .build();
+    }
+}
@@ -0,0 +1,126 @@
+package com.gym_management_backend.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gym_management_backend.cache.CommittedWriteDispatcher;
+import com.gym_management_backend.cache.StaleReadCache;
+import com.gym_management_backend.config.DashboardProperties;
+import com.gym_management_backend.config.StaleReadProperties;
+import com.gym_management_backend.dto.MemberDashboardResponse;
+import com.gym_management_backend.entities.ClassSession;
+import com.gym_management_backend.entities.Plan;
+import com.gym_management_backend.entities.User;
+import com.gym_management_backend.entities.UserPlan;
+import com.gym_management_backend.metrics.GymMetrics;
+import com.gym_management_backend.metrics.Outcomes;
+import com.gym_management_backend.repositories.ClassSessionRepository;
+import com.gym_management_backend.repositories.PlanRepository;
+import com.gym_management_backend.repositories.UserPlanRepository;
+import com.gym_management_backend.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static com.gym_management_backend.TestAccounts.account;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "gym.rate-limit.enabled=false")
+@AutoConfigureMockMvc
+class MemberDashboardTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlanRepository planRepository;
+    @Autowired
+    private UserPlanRepository userPlanRepository;
+    @Autowired
+    private ClassSessionRepository classSessionRepository;
+    @Autowired
+    private UserPlanService userPlanService;
+    @Autowired
+    private ClassBookingService classBookingService;
+    @Autowired
+    private GymMetrics metrics;
+
+    @Test
+    void oneCallReturnsEverySection() throws Exception {
+        User member = userRepository.save(account("dashboard-member", User.Role.MEMBER));
+        User trainer = userRepository.save(account("dashboard-trainer", User.Role.TRAINER));
+        Plan plan = planRepository.save(Plan.builder().name("Dashboard Monthly").price(new BigDecimal("20.00"))
+                .durationInDays(30).active(true).build());
+        userPlanRepository.save(UserPlan.builder().user(member).plan(plan)
+                .bookingDate(LocalDateTime.now()).paymentCompleted(true).active(true).build());
+        ClassSession session = classSessionRepository.save(ClassSession.builder()
+                .trainer(trainer)
+                .className("Dashboard Spin")
+                .scheduledAt(LocalDateTime.now().plusDays(3))
+                .durationMinutes(45)
+                .maxCapacity(10)
+                .build());
+        mockMvc.perform(post("/api/member/classes/book")
+                        .with(user("dashboard-member").roles("MEMBER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"classSessionId\":" + session.getId() + "}"))
+                .andExpect(status().isOk());
+
+        String body = mockMvc.perform(get("/api/member/dashboard").with(user("dashboard-member").roles("MEMBER")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode dashboard = objectMapper.readTree(body);
+        assertTrue(dashboard.get("unavailable").isEmpty(), body);
+        assertTrue(dashboard.get("plans").findValuesAsText("name").contains("Dashboard Monthly"));
+        assertEquals("Dashboard Monthly", dashboard.get("planBookings").get(0).get("planName").asText());
+        assertEquals(session.getId(), dashboard.get("classBookings").get(0).get("classSessionId").asLong());
+        assertTrue(dashboard.get("availableClasses").findValuesAsText("className").contains("Dashboard Spin"));
+    }
+
+    @Test
+    void aSlowSectionIsLeftOutWithoutHoldingUpTheRest() {
+        PlanRepository slowPlans = mock(PlanRepository.class);
+        when(slowPlans.findAll()).thenAnswer(invocation -> {
+            Thread.sleep(5000);
+            return List.of();
+        });
+        DashboardProperties properties = new DashboardProperties();
+        properties.setTimeoutMs(5000);
+        properties.setSectionTimeoutMs(Map.of("plans", 300L));
+        // A cache of its own, so the slow load is not answered from an entry other tests filled
+        StaleReadProperties cacheProperties = new StaleReadProperties();
+        cacheProperties.setCallTimeoutMs(5000);
+        StaleReadCache cache = new StaleReadCache(cacheProperties, metrics, new CommittedWriteDispatcher());
+        MemberDashboardService service = new MemberDashboardService(slowPlans, userPlanService, classBookingService,
+                cache, properties, metrics);
+        try {
+            long start = System.currentTimeMillis();
+            MemberDashboardResponse dashboard = service.load("dashboard-nobody");
+            assertTrue(System.currentTimeMillis() - start < 3000);
+            assertNull(dashboard.getPlans());
+            assertEquals(Map.of("plans", Outcomes.TIMEOUT), dashboard.getUnavailable());
+            assertNotNull(dashboard.getPlanBookings());
+            assertNotNull(dashboard.getClassBookings());
+            assertNotNull(dashboard.getAvailableClasses());
+        } finally {
+            service.destroy();
+            cache.destroy();
+        }
+    }
+}
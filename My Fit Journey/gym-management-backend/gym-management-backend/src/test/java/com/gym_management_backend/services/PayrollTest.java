@@ -0,0 +1,197 @@
+package com.gym_management_backend.services;
+
+import com.gym_management_backend.entities.*;
+import com.gym_management_backend.repositories.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Map;
+
+import static com.gym_management_backend.TestAccounts.account;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Two trainers per chunk, so even this small data set is paid in several parallel chunks
+@SpringBootTest(properties = {
+        "gym.rate-limit.enabled=false",
+        "gym.payroll.chunk-size=2"
+})
+@AutoConfigureMockMvc
+class PayrollTest {
+
+    private static final YearMonth MARCH = YearMonth.of(2025, 3);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private PayrollService payrollService;
+    @Autowired
+    private TrainerSalaryService trainerSalaryService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TrainerSalaryRepository trainerSalaryRepository;
+    @Autowired
+    private TrainerSalaryHistoryRepository trainerSalaryHistoryRepository;
+    @Autowired
+    private PayrollRunRepository payrollRunRepository;
+    @Autowired
+    private ClassSessionRepository classSessionRepository;
+    @Autowired
+    private ClassBookingRepository classBookingRepository;
+    @Autowired
+    private RevenueRepository revenueRepository;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void monthlyRunProRatesSalaryChangesAndPaysClassesAtTheirDatesRates() {
+        User changed = userRepository.save(account("payroll-changed", User.Role.TRAINER));
+        User legacy = userRepository.save(account("payroll-legacy", User.Role.TRAINER));
+        User member = userRepository.save(account("payroll-member", User.Role.MEMBER));
+        User other = userRepository.save(account("payroll-member2", User.Role.MEMBER));
+
+        // 3100 a month until the 16th, then 6200: 16/31 and 15/31 of each
+        trainerSalaryService.setSalary(changed.getId(), new BigDecimal("3100"), new BigDecimal("10"),
+                new BigDecimal("2"), LocalDate.of(2025, 1, 1));
+        trainerSalaryService.setSalary(changed.getId(), new BigDecimal("6200"), new BigDecimal("20"),
+                null, LocalDate.of(2025, 3, 17));
+        // Salary set before history was kept: only the trainer_salaries row exists
+        trainerSalaryRepository.save(TrainerSalary.builder()
+                .trainer(legacy).salary(new BigDecimal("1000")).effectiveFrom(LocalDate.of(2024, 12, 1)).build());
+
+        ClassSession early = session(changed, LocalDateTime.of(2025, 3, 10, 9, 0));
+        booking(early, member, true);
+        booking(early, other, true);
+        ClassSession late = session(changed, LocalDateTime.of(2025, 3, 20, 9, 0));
+        booking(late, member, true);
+        booking(late, other, false);
+        session(changed, LocalDateTime.of(2025, 4, 1, 9, 0));
+
+        PayrollRun run = payrollService.run(MARCH);
+
+        assertEquals(PayrollRun.Status.COMPLETED, run.getStatus());
+        Map<String, Object> slip = payslip(run, changed);
+        assertEquals(0, new BigDecimal("4600.00").compareTo((BigDecimal) slip.get("base_pay")));
+        assertEquals(2, ((Number) slip.get("classes_taught")).intValue());
+        assertEquals(0, new BigDecimal("30.00").compareTo((BigDecimal) slip.get("class_pay")));
+        assertEquals(3, ((Number) slip.get("attendees")).intValue());
+        // Only the first class falls under the per-attendee rate
+        assertEquals(0, new BigDecimal("4.00").compareTo((BigDecimal) slip.get("attendance_pay")));
+        assertEquals(0, new BigDecimal("4634.00").compareTo((BigDecimal) slip.get("total_pay")));
+        assertEquals(0, new BigDecimal("1000.00").compareTo((BigDecimal) payslip(run, legacy).get("total_pay")));
+
+        Revenue revenue = revenueRepository.findByRevenueDate(MARCH.atEndOfMonth()).orElseThrow();
+        assertEquals(0, run.getTotalCost().compareTo(revenue.getTrainerSalaries()));
+
+        assertThrows(IllegalStateException.class, () -> payrollService.run(MARCH));
+    }
+
+    @Test
+    void legacySalaryIsPaidUntilTheFirstMidMonthChange() {
+        User recorded = userRepository.save(account("payroll-first-change", User.Role.TRAINER));
+        User pending = userRepository.save(account("payroll-first-pending", User.Role.TRAINER));
+        for (User trainer : new User[]{recorded, pending}) {
+            trainerSalaryRepository.save(TrainerSalary.builder()
+                    .trainer(trainer).salary(new BigDecimal("1000")).effectiveFrom(LocalDate.of(2024, 12, 1)).build());
+        }
+        // Through the service: the legacy row is copied into history before the change overwrites it
+        trainerSalaryService.setSalary(recorded.getId(), new BigDecimal("3100"), null, null, LocalDate.of(2025, 5, 17));
+        // History written directly, trainer_salaries not rolled over yet
+        trainerSalaryHistoryRepository.save(TrainerSalaryHistory.builder()
+                .trainer(pending).salary(new BigDecimal("3100")).effectiveFrom(LocalDate.of(2025, 5, 17))
+                .recordedAt(LocalDateTime.now()).build());
+
+        PayrollRun run = payrollService.run(YearMonth.of(2025, 5));
+
+        // 1000 for 16 of 31 days, 3100 for the other 15
+        for (User trainer : new User[]{recorded, pending}) {
+            assertEquals(0, new BigDecimal("2016.13").compareTo((BigDecimal) payslip(run, trainer).get("base_pay")));
+        }
+    }
+
+    @Test
+    void theRunReplacesTheMonthsSalaryFigureAndKeepsTheRestOfTheRevenueRow() {
+        YearMonth july = YearMonth.of(2025, 7);
+        revenueRepository.save(Revenue.builder().revenueDate(july.atEndOfMonth())
+                .incomeFromPlans(new BigDecimal("500.00"))
+                .trainerSalaries(new BigDecimal("999999.00"))
+                .equipmentCosts(new BigDecimal("50.00"))
+                .build());
+
+        PayrollRun run = payrollService.run(july);
+
+        Revenue revenue = revenueRepository.findByRevenueDate(july.atEndOfMonth()).orElseThrow();
+        assertEquals(0, run.getTotalCost().compareTo(revenue.getTrainerSalaries()));
+        assertEquals(0, new BigDecimal("500.00").compareTo(revenue.getIncomeFromPlans()));
+        assertEquals(0, new BigDecimal("50.00").compareTo(revenue.getEquipmentCosts()));
+    }
+
+    @Test
+    void aRunLeftRunningIsTakenOverOnlyOnceStale() {
+        YearMonth june = YearMonth.of(2025, 6);
+        PayrollRun running = payrollRunRepository.save(PayrollRun.builder()
+                .periodStart(june.atDay(1)).status(PayrollRun.Status.RUNNING).startedAt(LocalDateTime.now()).build());
+        assertThrows(IllegalStateException.class, () -> payrollService.run(june));
+
+        running.setStartedAt(LocalDateTime.now().minusHours(7));
+        payrollRunRepository.save(running);
+        PayrollRun run = payrollService.run(june);
+        assertEquals(running.getId(), run.getId());
+        assertEquals(PayrollRun.Status.COMPLETED, run.getStatus());
+    }
+
+    @Test
+    void futureSalaryIsRecordedButNotYetCurrent() throws Exception {
+        User trainer = userRepository.save(account("payroll-future", User.Role.TRAINER));
+        mockMvc.perform(post("/api/admin/trainer-salaries")
+                        .with(user("payroll-admin").roles("ADMIN"))
+                        .param("trainerId", trainer.getId().toString())
+                        .param("salary", "2000"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/admin/trainer-salaries")
+                        .with(user("payroll-admin").roles("ADMIN"))
+                        .param("trainerId", trainer.getId().toString())
+                        .param("salary", "2500")
+                        .param("effectiveFrom", LocalDate.now().plusMonths(1).toString()))
+                .andExpect(status().isAccepted());
+
+        assertEquals(2, trainerSalaryService.getHistory(trainer.getId()).size());
+        assertEquals(0, new BigDecimal("2000").compareTo(
+                trainerSalaryRepository.findByTrainerId(trainer.getId()).orElseThrow().getSalary()));
+    }
+
+    private Map<String, Object> payslip(PayrollRun run, User trainer) {
+        return jdbc.queryForMap("SELECT * FROM payslips WHERE payroll_run_id = ? AND trainer_id = ?",
+                run.getId(), trainer.getId());
+    }
+
+    private ClassSession session(User trainer, LocalDateTime at) {
+        return classSessionRepository.save(ClassSession.builder()
+                .trainer(trainer)
+                .className("Payroll class")
+                .scheduledAt(at)
+                .maxCapacity(10)
+                .build());
+    }
+
+    private void booking(ClassSession session, User member, boolean present) {
+        classBookingRepository.save(ClassBooking.builder()
+                .classSession(session)
+                .member(member)
+                .bookedAt(session.getScheduledAt().minusDays(1))
+                .active(true)
+                .present(present)
+                .build());
+    }
+}
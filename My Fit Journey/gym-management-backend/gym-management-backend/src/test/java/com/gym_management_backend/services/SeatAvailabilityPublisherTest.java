@@ -0,0 +1,58 @@
+package com.gym_management_backend.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gym_management_backend.repositories.ClassSessionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class SeatAvailabilityPublisherTest {
+
+    @Test
+    void aStalledSubscriberNeitherBlocksTheSchedulerNorTheOthers() throws Exception {
+        SeatAvailabilityPublisher publisher = new SeatAvailabilityPublisher(mock(ClassSessionRepository.class),
+                new ObjectMapper(), 60_000, 2, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger received = new AtomicInteger();
+        publisher.subscribe(new SseEmitter() {
+            @Override
+            public void send(Set<DataWithMediaType> items) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        publisher.subscribe(new SseEmitter() {
+            @Override
+            public void send(Set<DataWithMediaType> items) {
+                received.incrementAndGet();
+            }
+        });
+        try {
+            for (int i = 1; i <= 5; i++) {
+                long start = System.currentTimeMillis();
+                publisher.heartbeat();
+                assertTrue(System.currentTimeMillis() - start < 200);
+                long deadline = System.currentTimeMillis() + 5000;
+                while (received.get() < i && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(10);
+                }
+            }
+
+            // The stalled one fell more than its buffer behind and was dropped; the other got everything
+            assertEquals(5, received.get());
+            assertEquals(1, publisher.subscriberCount());
+        } finally {
+            release.countDown();
+            publisher.destroy();
+        }
+    }
+}